@@ -0,0 +1,68 @@
+package com.hotelmanagement.benchmark;
+
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.FoodItemDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.entity.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills the embedded H2 database of the benchmark JVM: 'size' customers, one room per
+// 10 customers, bills for half of the customers and a 200-item menu.
+final class BenchmarkDatabase {
+
+    static final int FIRST_ROOM_NO = 100;
+
+    final int[] roomNos;
+    final int[] customerIds;
+    final int[] billNos;
+    final int[] foodItemIds;
+
+    private BenchmarkDatabase(int[] roomNos, int[] customerIds, int[] billNos, int[] foodItemIds) {
+        this.roomNos = roomNos;
+        this.customerIds = customerIds;
+        this.billNos = billNos;
+        this.foodItemIds = foodItemIds;
+    }
+
+    static BenchmarkDatabase seed(int size) {
+        Random random = new Random(size);
+
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < Math.max(10, size / 10); i++) {
+            rooms.add(new Room(FIRST_ROOM_NO + i, "Floor " + (FIRST_ROOM_NO + i) / 100, random.nextBoolean()));
+        }
+        new RoomDAOImpl().saveAll(rooms);
+
+        List<Customer> customers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            customers.add(new Customer("Guest " + i, i + " Benchmark Street", "+1555" + (1_000_000 + i)));
+        }
+        new CustomerDAOImpl().saveAll(customers);
+
+        List<Bill> bills = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 2) {
+            bills.add(new Bill(Money.ofMinor(5_000 + random.nextInt(95_000)), customers.get(i)));
+        }
+        new BillDAOImpl().saveAll(bills);
+
+        List<FoodItem> foodItems = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            foodItems.add(new FoodItem("Dish " + i, Money.ofMinor(500 + random.nextInt(4_500))));
+        }
+        new FoodItemDAOImpl().saveAll(foodItems);
+
+        return new BenchmarkDatabase(
+                rooms.stream().mapToInt(Room::getRoomNo).toArray(),
+                customers.stream().mapToInt(Customer::getId).toArray(),
+                bills.stream().mapToInt(Bill::getBillNo).toArray(),
+                foodItems.stream().mapToInt(FoodItem::getId).toArray());
+    }
+}
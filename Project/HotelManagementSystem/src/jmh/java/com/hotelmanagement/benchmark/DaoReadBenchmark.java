@@ -0,0 +1,94 @@
+package com.hotelmanagement.benchmark;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.FoodItemDAO;
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.FoodItemDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.HibernateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// findById / findAll of every DAO against the embedded H2 database seeded at several sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dhibernate.show_sql=false", "-Dhibernate.format_sql=false"})
+public class DaoReadBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final RoomDAO roomDAO = new RoomDAOImpl();
+    private final CustomerDAO customerDAO = new CustomerDAOImpl();
+    private final BillDAO billDAO = new BillDAOImpl();
+    private final FoodItemDAO foodItemDAO = new FoodItemDAOImpl();
+
+    private BenchmarkDatabase database;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        database = BenchmarkDatabase.seed(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        HibernateUtil.shutdown();
+    }
+
+    private int pick(int[] ids) {
+        return ids[Math.floorMod(next++, ids.length)];
+    }
+
+    @Benchmark
+    public Room roomFindById() {
+        return roomDAO.findById(pick(database.roomNos));
+    }
+
+    @Benchmark
+    public List<Room> roomFindAll() {
+        return roomDAO.findAll();
+    }
+
+    @Benchmark
+    public Customer customerFindById() {
+        return customerDAO.findById(pick(database.customerIds));
+    }
+
+    @Benchmark
+    public List<Customer> customerFindAll() {
+        return customerDAO.findAll();
+    }
+
+    @Benchmark
+    public Bill billFindById() {
+        return billDAO.findById(pick(database.billNos));
+    }
+
+    @Benchmark
+    public List<Bill> billFindAll() {
+        return billDAO.findAll();
+    }
+
+    @Benchmark
+    public FoodItem foodItemFindById() {
+        return foodItemDAO.findById(pick(database.foodItemIds));
+    }
+
+    @Benchmark
+    public List<FoodItem> foodItemFindAll() {
+        return foodItemDAO.findAll();
+    }
+}
@@ -0,0 +1,120 @@
+package com.hotelmanagement.benchmark;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.FoodItemDAO;
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.FoodItemDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.HibernateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// save (one row per call) and saveAll (BATCH rows per call) of every DAO.
+// Scores are per call: divide the saveAll score by BATCH to compare per row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dhibernate.show_sql=false", "-Dhibernate.format_sql=false"})
+public class DaoWriteBenchmark {
+
+    public static final int BATCH = 100;
+    private static final Money PRICE = Money.of("120.00");
+    private static final Money DISH_PRICE = Money.of("18.00");
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final RoomDAO roomDAO = new RoomDAOImpl();
+    private final CustomerDAO customerDAO = new CustomerDAOImpl();
+    private final BillDAO billDAO = new BillDAOImpl();
+    private final FoodItemDAO foodItemDAO = new FoodItemDAOImpl();
+
+    private Customer billedCustomer;
+    private int nextRoomNo;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        BenchmarkDatabase database = BenchmarkDatabase.seed(size);
+        billedCustomer = customerDAO.findById(database.customerIds[0]);
+        nextRoomNo = BenchmarkDatabase.FIRST_ROOM_NO + database.roomNos.length;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        HibernateUtil.shutdown();
+    }
+
+    @Benchmark
+    public void roomSave() {
+        roomDAO.save(newRoom());
+    }
+
+    @Benchmark
+    public void roomSaveAll() {
+        List<Room> rooms = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            rooms.add(newRoom());
+        }
+        roomDAO.saveAll(rooms);
+    }
+
+    @Benchmark
+    public void customerSave() {
+        customerDAO.save(new Customer("Walk-in", "1 Benchmark Street", "+15550001111"));
+    }
+
+    @Benchmark
+    public void customerSaveAll() {
+        List<Customer> customers = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            customers.add(new Customer("Walk-in " + i, "1 Benchmark Street", "+15550001111"));
+        }
+        customerDAO.saveAll(customers);
+    }
+
+    @Benchmark
+    public void billSave() {
+        billDAO.save(new Bill(PRICE, billedCustomer));
+    }
+
+    @Benchmark
+    public void billSaveAll() {
+        List<Bill> bills = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            bills.add(new Bill(PRICE, billedCustomer));
+        }
+        billDAO.saveAll(bills);
+    }
+
+    @Benchmark
+    public void foodItemSave() {
+        foodItemDAO.save(new FoodItem("Special", DISH_PRICE));
+    }
+
+    @Benchmark
+    public void foodItemSaveAll() {
+        List<FoodItem> foodItems = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            foodItems.add(new FoodItem("Special " + i, DISH_PRICE));
+        }
+        foodItemDAO.saveAll(foodItems);
+    }
+
+    private Room newRoom() {
+        int roomNo = nextRoomNo++;
+        return new Room(roomNo, "Floor " + roomNo / 100, true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotelmanagement.benchmark;
+
+import com.hotelmanagement.entity.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Summing bill amounts held as double, BigDecimal, Money objects and Money minor units (long).
+// Run with -Djmh.args="-prof gc" to see the allocation per sum; the error of the double sum
+// against the exact total is printed at the end of each trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private double[] doubles;
+    private BigDecimal[] decimals;
+    private Money[] monies;
+    private long[] minorUnits;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        doubles = new double[size];
+        decimals = new BigDecimal[size];
+        monies = new Money[size];
+        minorUnits = new long[size];
+        for (int i = 0; i < size; i++) {
+            long cents = 500 + random.nextLong(200_000); // 5.00 .. 2005.00
+            doubles[i] = cents / 100.0;
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+            monies[i] = Money.ofMinor(cents);
+            minorUnits[i] = cents;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportError() {
+        long exact = sumMinorUnits();
+        double error = sumDouble() * 100 - exact;
+        System.out.printf("%n%d amounts: exact %s, double sum off by %.6f cents%n",
+                size, Money.ofMinor(exact), error);
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (double amount : doubles) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    // Money.plus allocates a Money per addition
+    @Benchmark
+    public Money sumMoney() {
+        Money total = Money.ZERO;
+        for (Money amount : monies) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    // What the reporting paths do (BillColumns, MaterializedMetrics): exact and allocation-free
+    @Benchmark
+    public long sumMinorUnits() {
+        long total = 0;
+        for (long amount : minorUnits) {
+            total += amount;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotelmanagement.benchmark;
+
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.service.BillingService;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.service.RoomService;
+import com.hotelmanagement.util.HibernateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The three dashboard service calls against the embedded H2 database seeded at several sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dhibernate.show_sql=false", "-Dhibernate.format_sql=false"})
+public class ServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final BillingService billingService = new BillingService();
+    private final RoomService roomService = new RoomService();
+    private final CustomerService customerService = new CustomerService();
+
+    @Setup(Level.Trial)
+    public void seed() {
+        BenchmarkDatabase.seed(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        HibernateUtil.shutdown();
+    }
+
+    @Benchmark
+    public Money getTotalRevenue() {
+        return billingService.getTotalRevenue();
+    }
+
+    @Benchmark
+    public List<Room> getAvailableRooms() {
+        return roomService.getAvailableRooms();
+    }
+
+    @Benchmark
+    public List<Customer> getCustomersWithBills() {
+        return customerService.getCustomersWithBills();
+    }
+}
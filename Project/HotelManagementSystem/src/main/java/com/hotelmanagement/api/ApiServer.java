@@ -0,0 +1,437 @@
+package com.hotelmanagement.api;
+
+import com.hotelmanagement.dao.projection.StockLevel;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Reservation;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.service.BillingService;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.service.DashboardService;
+import com.hotelmanagement.service.FolioService;
+import com.hotelmanagement.service.InventoryService;
+import com.hotelmanagement.service.ReservationService;
+import com.hotelmanagement.service.RoomService;
+import com.hotelmanagement.util.PersistenceMetrics;
+import com.hotelmanagement.util.VirtualThreads;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded HTTP/JSON API over the services, plus the static pages of frontend/.
+ *
+ * Built on the JDK HttpServer: HTTP/1.1 keep-alive comes for free as long as every
+ * response has a Content-Length, which is why bodies are fully built (and gzipped when
+ * the client accepts it and the body is worth it) before the headers are sent.
+ * Each request runs on its own virtual thread when the JVM has them (Java 21+),
+ * otherwise on a fixed pool of platform threads.
+ *
+ * GET  /api/health
+ * GET  /api/metrics                                DAO timers, Hibernate statistics, slow queries
+ * GET  /api/dashboard[?recompute=true]             revenue, occupancy and top customers (running
+ *                                                  totals, or recomputed with the aggregate queries)
+ * GET  /api/occupancy                              rooms and occupied rooms per floor
+ * GET  /api/rooms[?location=]                     available rooms
+ * GET  /api/rooms/free?from=&to=                   rooms free for the stay [from, to)
+ * GET  /api/customers/{id}                         customer with bills
+ * GET  /api/customers/{id}/folio                   bills and food orders with the room and totals
+ * GET  /api/customers/search?q=[&limit=]           typeahead on name, address and phone (default 10)
+ * GET  /api/revenue[?from=&to=]                    total, or per day for [from, to]
+ * GET  /api/revenue/customers[?limit=]             top customers by revenue
+ * GET  /api/inventory[?low=true]                  stock levels, or only the items at or below threshold
+ * POST /api/inventory/{id}/consume  quantity      takes stock, 409 when fewer units are left
+ * GET  /api/reservations/{id}
+ * POST /api/reservations  roomNo, customerId, checkIn, checkOut (form or query); 400 for an
+ *                         unknown room or customer, 409 when the room is not free
+ * POST /api/reservations/{id}/confirm | /cancel  409 when confirming a cancelled reservation
+ */
+public class ApiServer {
+
+    private static final Logger LOG = Logger.getLogger(ApiServer.class.getName());
+
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final int PLATFORM_THREADS = 32;
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "json", "application/json; charset=utf-8",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "svg", "image/svg+xml");
+
+    private final RoomService roomService = new RoomService();
+    private final CustomerService customerService = new CustomerService();
+    private final BillingService billingService = new BillingService();
+    private final ReservationService reservationService = new ReservationService();
+    private final DashboardService dashboardService = new DashboardService();
+    private final InventoryService inventoryService = new InventoryService();
+    private final FolioService folioService = new FolioService();
+
+    private final Path frontendDir;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ApiServer(Path frontendDir) {
+        this.frontendDir = frontendDir.toAbsolutePath().normalize();
+    }
+
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = VirtualThreads.newExecutor("api-", PLATFORM_THREADS);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handleApi);
+        server.createContext("/", this::handleStatic);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // --- API ---
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Object body;
+            int status = 200;
+            try {
+                String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+                Map<String, String> params = params(exchange);
+                Object result = route(exchange.getRequestMethod(), path, params);
+                if (result == null) {
+                    status = 404;
+                    body = error("not found");
+                } else if (result instanceof Conflict conflict) {
+                    status = 409;
+                    body = error(conflict.message());
+                } else {
+                    status = "POST".equals(exchange.getRequestMethod()) && path.length == 1 ? 201 : 200;
+                    body = result;
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                if (e instanceof CompletionException && e.getCause() instanceof RejectedExecutionException) {
+                    status = 503; // DatabaseExecutor backpressure
+                    body = error("busy, retry later");
+                } else {
+                    LOG.log(Level.SEVERE, exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed", e);
+                    status = 500;
+                    body = error("internal error");
+                }
+            }
+            send(exchange, status, "application/json; charset=utf-8",
+                    Json.write(body).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private record Conflict(String message) {
+    }
+
+    // Returns the response object, null for 404
+    private Object route(String method, String[] path, Map<String, String> params) {
+        boolean get = "GET".equals(method);
+        switch (path[0]) {
+            case "health":
+                return Map.of("status", "UP");
+            case "dashboard":
+                if (!get || path.length != 1) return null;
+                return "true".equals(params.get("recompute"))
+                        ? dashboardService.getDashboardAsync().join()
+                        : dashboardService.getLiveDashboard();
+            case "occupancy":
+                return get && path.length == 1
+                        ? roomService.getOccupancyByFloor()
+                        : null;
+            case "metrics":
+                return get ? PersistenceMetrics.getInstance().snapshot() : null;
+            case "rooms":
+                if (!get) return null;
+                if (path.length == 1) {
+                    String location = params.get("location");
+                    List<Room> rooms = location == null
+                            ? roomService.getAvailableRooms()
+                            : roomService.getAvailableRooms(location);
+                    return rooms.stream().map(ApiServer::room).toList();
+                }
+                if (path.length == 2 && "free".equals(path[1])) {
+                    LocalDate from = date(params, "from");
+                    LocalDate to = date(params, "to");
+                    requireStay(from, to);
+                    int[] free = reservationService.findFreeRooms(from, to);
+                    return map("from", from, "to", to, "count", free.length, "roomNos", free);
+                }
+                return null;
+            case "customers":
+                if (!get || path.length < 2 || path.length > 3) return null;
+                if (path.length == 3) {
+                    return "folio".equals(path[2]) ? folioService.getFolio(integer(path[1], "id")) : null;
+                }
+                if ("search".equals(path[1])) {
+                    return customerService.searchCustomers(params.getOrDefault("q", ""), limit(params, 10)).stream()
+                            .map(ApiServer::contact)
+                            .toList();
+                }
+                Customer customer = customerService.getCustomerWithBills(integer(path[1], "id"));
+                return customer == null ? null : customer(customer);
+            case "revenue":
+                if (!get) return null;
+                if (path.length == 1) {
+                    if (!params.containsKey("from")) {
+                        return map("total", billingService.getTotalRevenue());
+                    }
+                    return billingService.getDailyRevenue(date(params, "from"), date(params, "to"));
+                }
+                if (path.length == 2 && "customers".equals(path[1])) {
+                    return billingService.getTopCustomers(limit(params, 100));
+                }
+                return null;
+            case "inventory":
+                return inventory(method, path, params);
+            case "reservations":
+                return reservations(method, path, params);
+            default:
+                return null;
+        }
+    }
+
+    private Object inventory(String method, String[] path, Map<String, String> params) {
+        if ("GET".equals(method) && path.length == 1) {
+            return "true".equals(params.get("low")) ? inventoryService.getLowStock() : inventoryService.getStockLevels();
+        }
+        if ("POST".equals(method) && path.length == 3 && "consume".equals(path[2])) {
+            int itemId = integer(path[1], "id");
+            int quantity = params.containsKey("quantity") ? integer(params.get("quantity"), "quantity") : 1;
+            if (inventoryService.consume(itemId, quantity)) {
+                return inventoryService.getStockLevel(itemId);
+            }
+            StockLevel level = inventoryService.getStockLevel(itemId);
+            return level == null ? null : new Conflict("only " + level.quantity() + " " + level.itemName() + " left");
+        }
+        return null;
+    }
+
+    private Object reservations(String method, String[] path, Map<String, String> params) {
+        if ("POST".equals(method) && path.length == 1) {
+            LocalDate checkIn = date(params, "checkIn");
+            LocalDate checkOut = date(params, "checkOut");
+            requireStay(checkIn, checkOut);
+            int roomNo = integer(params.get("roomNo"), "roomNo");
+            int customerId = integer(params.get("customerId"), "customerId");
+            if (!roomService.roomExists(roomNo)) {
+                throw new IllegalArgumentException("unknown room: " + roomNo);
+            }
+            Reservation reservation = reservationService.reserve(roomNo, customerId, checkIn, checkOut);
+            if (reservation == null && customerService.getCustomer(customerId) == null) {
+                throw new IllegalArgumentException("unknown customer: " + customerId);
+            }
+            return reservation == null
+                    ? new Conflict("room not free for " + checkIn + " - " + checkOut)
+                    : reservation(reservation);
+        }
+        if (path.length < 2) {
+            return null;
+        }
+        Reservation reservation = reservationService.getReservation(integer(path[1], "id"));
+        if (reservation == null) {
+            return null;
+        }
+        if ("GET".equals(method) && path.length == 2) {
+            return reservation(reservation);
+        }
+        if ("POST".equals(method) && path.length == 3) {
+            boolean changed;
+            switch (path[2]) {
+                case "confirm" -> changed = reservationService.confirm(reservation);
+                case "cancel" -> changed = reservationService.cancel(reservation);
+                default -> {
+                    return null;
+                }
+            }
+            return changed
+                    ? reservation(reservation)
+                    : new Conflict("reservation " + reservation.getId() + " is cancelled");
+        }
+        return null;
+    }
+
+    // --- views (plain maps, never entities) ---
+
+    private static Map<String, Object> room(Room room) {
+        return map("roomNo", room.getRoomNo(), "location", room.getLocation(), "available", room.isAvailable());
+    }
+
+    private static Map<String, Object> customer(Customer customer) {
+        List<Map<String, Object>> bills = customer.getBills().stream()
+                .map(ApiServer::bill)
+                .toList();
+        return map("id", customer.getId(), "name", customer.getName(), "address", customer.getAddress(),
+                "phone", customer.getPhone(),
+                "roomNo", customer.getRoom() != null ? customer.getRoom().getRoomNo() : null,
+                "bills", bills);
+    }
+
+    private static Map<String, Object> contact(Customer customer) {
+        return map("id", customer.getId(), "name", customer.getName(), "address", customer.getAddress(),
+                "phone", customer.getPhone());
+    }
+
+    private static Map<String, Object> bill(Bill bill) {
+        return map("billNo", bill.getBillNo(), "amount", bill.getAmount(), "issuedAt", bill.getIssuedAt());
+    }
+
+    private static Map<String, Object> reservation(Reservation reservation) {
+        return map("id", reservation.getId(),
+                "roomNo", reservation.getRoom().getRoomNo(),
+                "customerId", reservation.getCustomer() != null ? reservation.getCustomer().getId() : null,
+                "checkIn", reservation.getCheckIn(),
+                "checkOut", reservation.getCheckOut(),
+                "nights", reservation.getNights(),
+                "status", reservation.getStatus());
+    }
+
+    private static Map<String, Object> error(String message) {
+        return map("error", message);
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    // --- request parsing ---
+
+    // Query string plus, for POST, an application/x-www-form-urlencoded body
+    private static Map<String, String> params(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes(); // always drained so the connection can be reused
+            if (body.length > 0) {
+                parseForm(new String(body, StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static LocalDate date(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("missing parameter: " + name);
+        }
+        return LocalDate.parse(value);
+    }
+
+    // The limit parameter, defaultLimit when absent
+    private static int limit(Map<String, String> params, int defaultLimit) {
+        int limit = params.containsKey("limit") ? integer(params.get("limit"), "limit") : defaultLimit;
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        return limit;
+    }
+
+    private static int integer(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("missing parameter: " + name);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: " + name + "=" + value);
+        }
+    }
+
+    private static void requireStay(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("end date must be after start date");
+        }
+    }
+
+    // --- static frontend ---
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            Path file = frontendDir.resolve(path.equals("/") ? "index.html" : path.substring(1)).normalize();
+            if (!file.startsWith(frontendDir) || !Files.isRegularFile(file)) {
+                send(exchange, 404, "text/plain; charset=utf-8", "not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String name = file.getFileName().toString();
+            String extension = name.substring(name.lastIndexOf('.') + 1);
+            send(exchange, 200, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"),
+                    Files.readAllBytes(file));
+        }
+    }
+
+    // --- response ---
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentType);
+        headers.set("Vary", "Accept-Encoding");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (body.length >= GZIP_MIN_BYTES && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            headers.set("Content-Encoding", "gzip");
+        }
+        // A known length (never 0 = chunked) keeps the connection open for the next request
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
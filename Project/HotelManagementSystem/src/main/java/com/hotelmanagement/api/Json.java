@@ -0,0 +1,124 @@
+package com.hotelmanagement.api;
+
+import com.hotelmanagement.entity.Money;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Minimal JSON writer for the API responses: maps, collections, arrays, records,
+ * strings, numbers, booleans and null. Money is written as an exact decimal number
+ * (12.50). Anything else is written as its toString().
+ * Handlers build plain maps / records instead of serializing entities, so lazy
+ * associations are never touched outside a session.
+ */
+public final class Json {
+
+    // Component names and accessors of each record class, looked up once (getRecordComponents() copies)
+    private record Components(String[] names, Method[] accessors) {
+    }
+
+    private static final ClassValue<Components> COMPONENTS = new ClassValue<>() {
+        @Override
+        protected Components computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            String[] names = new String[components.length];
+            Method[] accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                names[i] = components[i].getName();
+                accessors[i] = components[i].getAccessor();
+                accessors[i].setAccessible(true);
+            }
+            return new Components(names, accessors);
+        }
+    };
+
+    private Json() {}
+
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder(256);
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String s) {
+            string(s, out);
+        } else if (value instanceof Double d) {
+            out.append(d.isNaN() || d.isInfinite() ? "null" : Math.round(d * 100) / 100.0);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Money money) {
+            Money.appendTo(out, money.minorUnits(), Money.fractionDigits(money.currency()));
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                string(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first) out.append(',');
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else if (value instanceof int[] array) {
+            out.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) out.append(',');
+                out.append(array[i]);
+            }
+            out.append(']');
+        } else if (value instanceof Record record) {
+            out.append('{');
+            Components components = COMPONENTS.get(record.getClass());
+            for (int i = 0; i < components.names().length; i++) {
+                if (i > 0) out.append(',');
+                string(components.names()[i], out);
+                out.append(':');
+                try {
+                    write(components.accessors()[i].invoke(record), out);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            out.append('}');
+        } else {
+            string(value.toString(), out); // dates, enums
+        }
+    }
+
+    private static void string(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
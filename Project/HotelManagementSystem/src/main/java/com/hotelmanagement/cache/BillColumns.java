@@ -0,0 +1,448 @@
+package com.hotelmanagement.cache;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.entity.Bill;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only columnar copy of the bills table for revenue analytics: three parallel
+ * primitive arrays (billNo, customerId, amount in cents) instead of a Bill entity and
+ * a Customer proxy per row.
+ *
+ * refresh() loads the table once with a streaming JDBC scan (BillDAO.scanAfter), then
+ * only reads what changed: the bills above the highest billNo seen, and the bills a
+ * Hibernate post-commit listener saw inserted, updated or deleted since the last refresh.
+ * Each refresh publishes an immutable Snapshot; rows of a published snapshot are never
+ * written again (a patched column is copied first), so readers need no lock.
+ *
+ * The Snapshot aggregations run on the common fork-join pool over index ranges, with
+ * one partial result per range and no allocation per row.
+ */
+public final class BillColumns {
+
+    // customerId of a bill without customer
+    public static final int NO_CUSTOMER = 0;
+    // customerId of a row whose bill was deleted (amount set to 0)
+    private static final int DELETED = -1;
+
+    private static final BillColumns INSTANCE = new BillColumns();
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int MIN_ROWS_PER_TASK = 1 << 14;
+
+    public record Spender(int customerId, long amountCents) {
+    }
+
+    private final Object writeLock = new Object();
+    // billNos committed through Hibernate since the last refresh
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded;
+    private volatile Snapshot snapshot = new Snapshot(0, new int[0], new int[0], new long[0], 0, 0);
+
+    // Writer state, under writeLock
+    private int size;
+    private int[] billNos = new int[INITIAL_CAPACITY];
+    private int[] customerIds = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private int[] rowOfBill = new int[INITIAL_CAPACITY]; // billNo -> row, -1 when absent
+    private int maxBillNo;
+    private int maxCustomerId;
+    private int deleted;
+    private int published; // rows shared with the published snapshot
+
+    private BillColumns() {}
+
+    public static BillColumns getInstance() {
+        return INSTANCE;
+    }
+
+    // Called once by HibernateUtil after the SessionFactory is built
+    public static void register(SessionFactory sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        Listener listener = new Listener(INSTANCE);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Forgets everything; the next refresh reloads the whole table
+    public void invalidate() {
+        loaded = false;
+    }
+
+    // The last published snapshot, possibly behind the database
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    // Brings the columns up to date with the database and publishes a new snapshot
+    public Snapshot refresh(BillDAO billDAO) {
+        synchronized (writeLock) {
+            // Too many holes left by deletes: rebuilding is cheaper than scanning them forever
+            if (!loaded || deleted > size / 4) {
+                reset();
+                dirty.clear();
+                billDAO.scanAfter(0, this::upsert);
+                loaded = true;
+            } else {
+                List<Integer> changed = new ArrayList<>(dirty);
+                dirty.removeAll(changed);
+                if (!changed.isEmpty()) {
+                    int[] seen = new int[changed.size()];
+                    int[] count = new int[1];
+                    billDAO.scan(changed, (billNo, customerId, amountCents) -> {
+                        upsert(billNo, customerId, amountCents);
+                        seen[count[0]++] = billNo;
+                    });
+                    Arrays.sort(seen, 0, count[0]);
+                    for (int billNo : changed) {
+                        if (Arrays.binarySearch(seen, 0, count[0], billNo) < 0) {
+                            remove(billNo);
+                        }
+                    }
+                }
+                billDAO.scanAfter(maxBillNo, this::upsert);
+            }
+            published = size;
+            snapshot = new Snapshot(size, billNos, customerIds, cents, maxCustomerId, deleted);
+            return snapshot;
+        }
+    }
+
+    // --- writes, always under writeLock ---
+
+    private void reset() {
+        size = 0;
+        billNos = new int[INITIAL_CAPACITY];
+        customerIds = new int[INITIAL_CAPACITY];
+        cents = new long[INITIAL_CAPACITY];
+        rowOfBill = new int[INITIAL_CAPACITY];
+        Arrays.fill(rowOfBill, -1);
+        maxBillNo = 0;
+        maxCustomerId = 0;
+        deleted = 0;
+        published = 0;
+    }
+
+    private void upsert(int billNo, int customerId, long amountCents) {
+        ensureBillCapacity(billNo);
+        int row = rowOfBill[billNo];
+        if (row < 0) {
+            if (size == billNos.length) {
+                int capacity = size + (size >> 1);
+                billNos = Arrays.copyOf(billNos, capacity);
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+            }
+            row = size++;
+            billNos[row] = billNo;
+            rowOfBill[billNo] = row;
+        } else {
+            copyOnWrite(row);
+        }
+        customerIds[row] = customerId;
+        cents[row] = amountCents;
+        maxBillNo = Math.max(maxBillNo, billNo);
+        maxCustomerId = Math.max(maxCustomerId, customerId);
+    }
+
+    private void remove(int billNo) {
+        int row = billNo < rowOfBill.length ? rowOfBill[billNo] : -1;
+        if (row < 0) {
+            return;
+        }
+        copyOnWrite(row);
+        customerIds[row] = DELETED;
+        cents[row] = 0;
+        rowOfBill[billNo] = -1;
+        deleted++;
+    }
+
+    // A row the published snapshot can see is about to change: give the writer its own columns
+    private void copyOnWrite(int row) {
+        if (row < published) {
+            customerIds = customerIds.clone();
+            cents = cents.clone();
+            published = 0;
+        }
+    }
+
+    private void ensureBillCapacity(int billNo) {
+        if (billNo >= rowOfBill.length) {
+            int length = rowOfBill.length;
+            rowOfBill = Arrays.copyOf(rowOfBill, Math.max(billNo + 1, length + (length >> 1)));
+            Arrays.fill(rowOfBill, length, rowOfBill.length, -1);
+        }
+    }
+
+    void onChanged(int billNo) {
+        dirty.add(billNo);
+    }
+
+    /** Immutable view of the columns at one refresh. Amounts are in cents. */
+    public static final class Snapshot {
+
+        private final int size;
+        private final int[] billNos;
+        private final int[] customerIds;
+        private final long[] cents;
+        private final int maxCustomerId;
+        private final int deleted;
+
+        private Snapshot(int size, int[] billNos, int[] customerIds, long[] cents, int maxCustomerId, int deleted) {
+            this.size = size;
+            this.billNos = billNos;
+            this.customerIds = customerIds;
+            this.cents = cents;
+            this.maxCustomerId = maxCustomerId;
+            this.deleted = deleted;
+        }
+
+        public int getBillCount() {
+            return size - deleted;
+        }
+
+        public int getMaxCustomerId() {
+            return maxCustomerId;
+        }
+
+        public long sumCents() {
+            long[] amounts = cents;
+            return IntStream.range(0, size).parallel().mapToLong(row -> amounts[row]).sum();
+        }
+
+        public long sumCents(int customerId) {
+            int[] customers = customerIds;
+            long[] amounts = cents;
+            return IntStream.range(0, size).parallel()
+                    .filter(row -> customers[row] == customerId)
+                    .mapToLong(row -> amounts[row])
+                    .sum();
+        }
+
+        // Revenue per customer, indexed by customerId (index NO_CUSTOMER: bills without customer)
+        public long[] sumByCustomer() {
+            int[] customers = customerIds;
+            long[] amounts = cents;
+            int tasks = tasks(MIN_ROWS_PER_TASK);
+            return IntStream.range(0, tasks).parallel()
+                    .mapToObj(task -> {
+                        long[] partial = new long[maxCustomerId + 1];
+                        for (int row = from(task, tasks); row < from(task + 1, tasks); row++) {
+                            if (customers[row] != DELETED) {
+                                partial[customers[row]] += amounts[row];
+                            }
+                        }
+                        return partial;
+                    })
+                    .reduce(BillColumns::addInto)
+                    .orElseGet(() -> new long[maxCustomerId + 1]);
+        }
+
+        // The k customers who spent the most, highest first
+        public List<Spender> topSpenders(int k) {
+            long[] totals = sumByCustomer();
+            int tasks = Math.max(1,
+                    Math.min(ForkJoinPool.getCommonPoolParallelism(), totals.length / MIN_ROWS_PER_TASK));
+            TopK top = IntStream.range(0, tasks).parallel()
+                    .mapToObj(task -> {
+                        TopK partial = new TopK(k);
+                        int from = (int) ((long) totals.length * task / tasks);
+                        int to = (int) ((long) totals.length * (task + 1) / tasks);
+                        for (int customerId = Math.max(from, NO_CUSTOMER + 1); customerId < to; customerId++) {
+                            if (totals[customerId] > 0) {
+                                partial.offer(customerId, totals[customerId]);
+                            }
+                        }
+                        return partial;
+                    })
+                    .reduce(TopK::merge)
+                    .orElseGet(() -> new TopK(k));
+            return top.sorted();
+        }
+
+        // Bill count per amount bucket [i * bucketCents, (i + 1) * bucketCents); the last bucket is open
+        public long[] histogram(long bucketCents, int buckets) {
+            int[] customers = customerIds;
+            long[] amounts = cents;
+            int tasks = tasks(MIN_ROWS_PER_TASK);
+            return IntStream.range(0, tasks).parallel()
+                    .mapToObj(task -> {
+                        long[] partial = new long[buckets];
+                        for (int row = from(task, tasks); row < from(task + 1, tasks); row++) {
+                            if (customers[row] != DELETED) {
+                                long bucket = Math.max(0, amounts[row]) / bucketCents;
+                                partial[(int) Math.min(bucket, buckets - 1)]++;
+                            }
+                        }
+                        return partial;
+                    })
+                    .reduce(BillColumns::addInto)
+                    .orElseGet(() -> new long[buckets]);
+        }
+
+        // One task per worker, each over a contiguous range of rows
+        private int tasks(int minRows) {
+            return Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), size / minRows));
+        }
+
+        private int from(int task, int tasks) {
+            return (int) ((long) size * task / tasks);
+        }
+    }
+
+    private static long[] addInto(long[] into, long[] other) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += other[i];
+        }
+        return into;
+    }
+
+    // Bounded min-heap of (amount, customerId) in two primitive arrays
+    private static final class TopK {
+        private final long[] amounts;
+        private final int[] ids;
+        private int size;
+
+        TopK(int k) {
+            amounts = new long[k];
+            ids = new int[k];
+        }
+
+        void offer(int id, long amount) {
+            if (size < amounts.length) {
+                amounts[size] = amount;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (size > 0 && amount > amounts[0]) {
+                amounts[0] = amount;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ids[i], other.amounts[i]);
+            }
+            return this;
+        }
+
+        List<Spender> sorted() {
+            List<Spender> spenders = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                spenders.add(new Spender(ids[i], amounts[i]));
+            }
+            spenders.sort((a, b) -> Long.compare(b.amountCents(), a.amountCents()));
+            return spenders;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (amounts[parent] <= amounts[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && amounts[left] < amounts[smallest]) smallest = left;
+                if (right < size && amounts[right] < amounts[smallest]) smallest = right;
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long amount = amounts[a];
+            amounts[a] = amounts[b];
+            amounts[b] = amount;
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    // Post-commit listener: remembers which bills changed, refresh() rereads them
+    private static final class Listener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        private final BillColumns columns;
+
+        Listener(BillColumns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Bill.class;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                columns.onChanged((Integer) event.getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                columns.onChanged((Integer) event.getId());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                columns.onChanged((Integer) event.getId());
+            }
+        }
+
+        // Rolled back: nothing changed
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+    }
+}
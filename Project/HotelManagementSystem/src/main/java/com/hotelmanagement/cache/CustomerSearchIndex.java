@@ -0,0 +1,374 @@
+package com.hotelmanagement.cache;
+
+import com.hotelmanagement.dao.CustomerDAO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead over the name, address and phone of the customers.
+ *
+ * Text is folded (lower case, accents dropped, punctuation as spaces) and split into
+ * words; the phone is one word of digits. A customer matches when every term of the query
+ * starts one of its words: "lin ber" finds "Lina Berrada", "casa" the guests living in
+ * Casablanca. A query made only of digits and phone punctuation ("+212 6 12") is one term.
+ *
+ * Postings map each field and word prefix of 1, 2, 3, 5 or 8 characters to the sorted ids
+ * of the customers having such a word (the longer ones tell phone numbers apart, which
+ * mostly share their first digits). A query walks the postings of its rarest term, checking
+ * the other terms against the folded text of each candidate. Results come ranked by the
+ * field that term matched (name, then phone, then address), newest customer first, so
+ * the walk stops as soon as it has the top k.
+ *
+ * Searches share a read lock; writes come from CustomerDAOImpl after commit and are
+ * ignored until the index has been loaded.
+ */
+public final class CustomerSearchIndex {
+
+    private static final CustomerSearchIndex INSTANCE = new CustomerSearchIndex();
+
+    private static final int[] KEY_LENGTHS = {1, 2, 3, 5, 8};
+    private static final char SEPARATOR = '|';
+    private static final char NAME = 'n';
+    private static final char PHONE = 'p';
+    private static final char ADDRESS = 'a';
+    // Search order of the fields
+    private static final char[] FIELDS = {NAME, PHONE, ADDRESS};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // Folded "name|address|phone" by customer id, null when there is no such customer
+    private String[] texts = new String[1024];
+    private int size;
+    private volatile boolean loaded;
+
+    public static CustomerSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Forgets everything; the next search reloads from the database
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Starts a full rebuild: no customer yet (see put)
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rebuilds from the database. Writes committed meanwhile wait for the lock and apply after.
+    public void load(CustomerDAO customerDAO) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            customerDAO.scanContacts(this::putLocked);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds a customer, or re-indexes it after a change
+    public void put(int id, String name, String address, String phone) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                putLocked(id, name, address, phone);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded && id < texts.length && texts[id] != null) {
+                for (String key : keys(texts[id])) {
+                    removePosting(key, id);
+                }
+                texts[id] = null;
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the best matches, at most limit of them
+    public int[] search(String query, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            // The rarest term drives the walk
+            String driver = null;
+            int fewest = Integer.MAX_VALUE;
+            for (String term : terms) {
+                String prefix = keyPrefix(term);
+                int count = 0;
+                for (char field : FIELDS) {
+                    Postings list = postings.get(field + prefix);
+                    count += list == null ? 0 : list.size;
+                }
+                if (count < fewest) {
+                    fewest = count;
+                    driver = term;
+                }
+            }
+            if (fewest == 0) {
+                return new int[0];
+            }
+
+            String prefix = keyPrefix(driver);
+            int[] found = new int[Math.min(limit, fewest)];
+            int count = 0;
+            for (char field : FIELDS) {
+                Postings list = postings.get(field + prefix);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = list.size - 1; i >= 0 && count < found.length; i--) {
+                    int id = list.ids[i];
+                    String text = texts[id];
+                    if (startsWordIn(text, field, driver) && matchesAll(text, terms)
+                            && !contains(found, count, id)) {
+                        found[count++] = id;
+                    }
+                }
+            }
+            return Arrays.copyOf(found, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        texts = new String[1024];
+        size = 0;
+    }
+
+    private void putLocked(int id, String name, String address, String phone) {
+        String text = fold(name) + SEPARATOR + fold(address) + SEPARATOR + digits(phone);
+        if (id >= texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(id + 1, texts.length * 2));
+        }
+        String old = texts[id];
+        if (text.equals(old)) {
+            return;
+        }
+        List<String> keys = keys(text);
+        if (old == null) {
+            size++;
+        } else {
+            List<String> oldKeys = keys(old);
+            for (String key : oldKeys) {
+                if (!keys.contains(key)) {
+                    removePosting(key, id);
+                }
+            }
+            keys.removeAll(oldKeys);
+        }
+        for (String key : keys) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(id);
+        }
+        texts[id] = text;
+    }
+
+    private void removePosting(String key, int id) {
+        Postings list = postings.get(key);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(key);
+        }
+    }
+
+    // The longest indexed prefix of a term
+    private static String keyPrefix(String term) {
+        int length = 0;
+        for (int keyLength : KEY_LENGTHS) {
+            if (keyLength <= term.length()) {
+                length = keyLength;
+            }
+        }
+        return term.substring(0, length);
+    }
+
+    // Field letter + the indexed prefixes of every word, without duplicates
+    private static List<String> keys(String text) {
+        List<String> keys = new ArrayList<>();
+        char[] fields = {NAME, ADDRESS, PHONE}; // order of the fields in the text
+        int field = 0;
+        int wordStart = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : SEPARATOR;
+            if (c == ' ' || c == SEPARATOR) {
+                for (int length : KEY_LENGTHS) {
+                    if (length > i - wordStart) {
+                        break;
+                    }
+                    String key = fields[field] + text.substring(wordStart, wordStart + length);
+                    if (!keys.contains(key)) {
+                        keys.add(key);
+                    }
+                }
+                wordStart = i + 1;
+                if (c == SEPARATOR) {
+                    field++;
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static boolean matchesAll(String text, List<String> terms) {
+        for (String term : terms) {
+            if (!startsWord(text, 0, text.length(), term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWordIn(String text, char field, String term) {
+        int nameEnd = text.indexOf(SEPARATOR);
+        int addressEnd = text.indexOf(SEPARATOR, nameEnd + 1);
+        return switch (field) {
+            case NAME -> startsWord(text, 0, nameEnd, term);
+            case ADDRESS -> startsWord(text, nameEnd + 1, addressEnd, term);
+            default -> startsWord(text, addressEnd + 1, text.length(), term);
+        };
+    }
+
+    // Whether term is the start of a word of text[from, to)
+    private static boolean startsWord(String text, int from, int to, String term) {
+        for (int i = from; i + term.length() <= to; i++) {
+            if ((i == from || text.charAt(i - 1) == ' ' || text.charAt(i - 1) == SEPARATOR)
+                    && text.startsWith(term, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> terms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (query.chars().allMatch(c -> c >= '0' && c <= '9' || " +-.()".indexOf(c) >= 0)) {
+            String digits = digits(query);
+            return digits.isEmpty() ? List.of() : List.of(digits);
+        }
+        String folded = fold(query);
+        return folded.isEmpty() ? List.of() : List.of(folded.split(" "));
+    }
+
+    // Lower case letters and digits, accents dropped, single spaces between words
+    private static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = value.chars().allMatch(c -> c < 128)
+                ? value
+                : Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && folded.length() > 0 && folded.charAt(folded.length() - 1) != ' ') {
+                folded.append(' ');
+            }
+        }
+        int length = folded.length();
+        return length > 0 && folded.charAt(length - 1) == ' ' ? folded.substring(0, length - 1) : folded.toString();
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    // Growable sorted array of customer ids; ids mostly arrive in increasing order
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return; // already there
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
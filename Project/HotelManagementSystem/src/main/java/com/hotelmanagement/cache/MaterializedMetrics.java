@@ -0,0 +1,305 @@
+package com.hotelmanagement.cache;
+
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals behind the dashboard, kept up to date instead of recomputed:
+ * revenue overall, per customer and per day. Room occupancy is not counted here: it is read
+ * from RoomAvailabilityCache, which already tracks every room.
+ *
+ * Every committed insert / update / delete of a Bill reaches the counters
+ * through Hibernate post-commit event listeners (see register), whichever DAO or
+ * service wrote it. The write path only touches LongAdder cells (amounts in Money minor
+ * units, so the totals are exact), and concurrent commits never contend on a lock.
+ * Writes Hibernate does not see (bulk HQL / native SQL, the DataGenerator) make the
+ * counters drift; MetricsReconciler corrects them periodically against the database.
+ * Until the first reconciliation the counters are not loaded and must not be read.
+ */
+public final class MaterializedMetrics {
+
+    private static final MaterializedMetrics INSTANCE = new MaterializedMetrics();
+
+    // What a reconciliation had to correct; all zero when the counters were exact
+    public record Drift(long bills, long revenueMinor, int customers, int days) {
+        public boolean isZero() {
+            return bills == 0 && revenueMinor == 0 && customers == 0 && days == 0;
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder bills = new LongAdder();
+        final LongAdder amount = new LongAdder(); // minor units
+
+        void add(long count, long total) {
+            bills.add(count);
+            amount.add(total);
+        }
+    }
+
+    private final Totals total = new Totals();
+    private final Map<Integer, Totals> byCustomer = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Totals> byDay = new ConcurrentHashMap<>();
+    // Bill events applied so far, lets the reconciler detect writes racing with its queries
+    private final LongAdder billEvents = new LongAdder();
+
+    private final Object reconcileLock = new Object();
+    private volatile boolean loaded;
+
+    private MaterializedMetrics() {}
+
+    public static MaterializedMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Called once by HibernateUtil after the SessionFactory is built
+    public static void register(SessionFactory sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        Listener listener = new Listener(INSTANCE);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // The counters can no longer be trusted; the next reader reconciles first
+    public void invalidate() {
+        loaded = false;
+    }
+
+    public long getBillEvents() {
+        return billEvents.sum();
+    }
+
+    // --- reads ---
+
+    public Money getTotalRevenue() {
+        return Money.ofMinor(total.amount.sum());
+    }
+
+    public long getBillCount() {
+        return total.bills.sum();
+    }
+
+    public Money getRevenue(int customerId) {
+        Totals totals = byCustomer.get(customerId);
+        return totals == null ? Money.ZERO : Money.ofMinor(totals.amount.sum());
+    }
+
+    // Days of [from, to] (both inclusive) that have bills, in date order, as BillDAO.sumAmountByDay
+    public List<DailyRevenue> getDailyRevenue(LocalDate from, LocalDate to) {
+        List<DailyRevenue> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Totals totals = byDay.get(day);
+            long bills = totals == null ? 0 : totals.bills.sum();
+            if (bills > 0) {
+                days.add(new DailyRevenue(day, bills, Money.ofMinor(totals.amount.sum())));
+            }
+        }
+        return days;
+    }
+
+    // The n customers with the most revenue, highest first; customerName is left null
+    public List<CustomerRevenue> getTopCustomers(int n) {
+        PriorityQueue<CustomerRevenue> top = new PriorityQueue<>(Comparator.comparing(CustomerRevenue::total));
+        byCustomer.forEach((customerId, totals) -> {
+            long bills = totals.bills.sum();
+            if (bills > 0) {
+                top.add(new CustomerRevenue(customerId, null, bills, Money.ofMinor(totals.amount.sum())));
+                if (top.size() > n) {
+                    top.poll();
+                }
+            }
+        });
+        List<CustomerRevenue> sorted = new ArrayList<>(top);
+        sorted.sort(Comparator.comparing(CustomerRevenue::total).reversed());
+        return sorted;
+    }
+
+    // --- incremental updates (event listeners) ---
+
+    void onBill(Integer customerId, LocalDateTime issuedAt, long amount, int sign) {
+        total.add(sign, sign * amount);
+        if (customerId != null) {
+            byCustomer.computeIfAbsent(customerId, id -> new Totals()).add(sign, sign * amount);
+        }
+        if (issuedAt != null) {
+            byDay.computeIfAbsent(issuedAt.toLocalDate(), day -> new Totals()).add(sign, sign * amount);
+        }
+        billEvents.increment();
+    }
+
+    // --- reconciliation ---
+
+    /**
+     * Brings the counters to the state of the database, read by the caller:
+     * revenue per day (all days) and revenue per customer.
+     * Only the differences are applied, so events arriving meanwhile are not lost;
+     * an event committed between the caller's queries and this call may be counted
+     * twice, which the next reconciliation corrects.
+     */
+    public Drift reconcile(List<DailyRevenue> days, List<CustomerRevenue> customers) {
+        synchronized (reconcileLock) {
+            long dbBills = 0;
+            long dbRevenue = 0;
+            Map<LocalDate, Totals> dayTotals = new HashMap<>();
+            for (DailyRevenue day : days) {
+                dbBills += day.billCount();
+                dbRevenue += day.total().minorUnits();
+                dayTotals.computeIfAbsent(day.day(), d -> new Totals()).add(day.billCount(), day.total().minorUnits());
+            }
+            Map<Integer, Totals> customerTotals = new HashMap<>();
+            for (CustomerRevenue customer : customers) {
+                customerTotals.computeIfAbsent(customer.customerId(), id -> new Totals())
+                        .add(customer.billCount(), customer.total().minorUnits());
+            }
+
+            long billDrift = dbBills - total.bills.sum();
+            long revenueDrift = dbRevenue - total.amount.sum();
+            total.add(billDrift, revenueDrift);
+            int customerDrift = correct(byCustomer, customerTotals);
+            int dayDrift = correct(byDay, dayTotals);
+
+            // A reload starts from empty counters: that is loading, not drift
+            Drift drift = loaded
+                    ? new Drift(billDrift, revenueDrift, customerDrift, dayDrift)
+                    : new Drift(0, 0, 0, 0);
+            loaded = true;
+            return drift;
+        }
+    }
+
+    // Applies the differences key by key; returns the number of keys that were off
+    private static <K> int correct(Map<K, Totals> live, Map<K, Totals> database) {
+        int corrected = 0;
+        for (Map.Entry<K, Totals> entry : database.entrySet()) {
+            Totals counters = live.computeIfAbsent(entry.getKey(), key -> new Totals());
+            long bills = entry.getValue().bills.sum();
+            long amount = entry.getValue().amount.sum();
+            long liveBills = counters.bills.sum();
+            long liveAmount = counters.amount.sum();
+            if (liveBills != bills || liveAmount != amount) {
+                counters.add(bills - liveBills, amount - liveAmount);
+                corrected++;
+            }
+        }
+        for (K key : List.copyOf(live.keySet())) {
+            if (!database.containsKey(key)) {
+                Totals removed = live.remove(key);
+                if (removed != null && (removed.bills.sum() != 0 || removed.amount.sum() != 0)) {
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    // Post-commit listener: sees only what was actually committed
+    private static final class Listener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        private final MaterializedMetrics metrics;
+        private volatile int[] billProperties; // indexes of amount, issuedAt, customer in the state arrays
+
+        Listener(MaterializedMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Bill.class;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                onBill(event.getPersister(), event.getState(), 1);
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                if (event.getOldState() == null) {
+                    metrics.invalidate(); // merged without a snapshot: the old amount is unknown
+                    return;
+                }
+                onBill(event.getPersister(), event.getOldState(), -1);
+                onBill(event.getPersister(), event.getState(), 1);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Bill) {
+                onBill(event.getPersister(), event.getDeletedState(), -1);
+            }
+        }
+
+        // Rolled back: nothing to count
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        private void onBill(EntityPersister persister, Object[] state, int sign) {
+            int[] properties = billProperties;
+            if (properties == null) {
+                List<String> names = Arrays.asList(persister.getPropertyNames());
+                properties = new int[]{names.indexOf("amount"), names.indexOf("issuedAt"), names.indexOf("customer")};
+                billProperties = properties;
+            }
+            Money amount = (Money) state[properties[0]];
+            metrics.onBill(customerId(state[properties[2]]), (LocalDateTime) state[properties[1]],
+                    amount != null ? amount.minorUnits() : 0, sign);
+        }
+
+        // The customer of a bill is often an uninitialized proxy: read its id without loading it
+        private static Integer customerId(Object customer) {
+            if (customer == null) {
+                return null;
+            }
+            LazyInitializer proxy = HibernateProxy.extractLazyInitializer(customer);
+            return proxy != null ? (Integer) proxy.getInternalIdentifier() : ((Customer) customer).getId();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.hotelmanagement.cache;
+
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.entity.Room;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process availability bitmap keyed by roomNo, with the rooms and free rooms of each floor:
+ * the one in-memory source of room occupancy (the dashboard and /api/occupancy read it).
+ * Reads (isAvailable, countFreeRooms) are O(1), lock-free and allocation-free.
+ * Writes come from RoomDAOImpl after each committed save/update/delete. They may arrive out of
+ * commit order: a room is only updated with a state newer than the one it holds (Room.version).
+ * The floor of a room is roomNo / 100 (101 -> floor 1).
+ */
+public final class RoomAvailabilityCache {
+
+    private static final RoomAvailabilityCache INSTANCE = new RoomAvailabilityCache();
+
+    private static final int ROOMS_PER_FLOOR = 100;
+    private static final int INITIAL_FLOORS = 16;
+
+    public record FloorOccupancy(int floor, int rooms, int occupied) {
+        public double rate() {
+            return rooms == 0 ? 0 : occupied / (double) rooms;
+        }
+    }
+
+    private final Object writeLock = new Object();
+
+    private volatile boolean loaded;
+    // One bit per roomNo: the room exists / the room is free
+    private volatile AtomicLongArray existing = new AtomicLongArray(wordsFor(INITIAL_FLOORS * ROOMS_PER_FLOOR));
+    private volatile AtomicLongArray free = new AtomicLongArray(wordsFor(INITIAL_FLOORS * ROOMS_PER_FLOOR));
+    private volatile AtomicIntegerArray freePerFloor = new AtomicIntegerArray(INITIAL_FLOORS);
+    private volatile AtomicIntegerArray roomsPerFloor = new AtomicIntegerArray(INITIAL_FLOORS);
+    private volatile int freeTotal;
+    // Last applied Room.version per roomNo, only touched under writeLock
+    private final Map<Integer, Integer> versions = new HashMap<>();
+
+    private RoomAvailabilityCache() {}
+
+    public static RoomAvailabilityCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static int floorOf(int roomNo) {
+        return roomNo / ROOMS_PER_FLOOR;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // (Re)builds the bitmap from the database. Writes committed meanwhile wait for the lock and apply after.
+    public void load(RoomDAO roomDAO) {
+        synchronized (writeLock) {
+            List<Room> rooms = roomDAO.findAll();
+            int maxRoomNo = rooms.stream().mapToInt(Room::getRoomNo).max().orElse(0);
+            int floors = Math.max(INITIAL_FLOORS, floorOf(maxRoomNo) + 1);
+            existing = new AtomicLongArray(wordsFor(floors * ROOMS_PER_FLOOR));
+            free = new AtomicLongArray(wordsFor(floors * ROOMS_PER_FLOOR));
+            freePerFloor = new AtomicIntegerArray(floors);
+            roomsPerFloor = new AtomicIntegerArray(floors);
+            freeTotal = 0;
+            versions.clear();
+            for (Room room : rooms) {
+                put(room);
+            }
+            loaded = true;
+        }
+    }
+
+    // Drops the bitmap; the next reader reloads it from the database
+    public void invalidate() {
+        synchronized (writeLock) {
+            loaded = false;
+        }
+    }
+
+    public void onSaved(Room room) {
+        synchronized (writeLock) {
+            if (loaded) {
+                put(room);
+            }
+        }
+    }
+
+    public void onDeleted(Room room) {
+        synchronized (writeLock) {
+            if (loaded) {
+                versions.remove(room.getRoomNo());
+                remove(room.getRoomNo());
+            }
+        }
+    }
+
+    public boolean exists(int roomNo) {
+        return testBit(existing, roomNo);
+    }
+
+    public boolean isAvailable(int roomNo) {
+        return testBit(free, roomNo);
+    }
+
+    public int countFreeRooms(int floor) {
+        AtomicIntegerArray counts = freePerFloor;
+        return floor >= 0 && floor < counts.length() ? counts.get(floor) : 0;
+    }
+
+    public int countFreeRooms() {
+        return freeTotal;
+    }
+
+    // Floors that have rooms, in floor order
+    public List<FloorOccupancy> getOccupancyByFloor() {
+        AtomicIntegerArray roomCounts = roomsPerFloor;
+        AtomicIntegerArray freeCounts = freePerFloor;
+        List<FloorOccupancy> occupancy = new ArrayList<>();
+        for (int floor = 0; floor < Math.min(roomCounts.length(), freeCounts.length()); floor++) {
+            int rooms = roomCounts.get(floor);
+            if (rooms > 0) {
+                occupancy.add(new FloorOccupancy(floor, rooms, rooms - freeCounts.get(floor)));
+            }
+        }
+        return occupancy;
+    }
+
+    // --- writes, always under writeLock ---
+
+    private void put(Room room) {
+        int roomNo = room.getRoomNo();
+        if (roomNo < 0) {
+            return;
+        }
+        Integer applied = versions.get(roomNo);
+        if (applied != null && applied > room.getVersion()) {
+            return; // a later commit of this room is already applied
+        }
+        versions.put(roomNo, room.getVersion());
+        boolean available = room.isAvailable();
+        ensureCapacity(roomNo);
+        if (!testBit(existing, roomNo)) {
+            setBit(existing, roomNo, true);
+            roomsPerFloor.incrementAndGet(floorOf(roomNo));
+        }
+        boolean wasFree = testBit(free, roomNo);
+        if (wasFree != available) {
+            setBit(free, roomNo, available);
+            int delta = available ? 1 : -1;
+            freePerFloor.addAndGet(floorOf(roomNo), delta);
+            freeTotal += delta;
+        }
+    }
+
+    private void remove(int roomNo) {
+        if (!testBit(existing, roomNo)) {
+            return;
+        }
+        if (testBit(free, roomNo)) {
+            setBit(free, roomNo, false);
+            freePerFloor.decrementAndGet(floorOf(roomNo));
+            freeTotal--;
+        }
+        setBit(existing, roomNo, false);
+        roomsPerFloor.decrementAndGet(floorOf(roomNo));
+    }
+
+    private void ensureCapacity(int roomNo) {
+        int floors = freePerFloor.length();
+        if (floorOf(roomNo) < floors) {
+            return;
+        }
+        int newFloors = Math.max(floors * 2, floorOf(roomNo) + 1);
+        existing = copyOf(existing, wordsFor(newFloors * ROOMS_PER_FLOOR));
+        free = copyOf(free, wordsFor(newFloors * ROOMS_PER_FLOOR));
+        freePerFloor = copyOf(freePerFloor, newFloors);
+        roomsPerFloor = copyOf(roomsPerFloor, newFloors);
+    }
+
+    // --- bit helpers ---
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static boolean testBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < bits.length() && (bits.get(word) & (1L << index)) != 0;
+    }
+
+    private static void setBit(AtomicLongArray bits, int index, boolean value) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current = bits.get(word);
+        bits.set(word, value ? current | mask : current & ~mask);
+    }
+
+    private static AtomicIntegerArray copyOf(AtomicIntegerArray source, int length) {
+        AtomicIntegerArray copy = new AtomicIntegerArray(length);
+        for (int i = 0; i < source.length(); i++) {
+            copy.set(i, source.get(i));
+        }
+        return copy;
+    }
+
+    private static AtomicLongArray copyOf(AtomicLongArray source, int length) {
+        AtomicLongArray copy = new AtomicLongArray(length);
+        for (int i = 0; i < source.length(); i++) {
+            copy.set(i, source.get(i));
+        }
+        return copy;
+    }
+}
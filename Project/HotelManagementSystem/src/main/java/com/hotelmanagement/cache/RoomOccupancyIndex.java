@@ -0,0 +1,294 @@
+package com.hotelmanagement.cache;
+
+import com.hotelmanagement.dao.ReservationDAO;
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.entity.Reservation;
+import com.hotelmanagement.entity.Room;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory interval index of reservations: for each room, a sorted array of
+ * occupied [checkIn, checkOut) ranges stored as epoch days.
+ * Reservations of one room never overlap, so both the starts and the ends are
+ * sorted and "is the room free from D1 to D2" is one binary search.
+ *
+ * Reads are lock-free (each room schedule is an immutable array pair swapped
+ * atomically); writes come from ReservationDAOImpl and RoomDAOImpl after commit
+ * and are ignored until the index has been loaded (load, or reset + put).
+ */
+public final class RoomOccupancyIndex {
+
+    private static final RoomOccupancyIndex INSTANCE = new RoomOccupancyIndex();
+
+    private static final Schedule EMPTY = new Schedule(new int[0], new int[0], new int[0]);
+
+    private final Object writeLock = new Object();
+    private final Map<Integer, Integer> roomOfReservation = new HashMap<>();
+
+    private volatile boolean loaded;
+    private volatile Rooms rooms = new Rooms(new int[0], new AtomicReferenceArray<>(0));
+
+    public static RoomOccupancyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Forgets everything; the next reader reloads from the database
+    public void invalidate() {
+        synchronized (writeLock) {
+            loaded = false;
+        }
+    }
+
+    // Rebuilds from the database: every room and the reservations not cancelled, built aside and
+    // published at once. Writes committed meanwhile wait for the lock and apply after.
+    public void load(RoomDAO roomDAO, ReservationDAO reservationDAO) {
+        synchronized (writeLock) {
+            loaded = false;
+            int[] roomNos;
+            try (Stream<Room> stream = roomDAO.streamAll()) {
+                roomNos = stream.mapToInt(Room::getRoomNo).toArray();
+            }
+            Map<Integer, Schedule> schedules = new HashMap<>();
+            Map<Integer, Integer> reservationRooms = new HashMap<>();
+            try (Stream<Reservation> stream = reservationDAO.streamAll()) {
+                stream.filter(r -> r.getStatus() != Reservation.Status.CANCELLED).forEach(r -> {
+                    int roomNo = r.getRoom().getRoomNo();
+                    schedules.put(roomNo, schedules.getOrDefault(roomNo, EMPTY).with(r.getId(),
+                            (int) r.getCheckIn().toEpochDay(), (int) r.getCheckOut().toEpochDay()));
+                    reservationRooms.put(r.getId(), roomNo);
+                });
+            }
+            // A room added after the rooms were read may already have reservations
+            int[] sorted = IntStream.concat(Arrays.stream(roomNos), schedules.keySet().stream().mapToInt(i -> i))
+                    .sorted().distinct().toArray();
+            AtomicReferenceArray<Schedule> roomSchedules = new AtomicReferenceArray<>(sorted.length);
+            for (int i = 0; i < sorted.length; i++) {
+                roomSchedules.set(i, schedules.getOrDefault(sorted[i], EMPTY));
+            }
+            rooms = new Rooms(sorted, roomSchedules);
+            roomOfReservation.clear();
+            roomOfReservation.putAll(reservationRooms);
+            loaded = true;
+        }
+    }
+
+    // Starts a full rebuild: every room of the hotel, no reservation yet (see put)
+    public void reset(int[] roomNos) {
+        synchronized (writeLock) {
+            int[] sorted = roomNos.clone();
+            Arrays.sort(sorted);
+            AtomicReferenceArray<Schedule> schedules = new AtomicReferenceArray<>(sorted.length);
+            for (int i = 0; i < sorted.length; i++) {
+                schedules.set(i, EMPTY);
+            }
+            rooms = new Rooms(sorted, schedules);
+            roomOfReservation.clear();
+            loaded = true;
+        }
+    }
+
+    public void addRoom(int roomNo) {
+        addRooms(new int[]{roomNo});
+    }
+
+    // Merges new rooms into the sorted room list in one pass
+    public void addRooms(int[] roomNos) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return;
+            }
+            Rooms current = rooms;
+            int[] added = Arrays.stream(roomNos)
+                    .filter(roomNo -> Arrays.binarySearch(current.roomNos, roomNo) < 0)
+                    .sorted().distinct().toArray();
+            if (added.length == 0) {
+                return;
+            }
+            int[] merged = new int[current.roomNos.length + added.length];
+            AtomicReferenceArray<Schedule> schedules = new AtomicReferenceArray<>(merged.length);
+            for (int i = 0, j = 0, k = 0; i < merged.length; i++) {
+                if (k == added.length || (j < current.roomNos.length && current.roomNos[j] < added[k])) {
+                    merged[i] = current.roomNos[j];
+                    schedules.set(i, current.schedules.get(j++));
+                } else {
+                    merged[i] = added[k++];
+                    schedules.set(i, EMPTY);
+                }
+            }
+            rooms = new Rooms(merged, schedules);
+        }
+    }
+
+    public void removeRoom(int roomNo) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return;
+            }
+            Rooms current = rooms;
+            int position = Arrays.binarySearch(current.roomNos, roomNo);
+            if (position < 0) {
+                return;
+            }
+            int[] roomNos = new int[current.roomNos.length - 1];
+            AtomicReferenceArray<Schedule> schedules = new AtomicReferenceArray<>(roomNos.length);
+            for (int i = 0, j = 0; j < current.roomNos.length; j++) {
+                if (j != position) {
+                    roomNos[i] = current.roomNos[j];
+                    schedules.set(i++, current.schedules.get(j));
+                }
+            }
+            rooms = new Rooms(roomNos, schedules);
+            roomOfReservation.values().removeIf(room -> room == roomNo);
+        }
+    }
+
+    // Adds or moves a reservation. Ranges are [checkIn, checkOut).
+    public void put(int reservationId, int roomNo, LocalDate checkIn, LocalDate checkOut) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return;
+            }
+            removeLocked(reservationId);
+            Rooms current = rooms;
+            int position = Arrays.binarySearch(current.roomNos, roomNo);
+            if (position < 0) {
+                addRoom(roomNo);
+                current = rooms;
+                position = Arrays.binarySearch(current.roomNos, roomNo);
+            }
+            Schedule schedule = current.schedules.get(position);
+            current.schedules.set(position, schedule.with(reservationId,
+                    (int) checkIn.toEpochDay(), (int) checkOut.toEpochDay()));
+            roomOfReservation.put(reservationId, roomNo);
+        }
+    }
+
+    public void remove(int reservationId) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return;
+            }
+            removeLocked(reservationId);
+        }
+    }
+
+    public boolean isFree(int roomNo, LocalDate from, LocalDate to) {
+        Rooms current = rooms;
+        int position = Arrays.binarySearch(current.roomNos, roomNo);
+        return position >= 0
+                && current.schedules.get(position).isFree((int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    // Room numbers free for the whole [from, to) range, in ascending order
+    public int[] freeRooms(LocalDate from, LocalDate to) {
+        int start = (int) from.toEpochDay();
+        int end = (int) to.toEpochDay();
+        Rooms current = rooms;
+        int[] free = new int[current.roomNos.length];
+        int count = 0;
+        for (int i = 0; i < free.length; i++) {
+            if (current.schedules.get(i).isFree(start, end)) {
+                free[count++] = current.roomNos[i];
+            }
+        }
+        return Arrays.copyOf(free, count);
+    }
+
+    public int countFreeRooms(LocalDate from, LocalDate to) {
+        int start = (int) from.toEpochDay();
+        int end = (int) to.toEpochDay();
+        Rooms current = rooms;
+        int count = 0;
+        for (int i = 0; i < current.roomNos.length; i++) {
+            if (current.schedules.get(i).isFree(start, end)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void removeLocked(int reservationId) {
+        Integer roomNo = roomOfReservation.remove(reservationId);
+        if (roomNo == null) {
+            return;
+        }
+        Rooms current = rooms;
+        int position = Arrays.binarySearch(current.roomNos, roomNo);
+        if (position >= 0) {
+            current.schedules.set(position, current.schedules.get(position).without(reservationId));
+        }
+    }
+
+    private record Rooms(int[] roomNos, AtomicReferenceArray<Schedule> schedules) {
+    }
+
+    // Immutable, sorted by start; ranges of one room do not overlap so ends are sorted too
+    private record Schedule(int[] starts, int[] ends, int[] reservationIds) {
+
+        boolean isFree(int from, int to) {
+            // First occupied range ending after 'from': the room is free if it starts at or after 'to'
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid] <= from) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == ends.length || starts[low] >= to;
+        }
+
+        Schedule with(int reservationId, int start, int end) {
+            int insertAt = 0;
+            while (insertAt < starts.length && starts[insertAt] < start) {
+                insertAt++;
+            }
+            int length = starts.length + 1;
+            int[] newStarts = new int[length];
+            int[] newEnds = new int[length];
+            int[] newIds = new int[length];
+            System.arraycopy(starts, 0, newStarts, 0, insertAt);
+            System.arraycopy(ends, 0, newEnds, 0, insertAt);
+            System.arraycopy(reservationIds, 0, newIds, 0, insertAt);
+            newStarts[insertAt] = start;
+            newEnds[insertAt] = end;
+            newIds[insertAt] = reservationId;
+            System.arraycopy(starts, insertAt, newStarts, insertAt + 1, starts.length - insertAt);
+            System.arraycopy(ends, insertAt, newEnds, insertAt + 1, ends.length - insertAt);
+            System.arraycopy(reservationIds, insertAt, newIds, insertAt + 1, reservationIds.length - insertAt);
+            return new Schedule(newStarts, newEnds, newIds);
+        }
+
+        Schedule without(int reservationId) {
+            for (int i = 0; i < reservationIds.length; i++) {
+                if (reservationIds[i] == reservationId) {
+                    int length = reservationIds.length - 1;
+                    int[] newStarts = new int[length];
+                    int[] newEnds = new int[length];
+                    int[] newIds = new int[length];
+                    System.arraycopy(starts, 0, newStarts, 0, i);
+                    System.arraycopy(ends, 0, newEnds, 0, i);
+                    System.arraycopy(reservationIds, 0, newIds, 0, i);
+                    System.arraycopy(starts, i + 1, newStarts, i, length - i);
+                    System.arraycopy(ends, i + 1, newEnds, i, length - i);
+                    System.arraycopy(reservationIds, i + 1, newIds, i, length - i);
+                    return new Schedule(newStarts, newEnds, newIds);
+                }
+            }
+            return this;
+        }
+    }
+}
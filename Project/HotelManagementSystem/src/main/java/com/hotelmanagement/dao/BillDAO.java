@@ -1,6 +1,42 @@
 package com.hotelmanagement.dao;
 
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
 import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Money;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface BillDAO extends GenericDAO<Bill> {
+
+    // Aggregates are computed by the database (SUM / GROUP BY), no Bill entity is loaded.
+    // Amounts are BIGINT minor units, so the sums are exact.
+    Money sumAmount();
+
+    Money sumAmountBetween(LocalDateTime from, LocalDateTime to);
+
+    List<CustomerRevenue> sumAmountByCustomer();
+
+    // The first limit customers of sumAmountByCustomer(), limited by the database
+    List<CustomerRevenue> sumAmountByCustomer(int limit);
+
+    List<DailyRevenue> sumAmountByDay(LocalDateTime from, LocalDateTime to);
+
+    // Every day that has bills
+    List<DailyRevenue> sumAmountByDay();
+
+    // Column scans for in-memory analytics (BillColumns): rows straight from the JDBC result set,
+    // no entity and no per-row object. customerId is 0 for a bill without customer.
+    @FunctionalInterface
+    interface RowHandler {
+        void accept(int billNo, int customerId, long amountMinor);
+    }
+
+    // Bills with billNo > afterBillNo, in billNo order
+    void scanAfter(int afterBillNo, RowHandler handler);
+
+    // The given bills (those still in the table)
+    void scan(Collection<Integer> billNos, RowHandler handler);
 }
@@ -1,7 +1,56 @@
 package com.hotelmanagement.dao;
 
+import com.hotelmanagement.dao.projection.CustomerSummary;
+import com.hotelmanagement.dao.projection.Folio;
 import com.hotelmanagement.entity.Customer;
 
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 public interface CustomerDAO extends GenericDAO<Customer> {
-    // Add specific methods if needed
+
+    // Named entity graphs declared on Customer: which associations a finder loads
+    String GRAPH_BILLS = "Customer.bills";
+    String GRAPH_ROOM = "Customer.room";
+    String GRAPH_FOOD_ITEMS = "Customer.foodItems";
+    String GRAPH_FOLIO = "Customer.folio";
+
+    Customer findById(int id, String graphName);
+
+    // One query for all the ids; the list follows the order of ids, null where a customer is missing
+    List<Customer> findByIds(List<Integer> ids);
+
+    // Customers having at least one bill (EXISTS semi-join, bills are not loaded)
+    List<Customer> findWithBills();
+
+    List<Customer> findWithBills(String graphName);
+
+    // Exact match on the normalized number (idx_customers_phone)
+    List<Customer> findByPhone(String phone);
+
+    // Names starting with prefix, in name order. Case-sensitive, so that idx_customers_name
+    // answers it with a range scan; CustomerSearchIndex does the case- and accent-insensitive search.
+    List<Customer> findByNamePrefix(String prefix, int limit);
+
+    // The searchable fields of every customer, in id order, straight from the JDBC result set
+    // (loads CustomerSearchIndex without building a million entities)
+    @FunctionalInterface
+    interface ContactHandler {
+        void accept(int id, String name, String address, String phone);
+    }
+
+    void scanContacts(ContactHandler handler);
+
+    // Every customer in id order with its room number and bill count (a correlated count, no
+    // association is loaded). Streamed like streamAll: close the stream.
+    Stream<CustomerSummary> streamSummaries();
+
+    // {smallest id, largest id}, null when there is no customer
+    int[] findIdRange();
+
+    // The folio of each customer with an id in [fromId, toId] and at least one charge, in id order.
+    // One projection query (bills and food orders, with the room) read straight from the JDBC
+    // result set: no entity is loaded and only the current folio is held.
+    void scanFolios(int fromId, int toId, Consumer<Folio> handler);
 }
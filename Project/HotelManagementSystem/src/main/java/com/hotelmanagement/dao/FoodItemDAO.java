@@ -2,5 +2,17 @@ package com.hotelmanagement.dao;
 
 import com.hotelmanagement.entity.FoodItem;
 
+import java.util.Collection;
+
 public interface FoodItemDAO extends GenericDAO<FoodItem> {
+
+    // One dish ordered by a customer: a row of the customer_food join table (Customer.foodItems)
+    record OrderLine(int customerId, int foodItemId) {
+    }
+
+    // Inserts the join rows directly, without loading Customer.foodItems
+    void addOrder(int customerId, int foodItemId);
+
+    // JDBC batched, one transaction (or the caller's unit of work)
+    void addOrders(Collection<OrderLine> orders);
 }
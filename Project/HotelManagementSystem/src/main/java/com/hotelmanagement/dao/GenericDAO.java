@@ -1,6 +1,8 @@
 package com.hotelmanagement.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GenericDAO<T> {
     void save(T entity);
@@ -8,4 +10,16 @@ public interface GenericDAO<T> {
     void delete(T entity);
     T findById(int id);
     List<T> findAll();
+
+    // Uninitialized proxy, no select: sets an association by id inside a unit of work
+    T getReference(int id);
+
+    // Forward-only cursor over the whole table, memory stays constant whatever its size.
+    // The stream holds a session open: always close it (try-with-resources).
+    Stream<T> streamAll();
+
+    // Bulk writes: one session and one transaction, JDBC batched (hibernate.jdbc.batch_size)
+    void saveAll(Collection<T> entities);
+    void updateAll(Collection<T> entities);
+    void deleteAll(Collection<T> entities);
 }
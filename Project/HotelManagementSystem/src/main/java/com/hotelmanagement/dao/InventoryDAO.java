@@ -0,0 +1,33 @@
+package com.hotelmanagement.dao;
+
+import com.hotelmanagement.dao.projection.StockLevel;
+import com.hotelmanagement.entity.Inventory;
+
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryDAO extends GenericDAO<Inventory> {
+
+    Inventory findByItemName(String itemName);
+
+    // Takes amount units if at least that many are left, with one conditional UPDATE
+    // (quantity = quantity - ? where quantity >= ?): concurrent callers never oversell and only
+    // wait for each other's row lock, never retry. Returns the stock after the decrement,
+    // or null when there were not enough units or no such item.
+    StockLevel decrement(int itemId, int amount);
+
+    // Several items, all or nothing (one restaurant order). Items are taken in id order, so two
+    // orders cannot deadlock. Returns the stock after, or an empty list when one item was short
+    // (the units already taken in this call are put back before returning).
+    List<StockLevel> decrementAll(Map<Integer, Integer> amountsByItem);
+
+    // Restock. Returns the stock after, or null when there is no such item.
+    StockLevel increment(int itemId, int amount);
+
+    StockLevel findStockLevel(int itemId);
+
+    List<StockLevel> findStockLevels();
+
+    // Items at or below their low-stock threshold
+    List<StockLevel> findLowStock();
+}
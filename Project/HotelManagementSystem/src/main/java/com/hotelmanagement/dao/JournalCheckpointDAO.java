@@ -0,0 +1,11 @@
+package com.hotelmanagement.dao;
+
+// Position of a local journal replayed into the database (journal_checkpoint table): written in
+// the same transaction as the rows it covers, so a replay knows exactly what was committed.
+public interface JournalCheckpointDAO {
+
+    // 0 when the journal never committed anything
+    long findLastSequence(String journal);
+
+    void saveLastSequence(String journal, long sequence);
+}
@@ -0,0 +1,11 @@
+package com.hotelmanagement.dao;
+
+import com.hotelmanagement.entity.Reservation;
+
+import java.time.LocalDate;
+
+public interface ReservationDAO extends GenericDAO<Reservation> {
+
+    // True if a non-cancelled reservation of the room overlaps [from, to)
+    boolean existsOverlapping(int roomNo, LocalDate from, LocalDate to);
+}
@@ -2,5 +2,21 @@ package com.hotelmanagement.dao;
 
 import com.hotelmanagement.entity.Room;
 
+import java.util.List;
+
 public interface RoomDAO extends GenericDAO<Room> {
+
+    List<Room> findAvailable();
+
+    List<Room> findAvailableByLocation(String location);
+
+    // Marks the room occupied and assigns it to the customer in one versioned transaction.
+    // The customer row is locked, and the room the customer leaves is freed in the same
+    // transaction unless another customer still holds it.
+    // Returns false if the room or the customer does not exist or the room is already taken.
+    // A concurrent update of the room is NOT swallowed: jakarta.persistence.OptimisticLockException is thrown.
+    boolean assignToCustomer(int roomNo, int customerId);
+
+    // Check-out: the room becomes available again. Same contract as assignToCustomer.
+    boolean release(int roomNo);
 }
@@ -0,0 +1,121 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.dao.GenericDAO;
+import com.hotelmanagement.util.PersistenceMetrics;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Base of the *DAOImpl: the GenericDAO operations on top of TransactionTemplate.
+// Called inside a unit of work, a DAO joins it and a failure propagates to its owner;
+// called on its own, a write runs in its own transaction and a failure is rolled back
+// and recorded (PersistenceMetrics) as before.
+abstract class AbstractDAO<T> implements GenericDAO<T> {
+
+    private final Class<T> type;
+
+    protected AbstractDAO(Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public void save(T entity) {
+        write(session -> {
+            session.persist(entity);
+            TransactionTemplate.afterCommit(() -> afterSave(List.of(entity)));
+        });
+    }
+
+    @Override
+    public void update(T entity) {
+        write(session -> {
+            session.merge(entity);
+            TransactionTemplate.afterCommit(() -> afterSave(List.of(entity)));
+        });
+    }
+
+    @Override
+    public void delete(T entity) {
+        write(session -> {
+            session.remove(entity);
+            TransactionTemplate.afterCommit(() -> afterDelete(List.of(entity)));
+        });
+    }
+
+    @Override
+    public T findById(int id) {
+        return read(session -> session.get(type, id));
+    }
+
+    @Override
+    public T getReference(int id) {
+        return read(session -> session.getReference(type, id));
+    }
+
+    @Override
+    public List<T> findAll() {
+        return read(session -> session.createQuery("from " + type.getSimpleName(), type).list());
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return EntityStreams.stream("from " + type.getSimpleName(), type);
+    }
+
+    @Override
+    public void saveAll(Collection<T> entities) {
+        writeAll(entities, Session::persist, this::afterSave);
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities) {
+        writeAll(entities, Session::merge, this::afterSave);
+    }
+
+    @Override
+    public void deleteAll(Collection<T> entities) {
+        writeAll(entities, Session::remove, this::afterDelete);
+    }
+
+    // After-commit hooks, for the DAOs that keep an in-memory view in sync
+    protected void afterSave(Collection<T> entities) {
+    }
+
+    protected void afterDelete(Collection<T> entities) {
+    }
+
+    protected <R> R read(Function<Session, R> work) {
+        return TransactionTemplate.read(work);
+    }
+
+    protected void write(Consumer<Session> work) {
+        if (TransactionTemplate.isActive()) {
+            TransactionTemplate.runInTransaction(work);
+            return;
+        }
+        try {
+            TransactionTemplate.runInTransaction(work);
+        } catch (RuntimeException e) {
+            PersistenceMetrics.recordFailure(e);
+        }
+    }
+
+    private void writeAll(Collection<T> entities, BiConsumer<Session, T> operation,
+                          Consumer<Collection<T>> afterCommit) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        // The session can only be cleared between batches when nobody else holds its entities
+        boolean ownSession = !TransactionTemplate.isActive();
+        write(session -> {
+            BatchWriter.write(session, entities, operation, ownSession);
+            TransactionTemplate.afterCommit(() -> afterCommit.accept(entities));
+        });
+    }
+}
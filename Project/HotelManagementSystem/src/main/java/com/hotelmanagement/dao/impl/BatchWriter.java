@@ -0,0 +1,31 @@
+package com.hotelmanagement.dao.impl;
+
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+// Used by AbstractDAO saveAll/updateAll/deleteAll: a flush every BATCH_SIZE rows sends
+// one JDBC batch, and clearing the session after it (when the caller owns the session)
+// keeps it from growing with the input.
+final class BatchWriter {
+
+    // Same value as hibernate.jdbc.batch_size in hibernate.cfg.xml
+    static final int BATCH_SIZE = 50;
+
+    private BatchWriter() {}
+
+    static <T> void write(Session session, Collection<T> entities, BiConsumer<Session, T> operation,
+                          boolean clear) {
+        int count = 0;
+        for (T entity : entities) {
+            operation.accept(session, entity);
+            if (++count % BATCH_SIZE == 0) {
+                session.flush();
+                if (clear) {
+                    session.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,65 +1,133 @@
 package com.hotelmanagement.dao.impl;
 
 import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
 import com.hotelmanagement.entity.Bill;
-import com.hotelmanagement.util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.hotelmanagement.entity.Money;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public class BillDAOImpl implements BillDAO {
+public class BillDAOImpl extends AbstractDAO<Bill> implements BillDAO {
+
+    private static final String SCAN = "select billNo, customer_id, amount_minor from bills ";
+    // Ties broken by id, so that a limited list is stable
+    private static final String REVENUE_BY_CUSTOMER = "select new com.hotelmanagement.dao.projection.CustomerRevenue("
+            + "c.id, c.name, count(b), sum(b.amount)) "
+            + "from Bill b join b.customer c "
+            + "group by c.id, c.name "
+            + "order by sum(b.amount) desc, c.id";
+    private static final int SCAN_FETCH_SIZE = 10_000;
+    private static final int SCAN_IN_SIZE = 500;
+
+    public BillDAOImpl() {
+        super(Bill.class);
+    }
 
     @Override
-    public void save(Bill bill) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.persist(bill);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public Money sumAmount() {
+        return read(session -> Money.ofMinor(session.createQuery(
+                        "select coalesce(sum(b.amount), 0) from Bill b", Long.class)
+                .getSingleResult()));
     }
 
     @Override
-    public void update(Bill bill) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.merge(bill);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public Money sumAmountBetween(LocalDateTime from, LocalDateTime to) {
+        return read(session -> Money.ofMinor(session.createQuery(
+                        "select coalesce(sum(b.amount), 0) from Bill b "
+                                + "where b.issuedAt >= :from and b.issuedAt < :to", Long.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getSingleResult()));
     }
 
     @Override
-    public void delete(Bill bill) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.remove(bill);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public List<CustomerRevenue> sumAmountByCustomer() {
+        return read(session -> session.createQuery(REVENUE_BY_CUSTOMER, CustomerRevenue.class)
+                .list());
     }
 
     @Override
-    public Bill findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Bill.class, id);
-        }
+    public List<CustomerRevenue> sumAmountByCustomer(int limit) {
+        return read(session -> session.createQuery(REVENUE_BY_CUSTOMER, CustomerRevenue.class)
+                .setMaxResults(limit)
+                .list());
+    }
+
+    @Override
+    public List<DailyRevenue> sumAmountByDay(LocalDateTime from, LocalDateTime to) {
+        return read(session -> session.createQuery(
+                        "select new com.hotelmanagement.dao.projection.DailyRevenue("
+                                + "cast(b.issuedAt as LocalDate), count(b), sum(b.amount)) "
+                                + "from Bill b "
+                                + "where b.issuedAt >= :from and b.issuedAt < :to "
+                                + "group by cast(b.issuedAt as LocalDate) "
+                                + "order by cast(b.issuedAt as LocalDate)", DailyRevenue.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .list());
     }
 
     @Override
-    public List<Bill> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from Bill", Bill.class).list();
+    public List<DailyRevenue> sumAmountByDay() {
+        return read(session -> session.createQuery(
+                        "select new com.hotelmanagement.dao.projection.DailyRevenue("
+                                + "cast(b.issuedAt as LocalDate), count(b), sum(b.amount)) "
+                                + "from Bill b "
+                                + "where b.issuedAt is not null "
+                                + "group by cast(b.issuedAt as LocalDate) "
+                                + "order by cast(b.issuedAt as LocalDate)", DailyRevenue.class)
+                .list());
+    }
+
+    @Override
+    public void scanAfter(int afterBillNo, RowHandler handler) {
+        read(session -> {
+            session.doWork(connection -> {
+                try (PreparedStatement select = connection.prepareStatement(
+                        SCAN + "where billNo > ? order by billNo")) {
+                    select.setFetchSize(SCAN_FETCH_SIZE);
+                    select.setInt(1, afterBillNo);
+                    scan(select, handler);
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public void scan(Collection<Integer> billNos, RowHandler handler) {
+        if (billNos.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = List.copyOf(billNos);
+        read(session -> {
+            session.doWork(connection -> {
+                for (int from = 0; from < ids.size(); from += SCAN_IN_SIZE) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + SCAN_IN_SIZE, ids.size()));
+                    try (PreparedStatement select = connection.prepareStatement(
+                            SCAN + "where billNo in (" + "?,".repeat(chunk.size() - 1) + "?)")) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            select.setInt(i + 1, chunk.get(i));
+                        }
+                        scan(select, handler);
+                    }
+                }
+            });
+            return null;
+        });
+    }
+
+    private static void scan(PreparedStatement select, RowHandler handler) throws SQLException {
+        try (ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                handler.accept(rows.getInt(1), rows.getInt(2), rows.getLong(3));
+            }
         }
     }
 }
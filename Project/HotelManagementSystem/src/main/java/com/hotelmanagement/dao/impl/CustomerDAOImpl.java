@@ -1,65 +1,172 @@
 package com.hotelmanagement.dao.impl;
 
+import com.hotelmanagement.cache.CustomerSearchIndex;
 import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.projection.CustomerSummary;
+import com.hotelmanagement.dao.projection.Folio;
 import com.hotelmanagement.entity.Customer;
-import com.hotelmanagement.util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import com.hotelmanagement.entity.Money;
+import org.hibernate.graph.GraphSemantic;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-public class CustomerDAOImpl implements CustomerDAO {
+public class CustomerDAOImpl extends AbstractDAO<Customer> implements CustomerDAO {
+
+    private static final String WITH_BILLS =
+            "from Customer c where exists (select 1 from Bill b where b.customer = c) order by c.id";
+    private static final String SUMMARIES = "select new com.hotelmanagement.dao.projection.CustomerSummary("
+            + "c.id, c.name, c.address, c.phone, r.roomNo, (select count(b) from Bill b where b.customer = c)) "
+            + "from Customer c left join c.room r order by c.id";
+    private static final int SCAN_FETCH_SIZE = 10_000;
+    // Bills then food orders of each customer, kind 0 = bill, 1 = food order
+    private static final String FOLIO_CHARGES = """
+            select c.id, c.name, c.address, r.room_no, r.location,
+                   0 as kind, b.billNo as reference, cast(null as varchar(255)) as description,
+                   b.amount_minor as amount, b.issued_at
+            from customers c
+            join bills b on b.customer_id = c.id
+            left join rooms r on r.room_no = c.room_id
+            where c.id between ? and ?
+            union all
+            select c.id, c.name, c.address, r.room_no, r.location,
+                   1, f.id, f.name, f.price_minor, cast(null as timestamp(6))
+            from customers c
+            join customer_food cf on cf.customer_id = c.id
+            join food_items f on f.id = cf.food_id
+            left join rooms r on r.room_no = c.room_id
+            where c.id between ? and ?
+            order by 1, 6, 7""";
+
+    public CustomerDAOImpl() {
+        super(Customer.class);
+    }
 
     @Override
-    public void save(Customer customer) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.persist(customer);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public Customer findById(int id, String graphName) {
+        return read(session -> session.byId(Customer.class)
+                .with(session.createEntityGraph(Customer.class, graphName), GraphSemantic.FETCH)
+                .load(id));
     }
 
     @Override
-    public void update(Customer customer) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.merge(customer);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public List<Customer> findByIds(List<Integer> ids) {
+        return read(session -> session.byMultipleIds(Customer.class).multiLoad(ids));
     }
 
     @Override
-    public void delete(Customer customer) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.remove(customer);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public List<Customer> findWithBills() {
+        return read(session -> session.createQuery(WITH_BILLS, Customer.class).list());
     }
 
     @Override
-    public Customer findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Customer.class, id);
-        }
+    public List<Customer> findWithBills(String graphName) {
+        return read(session -> session.createQuery(WITH_BILLS, Customer.class)
+                .setHint(GraphSemantic.FETCH.getJakartaHintName(), session.createEntityGraph(Customer.class, graphName))
+                .list());
+    }
+
+    @Override
+    public List<Customer> findByPhone(String phone) {
+        return read(session -> session.createQuery("from Customer c where c.phone = :phone order by c.id",
+                        Customer.class)
+                .setParameter("phone", Customer.normalizePhone(phone))
+                .list());
+    }
+
+    @Override
+    public List<Customer> findByNamePrefix(String prefix, int limit) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return read(session -> session.createQuery(
+                        "from Customer c where c.name like :prefix escape '\\' order by c.name, c.id", Customer.class)
+                .setParameter("prefix", escaped + "%")
+                .setMaxResults(limit)
+                .list());
+    }
+
+    @Override
+    public void scanContacts(ContactHandler handler) {
+        read(session -> {
+            session.doWork(connection -> {
+                try (PreparedStatement select = connection.prepareStatement(
+                        "select id, name, address, phone from customers order by id")) {
+                    select.setFetchSize(SCAN_FETCH_SIZE);
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            handler.accept(rows.getInt(1), rows.getString(2), rows.getString(3), rows.getString(4));
+                        }
+                    }
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public Stream<CustomerSummary> streamSummaries() {
+        return EntityStreams.stream(SUMMARIES, CustomerSummary.class);
+    }
+
+    @Override
+    public int[] findIdRange() {
+        return read(session -> {
+            Object[] range = session.createQuery("select min(c.id), max(c.id) from Customer c", Object[].class)
+                    .getSingleResult();
+            return range[0] == null ? null : new int[]{(Integer) range[0], (Integer) range[1]};
+        });
+    }
+
+    @Override
+    public void scanFolios(int fromId, int toId, Consumer<Folio> handler) {
+        read(session -> {
+            session.doWork(connection -> {
+                try (PreparedStatement select = connection.prepareStatement(FOLIO_CHARGES)) {
+                    select.setInt(1, fromId);
+                    select.setInt(2, toId);
+                    select.setInt(3, fromId);
+                    select.setInt(4, toId);
+                    select.setFetchSize(SCAN_FETCH_SIZE);
+                    try (ResultSet rows = select.executeQuery()) {
+                        boolean more = rows.next();
+                        while (more) {
+                            int customerId = rows.getInt(1);
+                            String name = rows.getString(2);
+                            String address = rows.getString(3);
+                            Integer roomNo = rows.getObject(4, Integer.class);
+                            String location = rows.getString(5);
+                            List<Folio.Charge> charges = new ArrayList<>();
+                            do {
+                                Timestamp issuedAt = rows.getTimestamp(10);
+                                charges.add(new Folio.Charge(rows.getInt(6) == 0 ? Folio.Kind.BILL : Folio.Kind.FOOD,
+                                        rows.getInt(7), rows.getString(8), Money.ofMinor(rows.getLong(9)),
+                                        issuedAt != null ? issuedAt.toLocalDateTime() : null));
+                                more = rows.next();
+                            } while (more && rows.getInt(1) == customerId);
+                            handler.accept(new Folio(customerId, name, address, roomNo, location, charges));
+                        }
+                    }
+                }
+            });
+            return null;
+        });
     }
 
     @Override
-    public List<Customer> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from Customer", Customer.class).list();
+    protected void afterSave(Collection<Customer> customers) {
+        CustomerSearchIndex index = CustomerSearchIndex.getInstance();
+        for (Customer customer : customers) {
+            index.put(customer.getId(), customer.getName(), customer.getAddress(), customer.getPhone());
         }
     }
+
+    @Override
+    protected void afterDelete(Collection<Customer> customers) {
+        customers.forEach(customer -> CustomerSearchIndex.getInstance().remove(customer.getId()));
+    }
 }
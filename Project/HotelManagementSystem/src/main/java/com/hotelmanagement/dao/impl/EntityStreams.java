@@ -0,0 +1,74 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Shared by the *DAOImpl streamAll: a read-only ScrollableResults read FETCH_SIZE rows at a time.
+// The cursor lives in its own transaction so that secondary selects (eager associations)
+// do not end the statement and close the result set under it.
+// Already returned entities are evicted every FETCH_SIZE rows, so the session does not grow.
+final class EntityStreams {
+
+    static final int FETCH_SIZE = 500;
+
+    private EntityStreams() {}
+
+    static <T> Stream<T> stream(String hql, Class<T> type) {
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        try {
+            Transaction tx = session.beginTransaction();
+            ScrollableResults<T> results = session.createQuery(hql, type)
+                    .setReadOnly(true)
+                    .setFetchSize(FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            return StreamSupport.stream(new ScrollSpliterator<>(session, results), false)
+                    .onClose(() -> {
+                        try {
+                            results.close();
+                            tx.rollback(); // read-only, nothing to commit
+                        } finally {
+                            session.close();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private static final class ScrollSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Session session;
+        private final ScrollableResults<T> results;
+        private int rowsSinceClear;
+
+        ScrollSpliterator(Session session, ScrollableResults<T> results) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.session = session;
+            this.results = results;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (rowsSinceClear == FETCH_SIZE) {
+                session.clear();
+                rowsSinceClear = 0;
+            }
+            if (!results.next()) {
+                return false;
+            }
+            rowsSinceClear++;
+            action.accept(results.get());
+            return true;
+        }
+    }
+}
@@ -2,64 +2,54 @@ package com.hotelmanagement.dao.impl;
 
 import com.hotelmanagement.dao.FoodItemDAO;
 import com.hotelmanagement.entity.FoodItem;
-import com.hotelmanagement.util.HibernateUtil;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 
+import java.sql.PreparedStatement;
+import java.util.Collection;
 import java.util.List;
 
-public class FoodItemDAOImpl implements FoodItemDAO {
+public class FoodItemDAOImpl extends AbstractDAO<FoodItem> implements FoodItemDAO {
 
-    @Override
-    public void save(FoodItem foodItem) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.persist(foodItem);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
-    }
+    // Query cache region, configured in application.conf
+    private static final String REFERENCE_QUERIES = "reference-queries";
+    private static final String INSERT_ORDER = "insert into customer_food (customer_id, food_id) values (?, ?)";
 
-    @Override
-    public void update(FoodItem foodItem) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.merge(foodItem);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public FoodItemDAOImpl() {
+        super(FoodItem.class);
     }
 
     @Override
-    public void delete(FoodItem foodItem) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.remove(foodItem);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public List<FoodItem> findAll() {
+        return read(session -> session.createQuery("from FoodItem", FoodItem.class)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_QUERIES)
+                .list());
     }
 
     @Override
-    public FoodItem findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(FoodItem.class, id);
-        }
+    public void addOrder(int customerId, int foodItemId) {
+        addOrders(List.of(new OrderLine(customerId, foodItemId)));
     }
 
     @Override
-    public List<FoodItem> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from FoodItem", FoodItem.class).list();
+    public void addOrders(Collection<OrderLine> orders) {
+        if (orders.isEmpty()) {
+            return;
         }
+        write(session -> session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ORDER)) {
+                int count = 0;
+                for (OrderLine order : orders) {
+                    insert.setInt(1, order.customerId());
+                    insert.setInt(2, order.foodItemId());
+                    insert.addBatch();
+                    if (++count % BatchWriter.BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                if (count % BatchWriter.BATCH_SIZE != 0) {
+                    insert.executeBatch();
+                }
+            }
+        }));
     }
 }
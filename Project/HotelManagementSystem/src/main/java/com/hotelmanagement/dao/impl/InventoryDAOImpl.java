@@ -0,0 +1,117 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.dao.InventoryDAO;
+import com.hotelmanagement.dao.projection.StockLevel;
+import com.hotelmanagement.entity.Inventory;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Stock moves are bulk UPDATEs that bypass the Inventory entities: an Inventory already loaded
+// in the same session keeps its old quantity (read a StockLevel instead).
+public class InventoryDAOImpl extends AbstractDAO<Inventory> implements InventoryDAO {
+
+    private static final String STOCK_LEVEL = "select new com.hotelmanagement.dao.projection.StockLevel("
+            + "i.id, i.itemName, i.quantity, i.lowStockThreshold) from Inventory i";
+
+    public InventoryDAOImpl() {
+        super(Inventory.class);
+    }
+
+    @Override
+    public Inventory findByItemName(String itemName) {
+        return read(session -> session.createQuery("from Inventory i where i.itemName = :itemName", Inventory.class)
+                .setParameter("itemName", itemName)
+                .setMaxResults(1)
+                .uniqueResult());
+    }
+
+    @Override
+    public StockLevel decrement(int itemId, int amount) {
+        checkAmount(amount);
+        return TransactionTemplate.inTransaction(session ->
+                take(session, itemId, amount) ? stockLevel(session, itemId) : null);
+    }
+
+    @Override
+    public List<StockLevel> decrementAll(Map<Integer, Integer> amountsByItem) {
+        amountsByItem.values().forEach(InventoryDAOImpl::checkAmount);
+        Map<Integer, Integer> inIdOrder = new TreeMap<>(amountsByItem);
+        return TransactionTemplate.inTransaction(session -> {
+            List<Integer> taken = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> item : inIdOrder.entrySet()) {
+                if (!take(session, item.getKey(), item.getValue())) {
+                    // Put back rather than throw, which would roll back the caller's whole unit of work
+                    for (int itemId : taken) {
+                        give(session, itemId, inIdOrder.get(itemId));
+                    }
+                    return List.of();
+                }
+                taken.add(item.getKey());
+            }
+            List<StockLevel> levels = new ArrayList<>(taken.size());
+            for (int itemId : taken) {
+                levels.add(stockLevel(session, itemId));
+            }
+            return levels;
+        });
+    }
+
+    @Override
+    public StockLevel increment(int itemId, int amount) {
+        checkAmount(amount);
+        return TransactionTemplate.inTransaction(session ->
+                give(session, itemId, amount) ? stockLevel(session, itemId) : null);
+    }
+
+    @Override
+    public StockLevel findStockLevel(int itemId) {
+        return read(session -> stockLevel(session, itemId));
+    }
+
+    @Override
+    public List<StockLevel> findStockLevels() {
+        return read(session -> session.createQuery(STOCK_LEVEL + " order by i.id", StockLevel.class).list());
+    }
+
+    @Override
+    public List<StockLevel> findLowStock() {
+        return read(session -> session.createQuery(
+                        STOCK_LEVEL + " where i.quantity <= i.lowStockThreshold order by i.quantity, i.id",
+                        StockLevel.class)
+                .list());
+    }
+
+    // The check and the write are one statement: the row lock orders concurrent callers and
+    // each re-evaluates the condition against the committed quantity
+    private static boolean take(Session session, int itemId, int amount) {
+        return session.createMutationQuery("update Inventory i set i.quantity = i.quantity - :amount "
+                        + "where i.id = :id and i.quantity >= :amount")
+                .setParameter("amount", amount)
+                .setParameter("id", itemId)
+                .executeUpdate() == 1;
+    }
+
+    private static boolean give(Session session, int itemId, int amount) {
+        return session.createMutationQuery("update Inventory i set i.quantity = i.quantity + :amount where i.id = :id")
+                .setParameter("amount", amount)
+                .setParameter("id", itemId)
+                .executeUpdate() == 1;
+    }
+
+    private static StockLevel stockLevel(Session session, int itemId) {
+        return session.createQuery(STOCK_LEVEL + " where i.id = :id", StockLevel.class)
+                .setParameter("id", itemId)
+                .uniqueResult();
+    }
+
+    private static void checkAmount(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Stock amount must be positive: " + amount);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.dao.JournalCheckpointDAO;
+import com.hotelmanagement.util.TransactionTemplate;
+
+public class JournalCheckpointDAOImpl implements JournalCheckpointDAO {
+
+    @Override
+    public long findLastSequence(String journal) {
+        Long sequence = TransactionTemplate.read(session -> session.createNativeQuery(
+                        "select last_sequence from journal_checkpoint where journal = :journal", Long.class)
+                .setParameter("journal", journal)
+                .uniqueResult());
+        return sequence == null ? 0 : sequence;
+    }
+
+    @Override
+    public void saveLastSequence(String journal, long sequence) {
+        TransactionTemplate.runInTransaction(session -> {
+            int updated = session.createNativeMutationQuery(
+                            "update journal_checkpoint set last_sequence = :sequence where journal = :journal")
+                    .setParameter("sequence", sequence)
+                    .setParameter("journal", journal)
+                    .executeUpdate();
+            if (updated == 0) {
+                session.createNativeMutationQuery(
+                                "insert into journal_checkpoint (journal, last_sequence) values (:journal, :sequence)")
+                        .setParameter("journal", journal)
+                        .setParameter("sequence", sequence)
+                        .executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.cache.RoomOccupancyIndex;
+import com.hotelmanagement.dao.ReservationDAO;
+import com.hotelmanagement.entity.Reservation;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public class ReservationDAOImpl extends AbstractDAO<Reservation> implements ReservationDAO {
+
+    public ReservationDAOImpl() {
+        super(Reservation.class);
+    }
+
+    @Override
+    public boolean existsOverlapping(int roomNo, LocalDate from, LocalDate to) {
+        return read(session -> session.createQuery(
+                        "select count(r) from Reservation r "
+                                + "where r.room.roomNo = :roomNo and r.status <> :cancelled "
+                                + "and r.checkIn < :to and r.checkOut > :from", Long.class)
+                .setParameter("roomNo", roomNo)
+                .setParameter("cancelled", Reservation.Status.CANCELLED)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getSingleResult() > 0);
+    }
+
+    @Override
+    protected void afterSave(Collection<Reservation> reservations) {
+        RoomOccupancyIndex index = RoomOccupancyIndex.getInstance();
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() == Reservation.Status.CANCELLED) {
+                index.remove(reservation.getId());
+            } else {
+                index.put(reservation.getId(), reservation.getRoom().getRoomNo(),
+                        reservation.getCheckIn(), reservation.getCheckOut());
+            }
+        }
+    }
+
+    @Override
+    protected void afterDelete(Collection<Reservation> reservations) {
+        reservations.forEach(r -> RoomOccupancyIndex.getInstance().remove(r.getId()));
+    }
+}
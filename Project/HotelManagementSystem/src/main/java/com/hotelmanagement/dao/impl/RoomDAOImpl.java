@@ -1,65 +1,115 @@
 package com.hotelmanagement.dao.impl;
 
+import com.hotelmanagement.cache.RoomAvailabilityCache;
+import com.hotelmanagement.cache.RoomOccupancyIndex;
 import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.entity.Customer;
 import com.hotelmanagement.entity.Room;
-import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.hibernate.CacheMode;
+import org.hibernate.LockMode;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
-public class RoomDAOImpl implements RoomDAO {
+public class RoomDAOImpl extends AbstractDAO<Room> implements RoomDAO {
+
+    // Query cache region, configured in application.conf
+    private static final String REFERENCE_QUERIES = "reference-queries";
+
+    public RoomDAOImpl() {
+        super(Room.class);
+    }
 
     @Override
-    public void save(Room room) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.persist(room);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public List<Room> findAll() {
+        return read(session -> session.createQuery("from Room", Room.class)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_QUERIES)
+                .list());
     }
 
+    // Propagates OptimisticLockException / StaleStateException when a concurrent booking won
     @Override
-    public void update(Room room) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.merge(room);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public boolean assignToCustomer(int roomNo, int customerId) {
+        return TransactionTemplate.inTransaction(refreshing(session -> {
+            Room room = session.get(Room.class, roomNo);
+            // select ... for update: bookings of the same customer run one after the other
+            Customer customer = session.get(Customer.class, customerId, LockMode.PESSIMISTIC_WRITE);
+            if (room == null || customer == null || !room.isAvailable()) {
+                return false;
+            }
+            Room previous = customer.getRoom();
+            if (previous != null && !previous.isAvailable() && session.createQuery(
+                            "select count(c) from Customer c where c.room = :room and c.id <> :id", Long.class)
+                    .setParameter("room", previous)
+                    .setParameter("id", customerId)
+                    .getSingleResult() == 0) {
+                previous.setAvailable(true); // moving out: the room held only this customer
+                TransactionTemplate.afterCommit(() -> RoomAvailabilityCache.getInstance().onSaved(previous));
+            }
+            room.setAvailable(false);
+            customer.setRoom(room); // update rooms ... where room_no = ? and version = ? at commit
+            TransactionTemplate.afterCommit(() -> RoomAvailabilityCache.getInstance().onSaved(room));
+            return true;
+        }));
     }
 
     @Override
-    public void delete(Room room) {
-        Transaction tx = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            session.remove(room);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx != null) tx.rollback();
-            e.printStackTrace();
-        }
+    public boolean release(int roomNo) {
+        return TransactionTemplate.inTransaction(refreshing(session -> {
+            Room room = session.get(Room.class, roomNo);
+            if (room == null || room.isAvailable()) {
+                return false;
+            }
+            room.setAvailable(true);
+            TransactionTemplate.afterCommit(() -> RoomAvailabilityCache.getInstance().onSaved(room));
+            return true;
+        }));
     }
 
     @Override
-    public Room findById(int id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.get(Room.class, id);
-        }
+    public List<Room> findAvailable() {
+        return read(session -> session.createQuery("from Room r where r.available = true", Room.class)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_QUERIES)
+                .list());
     }
 
     @Override
-    public List<Room> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from Room", Room.class).list();
-        }
+    public List<Room> findAvailableByLocation(String location) {
+        return read(session -> session.createQuery(
+                        "from Room r where r.available = true and r.location = :location", Room.class)
+                .setParameter("location", location)
+                .setCacheable(true)
+                .setCacheRegion(REFERENCE_QUERIES)
+                .list());
+    }
+
+    @Override
+    protected void afterSave(Collection<Room> rooms) {
+        rooms.forEach(RoomAvailabilityCache.getInstance()::onSaved);
+        RoomOccupancyIndex.getInstance().addRooms(rooms.stream().mapToInt(Room::getRoomNo).toArray());
+    }
+
+    @Override
+    protected void afterDelete(Collection<Room> rooms) {
+        rooms.forEach(RoomAvailabilityCache.getInstance()::onDeleted);
+        rooms.forEach(room -> RoomOccupancyIndex.getInstance().removeRoom(room.getRoomNo()));
+    }
+
+    // Always read the current version from the database, not from the second-level cache
+    private static <R> Function<Session, R> refreshing(Function<Session, R> work) {
+        return session -> {
+            CacheMode previous = session.getCacheMode();
+            session.setCacheMode(CacheMode.REFRESH);
+            try {
+                return work.apply(session);
+            } finally {
+                session.setCacheMode(previous);
+            }
+        };
     }
 }
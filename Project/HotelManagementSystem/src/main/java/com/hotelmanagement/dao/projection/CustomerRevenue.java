@@ -0,0 +1,12 @@
+package com.hotelmanagement.dao.projection;
+
+import com.hotelmanagement.entity.Money;
+
+// Read-only projection row: revenue of one customer (not a managed entity)
+public record CustomerRevenue(int customerId, String customerName, long billCount, Money total) {
+
+    // For the HQL constructor expression: sum(b.amount) is the sum of the minor units
+    public CustomerRevenue(int customerId, String customerName, long billCount, long totalMinor) {
+        this(customerId, customerName, billCount, Money.ofMinor(totalMinor));
+    }
+}
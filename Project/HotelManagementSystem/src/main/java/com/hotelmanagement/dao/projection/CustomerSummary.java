@@ -0,0 +1,5 @@
+package com.hotelmanagement.dao.projection;
+
+// Read-only projection row: one customer with its room (null when none) and number of bills
+public record CustomerSummary(int id, String name, String address, String phone, Integer roomNo, long billCount) {
+}
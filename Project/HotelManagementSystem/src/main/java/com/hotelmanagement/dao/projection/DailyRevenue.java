@@ -0,0 +1,14 @@
+package com.hotelmanagement.dao.projection;
+
+import com.hotelmanagement.entity.Money;
+
+import java.time.LocalDate;
+
+// Read-only projection row: revenue of one calendar day (not a managed entity)
+public record DailyRevenue(LocalDate day, long billCount, Money total) {
+
+    // For the HQL constructor expression: sum(b.amount) is the sum of the minor units
+    public DailyRevenue(LocalDate day, long billCount, long totalMinor) {
+        this(day, billCount, Money.ofMinor(totalMinor));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotelmanagement.dao.projection;
+
+import com.hotelmanagement.entity.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Read-only projection: the charges of one customer, with the room (null when none) and exact totals
+public record Folio(int customerId, String customerName, String address, Integer roomNo, String roomLocation,
+                    List<Charge> charges, Money billTotal, Money foodTotal, Money total) {
+
+    public enum Kind { BILL, FOOD }
+
+    // reference is the bill number or the food item id; description and issuedAt are null when unknown
+    public record Charge(Kind kind, int reference, String description, Money amount, LocalDateTime issuedAt) {
+    }
+
+    public Folio(int customerId, String customerName, String address, Integer roomNo, String roomLocation,
+                 List<Charge> charges) {
+        this(customerId, customerName, address, roomNo, roomLocation, charges,
+                sum(charges, Kind.BILL), sum(charges, Kind.FOOD), sum(charges, null));
+    }
+
+    private static Money sum(List<Charge> charges, Kind kind) {
+        long minor = 0;
+        for (Charge charge : charges) {
+            if (kind == null || charge.kind() == kind) {
+                minor = Math.addExact(minor, charge.amount().minorUnits());
+            }
+        }
+        return Money.ofMinor(minor);
+    }
+}
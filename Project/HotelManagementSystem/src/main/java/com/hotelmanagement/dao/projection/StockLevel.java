@@ -0,0 +1,9 @@
+package com.hotelmanagement.dao.projection;
+
+// Read-only projection row: stock of one inventory item (not a managed entity)
+public record StockLevel(int itemId, String itemName, int quantity, int lowStockThreshold) {
+
+    public boolean isLow() {
+        return quantity <= lowStockThreshold;
+    }
+}
@@ -1,16 +1,24 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bills")
+@Table(name = "bills", indexes = @Index(name = "idx_bills_issued_at", columnList = "issued_at"))
 public class Bill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billSeq")
+    @SequenceGenerator(name = "billSeq", sequenceName = "bills_seq", allocationSize = 50)
     private int billNo;
 
-    private double amount;
+    // Minor units (cents) in a BIGINT, see Money
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount_minor", nullable = false)
+    private Money amount = Money.ZERO;
+
+    @Column(name = "issued_at")
+    private LocalDateTime issuedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
@@ -18,17 +26,28 @@ public class Bill {
 
     public Bill() {}
 
-    public Bill(double amount, Customer customer) {
+    public Bill(Money amount, Customer customer) {
         this.amount = amount;
         this.customer = customer;
+        this.issuedAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    private void onCreate() {
+        if (issuedAt == null) {
+            issuedAt = LocalDateTime.now();
+        }
     }
 
     // Getters and Setters
     public int getBillNo() { return billNo; }
     public void setBillNo(int billNo) { this.billNo = billNo; }
 
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+    public void setIssuedAt(LocalDateTime issuedAt) { this.issuedAt = issuedAt; }
 
     public Customer getCustomer() { return customer; }
     public void setCustomer(Customer customer) { this.customer = customer; }
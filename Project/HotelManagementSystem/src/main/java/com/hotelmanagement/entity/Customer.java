@@ -4,22 +4,37 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_name", columnList = "name, id"),
+        @Index(name = "idx_customers_phone", columnList = "phone")
+})
+// Fetch plans: associations are lazy, callers pick what to load (see CustomerDAO.GRAPH_*)
+@NamedEntityGraph(name = "Customer.bills", attributeNodes = @NamedAttributeNode("bills"))
+@NamedEntityGraph(name = "Customer.room", attributeNodes = @NamedAttributeNode("room"))
+@NamedEntityGraph(name = "Customer.foodItems", attributeNodes = @NamedAttributeNode("foodItems"))
+@NamedEntityGraph(name = "Customer.folio", attributeNodes = {
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("bills")
+})
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customerSeq")
+    @SequenceGenerator(name = "customerSeq", sequenceName = "customers_seq", allocationSize = 50)
     private int id;
 
     private String name;
     private String address;
-    private int telNo;
 
-    @ManyToOne
+    // Normalized on the way in, see normalizePhone
+    @Column(length = 32)
+    private String phone;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id")
     private Room room;
 
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     private List<Bill> bills;
 
     @ManyToMany(cascade = CascadeType.ALL)
@@ -32,10 +47,10 @@ public class Customer {
 
     public Customer() {}
 
-    public Customer(String name, String address, int telNo) {
+    public Customer(String name, String address, String phone) {
         this.name = name;
         this.address = address;
-        this.telNo = telNo;
+        this.phone = normalizePhone(phone);
     }
 
     // Getters and Setters
@@ -48,8 +63,8 @@ public class Customer {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
-    public int getTelNo() { return telNo; }
-    public void setTelNo(int telNo) { this.telNo = telNo; }
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = normalizePhone(phone); }
 
     public Room getRoom() { return room; }
     public void setRoom(Room room) { this.room = room; }
@@ -59,4 +74,19 @@ public class Customer {
 
     public List<FoodItem> getFoodItems() { return foodItems; }
     public void setFoodItems(List<FoodItem> foodItems) { this.foodItems = foodItems; }
+
+    // Digits only, with the leading '+' of an international number: "+212 (6) 12-34.56" -> "+2126123456"
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9' || c == '+' && digits.length() == 0) {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
+    }
 }
@@ -1,25 +1,32 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "food_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "food_items")
 public class FoodItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "foodItemSeq")
+    @SequenceGenerator(name = "foodItemSeq", sequenceName = "food_items_seq", allocationSize = 50)
     private int id;
 
     private String name;
-    private double price;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "price_minor", nullable = false)
+    private Money price = Money.ZERO;
 
     @ManyToMany(mappedBy = "foodItems")
     private List<Customer> customers;
 
     public FoodItem() {}
 
-    public FoodItem(String name, double price) {
+    public FoodItem(String name, Money price) {
         this.name = name;
         this.price = price;
     }
@@ -31,8 +38,8 @@ public class FoodItem {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
-    public double getPrice() { return price; }
-    public void setPrice(double price) { this.price = price; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
 
     public List<Customer> getCustomers() { return customers; }
     public void setCustomers(List<Customer> customers) { this.customers = customers; }
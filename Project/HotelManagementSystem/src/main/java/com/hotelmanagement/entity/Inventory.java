@@ -1,23 +1,36 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Check;
 
 @Entity
 @Table(name = "inventory")
+// Stock changes go through InventoryDAO.decrement/increment (conditional UPDATEs), never below zero
+@Check(name = "ck_inventory_quantity", constraints = "quantity >= 0")
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventorySeq")
+    @SequenceGenerator(name = "inventorySeq", sequenceName = "inventory_seq", allocationSize = 50)
     private int id;
 
     private String itemName;
     private int quantity;
 
+    // A decrement that leaves quantity at or below this raises a low-stock alert (InventoryService)
+    @Column(name = "low_stock_threshold", nullable = false)
+    private int lowStockThreshold;
+
     public Inventory() {}
 
     public Inventory(String itemName, int quantity) {
+        this(itemName, quantity, 0);
+    }
+
+    public Inventory(String itemName, int quantity, int lowStockThreshold) {
         this.itemName = itemName;
         this.quantity = quantity;
+        this.lowStockThreshold = lowStockThreshold;
     }
 
     // Getters and Setters
@@ -29,4 +42,7 @@ public class Inventory {
 
     public int getQuantity() { return quantity; }
     public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public int getLowStockThreshold() { return lowStockThreshold; }
+    public void setLowStockThreshold(int lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
 }
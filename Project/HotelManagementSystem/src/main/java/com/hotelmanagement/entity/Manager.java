@@ -1,13 +1,18 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "managers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "managers")
 public class Manager {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "managerSeq")
+    @SequenceGenerator(name = "managerSeq", sequenceName = "managers_seq", allocationSize = 50)
     private int id;
 
     private String name;
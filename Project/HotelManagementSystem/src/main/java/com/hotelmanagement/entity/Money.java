@@ -0,0 +1,138 @@
+package com.hotelmanagement.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Fixed-point amount of money: a long count of minor units (cents) plus a currency.
+ * Stored as a BIGINT of minor units (see MoneyConverter), so sums in SQL and in memory
+ * are exact long additions instead of accumulating double rounding errors.
+ *
+ * The hotel works in one currency, CURRENCY (-Dhotel.currency, default USD).
+ * Hot paths (aggregations, columnar scans) work on the minor units as primitive longs;
+ * the static parseMinor / appendTo helpers convert text without a BigDecimal.
+ * Serializable because the second-level cache stores entity state (FoodItem.price) by value.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money>, Serializable {
+
+    public static final Currency CURRENCY = Currency.getInstance(System.getProperty("hotel.currency", "USD"));
+    public static final Money ZERO = new Money(0, CURRENCY);
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Money needs a currency");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, CURRENCY);
+    }
+
+    // Exact: "12.5" and "12.50" are 1250 cents; more decimals than the currency has are rejected
+    public static Money of(String amount) {
+        return ofMinor(parseMinor(amount, fractionDigits(CURRENCY)));
+    }
+
+    // Rounded to the nearest minor unit; for literals and legacy double inputs only
+    public static Money of(double amount) {
+        return ofMinor(Math.round(amount * POWERS_OF_TEN[fractionDigits(CURRENCY)]));
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    // Plain decimal, without the currency: 1250 cents -> "12.50"
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24), minorUnits, fractionDigits(currency)).toString();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    // --- primitive helpers ---
+
+    public static int fractionDigits(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    public static long parseMinor(CharSequence amount, int fractionDigits) {
+        int length = amount.length();
+        int i = 0;
+        boolean negative = length > 0 && amount.charAt(0) == '-';
+        if (negative || (length > 0 && amount.charAt(0) == '+')) {
+            i++;
+        }
+        long units = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < length; i++) {
+            char c = amount.charAt(i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (decimals >= 0 && ++decimals > fractionDigits) {
+                    throw new NumberFormatException("Too many decimals for the currency: " + amount);
+                }
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+                digits = true;
+            } else {
+                throw new NumberFormatException("Not an amount: " + amount);
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not an amount: " + amount);
+        }
+        units = Math.multiplyExact(units, POWERS_OF_TEN[fractionDigits - Math.max(decimals, 0)]);
+        return negative ? -units : units;
+    }
+
+    public static StringBuilder appendTo(StringBuilder out, long minorUnits, int fractionDigits) {
+        if (minorUnits < 0) {
+            out.append('-');
+        }
+        long scale = POWERS_OF_TEN[fractionDigits];
+        long units = Math.abs(minorUnits / scale);
+        long fraction = Math.abs(minorUnits % scale);
+        out.append(units);
+        if (fractionDigits > 0) {
+            out.append('.');
+            for (long digit = scale / 10; digit > fraction && digit > 1; digit /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+        return out;
+    }
+}
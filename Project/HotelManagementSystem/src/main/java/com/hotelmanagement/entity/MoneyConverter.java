@@ -0,0 +1,25 @@
+package com.hotelmanagement.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Money <-> BIGINT of minor units, in the hotel currency (Money.CURRENCY)
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        if (!Money.CURRENCY.equals(money.currency())) {
+            throw new IllegalArgumentException("Amounts are stored in " + Money.CURRENCY + ", not " + money.currency());
+        }
+        return money.minorUnits();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long minorUnits) {
+        return minorUnits == null ? null : Money.ofMinor(minorUnits);
+    }
+}
@@ -1,13 +1,18 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "receptionists")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "receptionists")
 public class Receptionist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "receptionistSeq")
+    @SequenceGenerator(name = "receptionistSeq", sequenceName = "receptionists_seq", allocationSize = 50)
     private int id;
 
     private String name;
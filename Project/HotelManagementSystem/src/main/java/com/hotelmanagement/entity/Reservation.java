@@ -0,0 +1,70 @@
+package com.hotelmanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_room_dates", columnList = "room_no, check_in, check_out"),
+        @Index(name = "idx_reservations_check_in", columnList = "check_in")
+})
+public class Reservation {
+
+    public enum Status { PENDING, CONFIRMED, CANCELLED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservationSeq")
+    @SequenceGenerator(name = "reservationSeq", sequenceName = "reservations_seq", allocationSize = 50)
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_no", nullable = false)
+    private Room room;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id")
+    private Customer customer;
+
+    // Stay is [checkIn, checkOut): the room is free again on the check-out day
+    @Column(name = "check_in", nullable = false)
+    private LocalDate checkIn;
+
+    @Column(name = "check_out", nullable = false)
+    private LocalDate checkOut;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private Status status = Status.PENDING;
+
+    public Reservation() {}
+
+    public Reservation(Room room, Customer customer, LocalDate checkIn, LocalDate checkOut) {
+        this.room = room;
+        this.customer = customer;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public int getNights() {
+        return (int) (checkOut.toEpochDay() - checkIn.toEpochDay());
+    }
+
+    // Getters and Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public Room getRoom() { return room; }
+    public void setRoom(Room room) { this.room = room; }
+
+    public Customer getCustomer() { return customer; }
+    public void setCustomer(Customer customer) { this.customer = customer; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+}
@@ -1,10 +1,14 @@
 package com.hotelmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = @Index(name = "idx_rooms_available_location", columnList = "available, location"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
 public class Room {
 
     @Id
@@ -17,6 +21,11 @@ public class Room {
     @Column(name = "available")
     private boolean available;
 
+    // Optimistic lock: concurrent bookings of the same room cannot both commit
+    @Version
+    @Column(name = "version")
+    private int version;
+
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL)
     private List<Customer> customers;
 
@@ -38,6 +47,9 @@ public class Room {
     public boolean isAvailable() { return available; }
     public void setAvailable(boolean available) { this.available = available; }
 
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
     public List<Customer> getCustomers() { return customers; }
     public void setCustomers(List<Customer> customers) { this.customers = customers; }
 }
@@ -0,0 +1,410 @@
+package com.hotelmanagement.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of HotelEvents in memory-mapped segment files.
+ *
+ * A directory of segments named after the sequence of their first event
+ * (00000000000000000001.log), segmentBytes each, mapped once when created. A record is
+ * [CRC32C of the rest][sequence][event], RECORD_BYTES long. On open each segment is read
+ * until the first record whose CRC or sequence is wrong: that is the end of the journal
+ * (the zero-filled rest of the last segment, or a record torn by a crash), and whatever
+ * follows it is zeroed so that it can never be read back as a valid record.
+ *
+ * Group commit: append() copies the record into the mapping (the page cache, so it survives
+ * a crash of the JVM) and returns its sequence. One sync thread forces the pages written
+ * since its previous pass and publishes the durable sequence; awaitDurable(sequence) parks
+ * until the sequence is covered. Writers waiting together share one force, so the more
+ * writers, the more events per fsync. Events nobody waits for are forced within syncInterval.
+ */
+public final class EventJournal implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface EventHandler {
+        void on(long sequence, HotelEvent event);
+    }
+
+    private static final Logger LOG = Logger.getLogger(EventJournal.class.getName());
+
+    public static final int RECORD_BYTES = 4 + 8 + HotelEvent.BYTES;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long syncIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition unsynced = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Guarded by lock
+    private final List<Segment> segments = new ArrayList<>(); // oldest first
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private long lastSequence;
+    private long durableSequence;
+    private long syncCount;
+    private int syncWaiters;
+    private boolean closed;
+
+    private final Thread syncer;
+
+    private static final class Segment {
+        final long firstSequence;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        int position;       // next record, guarded by lock
+        int syncedPosition; // forced up to, guarded by lock
+
+        Segment(long firstSequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity() / RECORD_BYTES * RECORD_BYTES;
+        }
+    }
+
+    private EventJournal(Path directory, int segmentBytes, long syncIntervalMillis) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(RECORD_BYTES, segmentBytes / RECORD_BYTES * RECORD_BYTES);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.syncer = new Thread(this::syncLoop, "event-journal-sync");
+        this.syncer.setDaemon(true);
+    }
+
+    // Opens (or creates) the journal in directory and recovers its end
+    public static EventJournal open(Path directory, int segmentBytes, long syncIntervalMillis) {
+        EventJournal journal = new EventJournal(directory, segmentBytes, syncIntervalMillis);
+        try {
+            Files.createDirectories(directory);
+            journal.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the event journal in " + directory, e);
+        }
+        journal.syncer.start();
+        return journal;
+    }
+
+    // Returns the sequence of the event; durable once awaitDurable(sequence) returns
+    public long append(HotelEvent event) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Event journal closed");
+            }
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.position + RECORD_BYTES > segment.capacity) {
+                segment = newSegment(lastSequence + 1);
+            }
+            long sequence = lastSequence + 1;
+            record.clear();
+            record.position(4);
+            record.putLong(sequence);
+            event.writeTo(record);
+            crc.reset();
+            crc.update(record.array(), 4, RECORD_BYTES - 4);
+            record.putInt(0, (int) crc.getValue());
+            segment.buffer.put(segment.position, record.array(), 0, RECORD_BYTES);
+            segment.position += RECORD_BYTES;
+            lastSequence = sequence;
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot add a segment to the event journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Parks until the event of this sequence is on disk, sharing the force with the other waiters
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return;
+            }
+            syncWaiters++;
+            unsynced.signal();
+            while (durableSequence < sequence) {
+                synced.awaitUninterruptibly();
+            }
+            syncWaiters--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reads the events after afterSequence, up to the last one appended when called
+    public void replay(long afterSequence, EventHandler handler) {
+        List<Segment> toRead;
+        List<Integer> ends = new ArrayList<>();
+        lock.lock();
+        try {
+            toRead = List.copyOf(segments);
+            toRead.forEach(segment -> ends.add(segment.position));
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < toRead.size(); i++) {
+            Segment segment = toRead.get(i);
+            long next = i + 1 < toRead.size() ? toRead.get(i + 1).firstSequence : Long.MAX_VALUE;
+            if (next <= afterSequence + 1) {
+                continue; // every event of this segment is before afterSequence
+            }
+            ByteBuffer in = segment.buffer.duplicate();
+            int start = (int) Math.max(0, afterSequence + 1 - segment.firstSequence) * RECORD_BYTES;
+            for (int offset = start; offset < ends.get(i); offset += RECORD_BYTES) {
+                in.position(offset + 4);
+                long sequence = in.getLong();
+                handler.on(sequence, HotelEvent.readFrom(in));
+            }
+        }
+    }
+
+    // Deletes the segments holding only events up to sequence (covered by a snapshot); never the last one
+    public int deleteSegmentsUpTo(long sequence) {
+        List<Segment> deleted = new ArrayList<>();
+        lock.lock();
+        try {
+            while (segments.size() > 1 && segments.get(1).firstSequence <= sequence + 1
+                    && segments.get(0).syncedPosition == segments.get(0).position) {
+                deleted.add(segments.remove(0));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : deleted) {
+            try {
+                segment.channel.close();
+                Files.delete(segment.path); // the mapping lives on until collected, harmless on delete
+            } catch (IOException e) {
+                LOG.warning("Cannot delete journal segment " + segment.path + ": " + e);
+            }
+        }
+        return deleted.size();
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDurableSequence() {
+        lock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Forces done by the sync thread
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Forces what was appended, then releases the files
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unsynced.signal();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (syncer.isAlive()) {
+            try {
+                syncer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                LOG.warning("Cannot close journal segment " + segment.path + ": " + e);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void syncLoop() {
+        List<Segment> dirty = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                long deadline = System.nanoTime() + syncIntervalNanos;
+                while (!closed && syncWaiters == 0
+                        && (lastSequence == durableSequence || System.nanoTime() < deadline)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        deadline = System.nanoTime() + syncIntervalNanos; // nothing written meanwhile
+                        remaining = syncIntervalNanos;
+                    }
+                    unsynced.awaitNanos(remaining);
+                }
+                if (lastSequence == durableSequence) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                target = lastSequence;
+                for (Segment segment : segments) {
+                    if (segment.syncedPosition < segment.position) {
+                        dirty.add(segment);
+                        ranges.add(new int[]{segment.syncedPosition, segment.position});
+                    }
+                }
+            } catch (InterruptedException e) {
+                return; // nobody interrupts the sync thread
+            } finally {
+                lock.unlock();
+            }
+
+            for (int i = 0; i < dirty.size(); i++) {
+                int[] range = ranges.get(i);
+                dirty.get(i).buffer.force(range[0], range[1] - range[0]);
+            }
+
+            lock.lock();
+            try {
+                for (int i = 0; i < dirty.size(); i++) {
+                    dirty.get(i).syncedPosition = ranges.get(i)[1];
+                }
+                durableSequence = target;
+                syncCount++;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            dirty.clear();
+            ranges.clear();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        long expected = -1;
+        boolean ended = false;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            if (ended || (expected != -1 && firstSequence != expected)) {
+                // After a segment that is not full (its end, or a torn record) nothing can be trusted
+                LOG.warning("Event journal: dropping segment " + file + " after sequence " + (expected - 1));
+                Files.delete(file);
+                continue;
+            }
+            Segment segment = map(file, firstSequence, Math.max(segmentBytes, (int) Files.size(file)));
+            segments.add(segment);
+            expected = scan(segment, firstSequence);
+            segment.syncedPosition = segment.position;
+            ended = segment.position < segment.capacity;
+        }
+        if (segments.isEmpty()) {
+            newSegment(1);
+            lastSequence = 0;
+        } else {
+            Segment last = segments.get(segments.size() - 1);
+            lastSequence = last.firstSequence + last.position / RECORD_BYTES - 1;
+        }
+        durableSequence = lastSequence;
+    }
+
+    // Finds the end of a segment and zeroes what is after it; returns the next expected sequence
+    private long scan(Segment segment, long firstSequence) {
+        ByteBuffer in = segment.buffer.duplicate();
+        long sequence = firstSequence;
+        int offset = 0;
+        byte[] bytes = new byte[RECORD_BYTES];
+        while (offset + RECORD_BYTES <= segment.capacity) {
+            in.get(offset, bytes);
+            crc.reset();
+            crc.update(bytes, 4, RECORD_BYTES - 4);
+            ByteBuffer read = ByteBuffer.wrap(bytes);
+            if (read.getInt(0) != (int) crc.getValue() || read.getLong(4) != sequence
+                    || HotelEvent.readFrom(read.position(12)) == null) {
+                break;
+            }
+            sequence++;
+            offset += RECORD_BYTES;
+        }
+        segment.position = offset;
+        boolean zeroed = false;
+        for (int i = offset; i + Long.BYTES <= segment.buffer.capacity(); i += Long.BYTES) {
+            if (segment.buffer.getLong(i) != 0) {
+                segment.buffer.putLong(i, 0);
+                zeroed = true;
+            }
+        }
+        if (zeroed) {
+            segment.buffer.force();
+            LOG.warning("Event journal: discarded an incomplete record after sequence " + (sequence - 1)
+                    + " in " + segment.path);
+        }
+        return sequence;
+    }
+
+    private Segment newSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        Segment segment = map(file, firstSequence, segmentBytes);
+        segments.add(segment);
+        return segment;
+    }
+
+    private static Segment map(Path file, long firstSequence, int bytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(firstSequence, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes));
+    }
+}
@@ -0,0 +1,259 @@
+package com.hotelmanagement.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Event sourcing on top of EventJournal: publish() journals an event and applies it to an
+ * in-memory read model; open() rebuilds the model from the latest snapshot plus the events
+ * journaled after it.
+ *
+ * A snapshot (snapshot-<sequence>.snap, next to the segments) is the model written while
+ * publishing is paused, to a temporary file that is forced then renamed: a crash leaves the
+ * previous snapshot or the new one, never half of one. It is renamed only once the journal is
+ * durable up to its sequence, so a snapshot is never ahead of the journal (open() refuses one
+ * that is: new events would reuse the sequences it covers). The segments it covers are deleted
+ * afterwards, which bounds the replay of the next start.
+ *
+ * Events are applied in journal order under the write lock; query the model with read().
+ * publish() journals whatever it is given; a caller with rules passes them as a predicate,
+ * checked against the model under the same lock, so two publishers cannot both pass it.
+ * A query may see an event before it is durable (a publisher still waiting for its sync).
+ */
+public final class EventStore<M extends EventStore.ReadModel> implements AutoCloseable {
+
+    public interface ReadModel {
+        void apply(HotelEvent event);
+
+        void writeTo(DataOutputStream out) throws IOException;
+
+        // Into an empty model
+        void readFrom(DataInputStream in) throws IOException;
+    }
+
+    private static final Logger LOG = Logger.getLogger(EventStore.class.getName());
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x484F544C; // "HOTL"
+
+    private final Path directory;
+    private final M model;
+    private final EventJournal journal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long snapshotSequence;
+    private final long replayed;
+
+    private EventStore(Path directory, M model, EventJournal journal, long snapshotSequence, long replayed) {
+        this.directory = directory;
+        this.model = model;
+        this.journal = journal;
+        this.snapshotSequence = snapshotSequence;
+        this.replayed = replayed;
+    }
+
+    // Recovers the journal in directory and rebuilds model (which must be empty) from it
+    public static <M extends ReadModel> EventStore<M> open(Path directory, M model, int segmentBytes,
+                                                            long syncIntervalMillis) {
+        EventJournal journal = EventJournal.open(directory, segmentBytes, syncIntervalMillis);
+        long snapshot;
+        try {
+            snapshot = loadSnapshot(directory, model);
+            if (snapshot > journal.getLastSequence()) {
+                throw new IllegalStateException("Snapshot " + snapshot + " in " + directory
+                        + " is ahead of the event journal, which ends at " + journal.getLastSequence()
+                        + ": segments are missing or damaged");
+            }
+        } catch (RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        long[] count = new long[1];
+        journal.replay(snapshot, (sequence, event) -> {
+            model.apply(event);
+            count[0]++;
+        });
+        return new EventStore<>(directory, model, journal, snapshot, count[0]);
+    }
+
+    // Journals and applies the event; durable within the sync interval
+    public long publish(HotelEvent event) {
+        return publish(event, model -> true);
+    }
+
+    // Journals and applies the event if the model, checked under the same lock, accepts it.
+    // Returns its sequence, or 0 when refused (nothing journaled).
+    public long publish(HotelEvent event, Predicate<M> accepts) {
+        lock.writeLock().lock();
+        try {
+            if (!accepts.test(model)) {
+                return 0;
+            }
+            long sequence = journal.append(event);
+            model.apply(event);
+            return sequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns once the event is on disk (group commit with the other publishers)
+    public long publishDurably(HotelEvent event) {
+        return publishDurably(event, model -> true);
+    }
+
+    public long publishDurably(HotelEvent event, Predicate<M> accepts) {
+        long sequence = publish(event, accepts);
+        if (sequence > 0) {
+            journal.awaitDurable(sequence);
+        }
+        return sequence;
+    }
+
+    public <R> R read(Function<M, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(model);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Writes a snapshot of the model, then drops the snapshots and segments it replaces
+    public long snapshot() {
+        long sequence;
+        Path file;
+        Path temporary;
+        lock.readLock().lock(); // publishers wait, readers do not
+        try {
+            sequence = journal.getLastSequence();
+            file = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+            temporary = directory.resolve(file.getFileName() + ".tmp");
+            try (FileOutputStream stream = new FileOutputStream(temporary.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(stream, new CRC32C());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(sequence);
+                model.writeTo(out);
+                out.flush();
+                stream.write(ByteBuffer.allocate(Long.BYTES).putLong(checked.getChecksum().getValue()).array());
+                stream.getChannel().force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write a snapshot in " + directory, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        journal.awaitDurable(sequence); // the snapshot must not be ahead of the journal
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write a snapshot in " + directory, e);
+        }
+        for (Path old : snapshots(directory)) {
+            if (!old.equals(file)) {
+                try {
+                    Files.delete(old);
+                } catch (IOException e) {
+                    LOG.warning("Cannot delete snapshot " + old + ": " + e);
+                }
+            }
+        }
+        journal.deleteSegmentsUpTo(sequence);
+        return sequence;
+    }
+
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    // Sequence of the snapshot loaded by open(), 0 without one
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    // Events replayed by open() after the snapshot
+    public long getReplayedCount() {
+        return replayed;
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    // Loads the newest valid snapshot into model and returns its sequence, 0 when there is none
+    private static long loadSnapshot(Path directory, ReadModel model) {
+        for (Path file : snapshots(directory)) {
+            try {
+                byte[] bytes = Files.readAllBytes(file);
+                if (bytes.length < 4 + 2 * Long.BYTES) {
+                    LOG.warning("Snapshot " + file + " is truncated, trying an older one");
+                    continue;
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(bytes, 0, bytes.length - Long.BYTES);
+                if (ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong() != crc.getValue()) {
+                    LOG.warning("Snapshot " + file + " is damaged, trying an older one");
+                    continue;
+                }
+                DataInputStream in = new DataInputStream(
+                        new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    LOG.warning("Snapshot " + file + " has an unknown format, trying an older one");
+                    continue;
+                }
+                long sequence = in.readLong();
+                model.readFrom(in);
+                return sequence;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read snapshot " + file, e);
+            }
+        }
+        return 0;
+    }
+
+    // Makes a rename in directory durable; not every platform can open a directory (Windows cannot)
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LOG.fine("Cannot force directory " + directory + ": " + e);
+        }
+    }
+
+    // Newest first
+    private static List<Path> snapshots(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hotelmanagement.journal;
+
+import com.hotelmanagement.entity.Money;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One state change of the hotel as journaled: ids and amounts only, no entity, so that it
+ * encodes to a fixed BYTES record. value is the amount in minor units of a bill, the food
+ * item id of an order, unused (0) otherwise.
+ */
+public record HotelEvent(Type type, long timestampMillis, int roomNo, int customerId, long value) {
+
+    public enum Type { ROOM_BOOKED, CHECKED_IN, CHECKED_OUT, BILL_ISSUED, FOOD_ORDERED }
+
+    private static final Type[] TYPES = Type.values();
+
+    // type, timestamp, room, customer, value
+    public static final int BYTES = 1 + 8 + 4 + 4 + 8;
+
+    public static HotelEvent roomBooked(int roomNo, int customerId) {
+        return new HotelEvent(Type.ROOM_BOOKED, System.currentTimeMillis(), roomNo, customerId, 0);
+    }
+
+    public static HotelEvent checkedIn(int roomNo, int customerId) {
+        return new HotelEvent(Type.CHECKED_IN, System.currentTimeMillis(), roomNo, customerId, 0);
+    }
+
+    public static HotelEvent checkedOut(int roomNo, int customerId) {
+        return new HotelEvent(Type.CHECKED_OUT, System.currentTimeMillis(), roomNo, customerId, 0);
+    }
+
+    public static HotelEvent billIssued(int customerId, Money amount) {
+        return new HotelEvent(Type.BILL_ISSUED, System.currentTimeMillis(), 0, customerId, amount.minorUnits());
+    }
+
+    public static HotelEvent foodOrdered(int customerId, int foodItemId) {
+        return new HotelEvent(Type.FOOD_ORDERED, System.currentTimeMillis(), 0, customerId, foodItemId);
+    }
+
+    void writeTo(ByteBuffer out) {
+        out.put((byte) type.ordinal()).putLong(timestampMillis).putInt(roomNo).putInt(customerId).putLong(value);
+    }
+
+    // Null when the type byte is not a known type (a damaged record)
+    static HotelEvent readFrom(ByteBuffer in) {
+        int type = in.get();
+        if (type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        return new HotelEvent(TYPES[type], in.getLong(), in.getInt(), in.getInt(), in.getLong());
+    }
+}
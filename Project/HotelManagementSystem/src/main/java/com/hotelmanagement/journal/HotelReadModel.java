@@ -0,0 +1,143 @@
+package com.hotelmanagement.journal;
+
+import com.hotelmanagement.entity.Money;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The hotel as rebuilt from its events: bookings not checked in yet, occupied rooms, revenue
+ * (in total and per customer) and orders per food item. Not thread-safe, EventStore guards it.
+ * The snapshot writes the maps sorted by key, so two models holding the same state write the
+ * same bytes.
+ */
+public class HotelReadModel implements EventStore.ReadModel {
+
+    // room number -> customer id
+    private final Map<Integer, Integer> bookings = new HashMap<>();
+    private final Map<Integer, Integer> occupants = new HashMap<>();
+    // customer id -> minor units
+    private final Map<Integer, Long> revenueByCustomer = new HashMap<>();
+    // food item id -> orders
+    private final Map<Integer, Long> ordersByFoodItem = new HashMap<>();
+    private final Map<HotelEvent.Type, Long> eventCounts = new EnumMap<>(HotelEvent.Type.class);
+    private long revenue;
+
+    @Override
+    public void apply(HotelEvent event) {
+        switch (event.type()) {
+            case ROOM_BOOKED -> bookings.put(event.roomNo(), event.customerId());
+            case CHECKED_IN -> {
+                bookings.remove(event.roomNo());
+                occupants.put(event.roomNo(), event.customerId());
+            }
+            case CHECKED_OUT -> occupants.remove(event.roomNo());
+            case BILL_ISSUED -> {
+                revenue += event.value();
+                revenueByCustomer.merge(event.customerId(), event.value(), Long::sum);
+            }
+            case FOOD_ORDERED -> ordersByFoodItem.merge((int) event.value(), 1L, Long::sum);
+        }
+        eventCounts.merge(event.type(), 1L, Long::sum);
+    }
+
+    // Whether the event follows from the current state: a room is booked only when it has no
+    // booking and no occupant, checked into by the customer holding its booking and checked out
+    // of by its occupant. Bills and orders always apply. Replay does not check: a journaled
+    // event was accepted when it was published.
+    public boolean accepts(HotelEvent event) {
+        return switch (event.type()) {
+            case ROOM_BOOKED -> !bookings.containsKey(event.roomNo()) && !occupants.containsKey(event.roomNo());
+            case CHECKED_IN -> Integer.valueOf(event.customerId()).equals(bookings.get(event.roomNo()));
+            case CHECKED_OUT -> Integer.valueOf(event.customerId()).equals(occupants.get(event.roomNo()));
+            case BILL_ISSUED, FOOD_ORDERED -> true;
+        };
+    }
+
+    // Room numbers, ascending
+    public List<Integer> getOccupiedRooms() {
+        return occupants.keySet().stream().sorted().toList();
+    }
+
+    // Customer id in the room, null when it is free
+    public Integer getOccupant(int roomNo) {
+        return occupants.get(roomNo);
+    }
+
+    // Customer id holding a booking on the room not checked in yet, null when none
+    public Integer getBooking(int roomNo) {
+        return bookings.get(roomNo);
+    }
+
+    public Money getRevenue() {
+        return Money.ofMinor(revenue);
+    }
+
+    public Money getRevenue(int customerId) {
+        return Money.ofMinor(revenueByCustomer.getOrDefault(customerId, 0L));
+    }
+
+    public long getOrders(int foodItemId) {
+        return ordersByFoodItem.getOrDefault(foodItemId, 0L);
+    }
+
+    public long getEventCount(HotelEvent.Type type) {
+        return eventCounts.getOrDefault(type, 0L);
+    }
+
+    @Override
+    public void writeTo(DataOutputStream out) throws IOException {
+        writeInts(out, bookings);
+        writeInts(out, occupants);
+        writeLongs(out, revenueByCustomer);
+        writeLongs(out, ordersByFoodItem);
+        out.writeLong(revenue);
+        for (HotelEvent.Type type : HotelEvent.Type.values()) {
+            out.writeLong(getEventCount(type));
+        }
+    }
+
+    @Override
+    public void readFrom(DataInputStream in) throws IOException {
+        for (int i = in.readInt(); i > 0; i--) {
+            bookings.put(in.readInt(), in.readInt());
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            occupants.put(in.readInt(), in.readInt());
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            revenueByCustomer.put(in.readInt(), in.readLong());
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            ordersByFoodItem.put(in.readInt(), in.readLong());
+        }
+        revenue = in.readLong();
+        for (HotelEvent.Type type : HotelEvent.Type.values()) {
+            long count = in.readLong();
+            if (count > 0) {
+                eventCounts.put(type, count);
+            }
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, Map<Integer, Integer> map) throws IOException {
+        out.writeInt(map.size());
+        for (Integer key : map.keySet().stream().sorted().toList()) {
+            out.writeInt(key);
+            out.writeInt(map.get(key));
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, Map<Integer, Long> map) throws IOException {
+        out.writeInt(map.size());
+        for (Integer key : map.keySet().stream().sorted().toList()) {
+            out.writeInt(key);
+            out.writeLong(map.get(key));
+        }
+    }
+}
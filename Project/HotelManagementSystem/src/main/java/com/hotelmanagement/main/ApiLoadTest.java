@@ -0,0 +1,116 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.api.ApiServer;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.LatencyHistogram;
+import com.hotelmanagement.util.PersistenceMetrics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * wrk-style load test of the HTTP API: starts the server in-process on generated data,
+ * then 'connections' client threads send requests back to back over keep-alive
+ * connections for 'seconds' seconds and report requests/second and latency percentiles.
+ *
+ * Request mix: 50% free rooms for a random stay, 40% customer with bills,
+ * 10% new reservation (201, or 409 when the room is taken).
+ *
+ * Usage: ApiLoadTest [connections] [seconds] [customers]   (default: 32, 20, 20000)
+ */
+public class ApiLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int customers = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        LocalDate today = LocalDate.now();
+        DataGenerator generator = new DataGenerator(42);
+        generator.setCustomers(customers);
+        generator.setToday(today);
+        generator.setPeriod(today, 90);
+        DataGenerator.Result data = generator.generate();
+        System.out.println("data: " + data);
+
+        ApiServer server = new ApiServer(Path.of("frontend"));
+        server.start(0);
+        String base = "http://localhost:" + server.getPort() + "/api/";
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(Math.min(5, seconds / 4)).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(seconds).toNanos();
+
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            SplittableRandom random = new SplittableRandom(c);
+            Thread thread = new Thread(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    HttpRequest request = nextRequest(random, base, today, data, customers);
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() >= 500) {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    if (now >= warmupEnd) {
+                        latency.record(System.nanoTime() - now);
+                        requests.increment();
+                    }
+                }
+            }, "client-" + c);
+            thread.start();
+            clients.add(thread);
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        server.stop();
+        System.out.print(PersistenceMetrics.getInstance().report());
+        HibernateUtil.shutdown();
+
+        System.out.printf("%d connections, %d s: %d requests, %.0f req/s, %d errors%n",
+                connections, seconds, requests.sum(), requests.sum() / (double) seconds, errors.sum());
+        System.out.println("latency: " + latency);
+    }
+
+    private static HttpRequest nextRequest(SplittableRandom random, String base, LocalDate today,
+                                           DataGenerator.Result data, int customers) {
+        int kind = random.nextInt(10);
+        LocalDate from = today.plusDays(random.nextInt(80));
+        LocalDate to = from.plusDays(1 + random.nextInt(7));
+        HttpRequest.Builder request;
+        if (kind < 5) {
+            request = HttpRequest.newBuilder(URI.create(base + "rooms/free?from=" + from + "&to=" + to));
+        } else if (kind < 9) {
+            request = HttpRequest.newBuilder(URI.create(base + "customers/" + (1 + random.nextInt(customers))));
+        } else {
+            int roomNo = data.roomNos()[random.nextInt(data.roomNos().length)];
+            String form = "roomNo=" + roomNo + "&customerId=" + (1 + random.nextInt(customers))
+                    + "&checkIn=" + from + "&checkOut=" + to;
+            request = HttpRequest.newBuilder(URI.create(base + "reservations"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form));
+        }
+        return request.header("Accept-Encoding", "gzip").timeout(Duration.ofSeconds(30)).build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.api.ApiServer;
+import com.hotelmanagement.service.MetricsReconciler;
+import com.hotelmanagement.util.DatabaseSeeder;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.PersistenceMetrics;
+
+import java.nio.file.Path;
+
+/**
+ * Starts the HTTP API and serves the frontend pages.
+ *
+ * Usage: ApiServerApp [port] [frontendDir]   (default: 8080, frontend)
+ * With -Dmetrics.dump=<file>, the persistence metrics report is written there on shutdown.
+ * The running totals of the dashboard are reconciled every -Dmetrics.reconcileSeconds (default 60).
+ */
+public class ApiServerApp {
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path frontend = Path.of(args.length > 1 ? args[1] : "frontend");
+
+        DatabaseSeeder.seed();
+
+        ApiServer server = new ApiServer(frontend);
+        server.start(port);
+        MetricsReconciler.getInstance().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            MetricsReconciler.getInstance().stop();
+            String dump = System.getProperty("metrics.dump");
+            if (dump != null) {
+                PersistenceMetrics.getInstance().dump(Path.of(dump));
+            }
+            HibernateUtil.shutdown();
+        }));
+        System.out.println("Hotel Management API listening on http://localhost:" + server.getPort() + "/");
+    }
+}
@@ -0,0 +1,66 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.cache.RoomOccupancyIndex;
+import com.hotelmanagement.util.LatencyHistogram;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Latency of "which rooms are free from D1 to D2" on the in-memory RoomOccupancyIndex,
+ * filled with a year of back-to-back stays (1 to 7 nights) for every room.
+ * No database is involved.
+ *
+ * Usage: AvailabilitySearchBenchmark [rooms] [queries]   (default: 5000 rooms, 20000 queries)
+ */
+public class AvailabilitySearchBenchmark {
+
+    public static void main(String[] args) {
+        int rooms = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        LocalDate firstDay = LocalDate.of(2026, 1, 1);
+        Random random = new Random(42);
+
+        RoomOccupancyIndex index = new RoomOccupancyIndex();
+        int[] roomNos = new int[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomNos[i] = 100 + i;
+        }
+        index.reset(roomNos);
+
+        long buildStart = System.nanoTime();
+        int reservationId = 0;
+        for (int roomNo : roomNos) {
+            int day = random.nextInt(3);
+            while (day < 365) {
+                int nights = 1 + random.nextInt(7);
+                index.put(++reservationId, roomNo, firstDay.plusDays(day), firstDay.plusDays(day + nights));
+                day += nights + random.nextInt(4); // a few empty nights between stays
+            }
+        }
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+
+        LocalDate[] from = new LocalDate[queries];
+        LocalDate[] to = new LocalDate[queries];
+        for (int i = 0; i < queries; i++) {
+            from[i] = firstDay.plusDays(random.nextInt(358));
+            to[i] = from[i].plusDays(1 + random.nextInt(7));
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < queries; i++) { // warm-up
+            checksum += index.freeRooms(from[i], to[i]).length;
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            checksum += index.freeRooms(from[i], to[i]).length;
+            latency.record(System.nanoTime() - start);
+        }
+
+        System.out.printf("%d rooms, %d reservations over one year, index built in %.1f ms%n",
+                rooms, reservationId, buildMs);
+        System.out.printf("freeRooms(D1, D2) x %d: %s%n", queries, latency);
+        System.out.printf("average free rooms per query: %.0f%n", checksum / 2.0 / queries);
+    }
+}
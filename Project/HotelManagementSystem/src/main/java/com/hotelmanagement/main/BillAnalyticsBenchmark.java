@@ -0,0 +1,115 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.cache.BillColumns;
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.service.BillingService;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.HibernateUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Revenue analytics three ways: Bill entities (findAll + streams), SQL aggregates, and
+ * the BillColumns snapshot. Then times an incremental refresh after a few inserts,
+ * updates and deletes, and checks the snapshot against the database.
+ *
+ * Usage: BillAnalyticsBenchmark [customers]   (default: 200000, about 560k bills)
+ */
+public class BillAnalyticsBenchmark {
+
+    private static final int DATABASE_RUNS = 3;
+    private static final int MEMORY_RUNS = 50;
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        try {
+            DataGenerator generator = new DataGenerator(42);
+            generator.setCustomers(customers);
+            System.out.println("data: " + generator.generate());
+
+            BillDAO billDAO = new BillDAOImpl();
+            BillingService billing = new BillingService();
+
+            System.out.printf("entities, sum + group by:  %8.1f ms%n", measure(DATABASE_RUNS, () -> {
+                List<Bill> bills = billDAO.findAll();
+                Map<Integer, Long> byCustomer = bills.stream()
+                        .filter(bill -> bill.getCustomer() != null)
+                        .collect(Collectors.groupingBy(bill -> bill.getCustomer().getId(),
+                                Collectors.summingLong(bill -> bill.getAmount().minorUnits())));
+                return bills.stream().mapToLong(bill -> bill.getAmount().minorUnits()).sum() + byCustomer.size();
+            }));
+            System.out.printf("SQL, sum + group by:       %8.1f ms%n", measure(DATABASE_RUNS, () ->
+                    billDAO.sumAmount().minorUnits() + billDAO.sumAmountByCustomer().size()));
+
+            long start = System.nanoTime();
+            BillColumns.getInstance().invalidate();
+            BillColumns.Snapshot columns = billing.getBillColumns();
+            System.out.printf("columns, full load:        %8.1f ms (%d bills)%n",
+                    (System.nanoTime() - start) / 1e6, columns.getBillCount());
+            System.out.printf("columns, sum:              %8.3f ms%n",
+                    measure(MEMORY_RUNS, columns::sumCents));
+            System.out.printf("columns, group by:         %8.3f ms%n",
+                    measure(MEMORY_RUNS, () -> columns.sumByCustomer().length));
+            System.out.printf("columns, top 10 spenders:  %8.3f ms%n",
+                    measure(MEMORY_RUNS, () -> columns.topSpenders(10).size()));
+            System.out.printf("columns, histogram:        %8.3f ms%n",
+                    measure(MEMORY_RUNS, () -> columns.histogram(5_000, 20).length));
+
+            // A few committed changes, then an incremental refresh
+            CustomerService customerService = new CustomerService();
+            Customer customer = customerService.getCustomer(1);
+            List<Bill> added = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                added.add(new Bill(Money.of("12.50"), customer));
+            }
+            billing.createBills(added);
+            for (Bill bill : added.subList(0, 100)) {
+                bill.setAmount(Money.of("20.00"));
+            }
+            billDAO.updateAll(added.subList(0, 100));
+            billDAO.deleteAll(new ArrayList<>(added.subList(900, 1_000)));
+
+            start = System.nanoTime();
+            BillColumns.Snapshot refreshed = billing.getBillColumns();
+            System.out.printf("columns, refresh:          %8.1f ms (%d bills)%n",
+                    (System.nanoTime() - start) / 1e6, refreshed.getBillCount());
+
+            long databaseCents = billDAO.sumAmount().minorUnits();
+            CustomerRevenue top = billDAO.sumAmountByCustomer().get(0);
+            BillColumns.Spender topSpender = refreshed.topSpenders(1).get(0);
+            System.out.printf("check: sum %d cents, database %d cents; top spender %d (%d), database %d (%s)%n",
+                    refreshed.sumCents(), databaseCents, topSpender.customerId(), topSpender.amountCents(),
+                    top.customerId(), top.total());
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    // Mean wall time of one call in milliseconds, after as many warm-up calls
+    private static double measure(int runs, Supplier<Object> call) {
+        Object sink = null;
+        for (int i = 0; i < runs; i++) {
+            sink = call.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            sink = call.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            System.out.println(); // keeps the JIT from dropping the calls
+        }
+        return elapsed / 1e6 / runs;
+    }
+}
@@ -0,0 +1,143 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.cache.RoomAvailabilityCache;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.service.BookingService;
+import com.hotelmanagement.service.BookingService.BookingResult;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.service.RoomService;
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent booking stress test: N clients race to book every room of the hotel.
+ * Reports bookings per second and the optimistic-lock conflict rate, and fails
+ * if any room ends up booked twice.
+ *
+ * Usage: BookingStressTest [rooms] [clients...]   (default: 500 rooms, 1 8 64 clients)
+ */
+public class BookingStressTest {
+
+    private static final int FIRST_ROOM_NO = 100;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.format_sql", "false");
+        int rooms = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int[] clientCounts = args.length > 1
+                ? java.util.Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 8, 64};
+
+        try {
+            int[] customerIds = setUp(rooms);
+            System.out.printf("%8s | %12s | %10s | %10s | %13s | %s%n",
+                    "clients", "bookings/s", "attempts", "conflicts", "conflict rate", "double bookings");
+            for (int clients : clientCounts) {
+                resetRooms();
+                run(rooms, clients, customerIds);
+            }
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private static void run(int rooms, int clients, int[] customerIds) throws InterruptedException {
+        BookingService bookingService = new BookingService();
+        RoomService roomService = new RoomService();
+        AtomicIntegerArray bookedTimes = new AtomicIntegerArray(rooms);
+        LongAdder attempts = new LongAdder();
+        LongAdder booked = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            Thread client = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    while (booked.sum() < rooms) {
+                        int index = random.nextInt(rooms);
+                        int roomNo = FIRST_ROOM_NO + index;
+                        // The front desk only offers rooms shown as free, the race is on the commit
+                        if (!roomService.isRoomAvailable(roomNo)) {
+                            continue;
+                        }
+                        attempts.increment();
+                        int customerId = customerIds[random.nextInt(customerIds.length)];
+                        if (bookingService.bookRoom(roomNo, customerId) == BookingResult.BOOKED) {
+                            bookedTimes.incrementAndGet(index);
+                            booked.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            client.start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        int doubleBookings = 0;
+        for (int i = 0; i < rooms; i++) {
+            if (bookedTimes.get(i) > 1) {
+                doubleBookings++;
+            }
+        }
+        long conflicts = bookingService.getConflictCount();
+        long totalTries = attempts.sum() + conflicts; // every conflict is one more transaction
+        System.out.printf("%8d | %12.0f | %10d | %10d | %12.2f%% | %d%n",
+                clients, bookingService.getBookingCount() / seconds, attempts.sum(), conflicts,
+                100.0 * conflicts / totalTries, doubleBookings);
+        if (doubleBookings > 0 || countOccupiedRooms() != rooms) {
+            throw new IllegalStateException("Double booking detected with " + clients + " clients");
+        }
+    }
+
+    private static int[] setUp(int rooms) {
+        List<Room> roomList = new ArrayList<>(rooms);
+        List<Customer> customers = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            roomList.add(new Room(FIRST_ROOM_NO + i, "Floor " + (FIRST_ROOM_NO + i) / 100, true));
+            customers.add(new Customer("Guest " + i, i + " Stress Street", "+1555" + (1_000_000 + i)));
+        }
+        new RoomService().addRooms(roomList);
+        new CustomerService().addCustomers(customers);
+        return customers.stream().mapToInt(Customer::getId).toArray();
+    }
+
+    private static void resetRooms() {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            session.createMutationQuery("update Room set available = true").executeUpdate();
+            tx.commit();
+        } catch (Exception e) {
+            if (tx != null) tx.rollback();
+            throw e;
+        }
+        HibernateUtil.getSessionFactory().getCache().evictAllRegions();
+        RoomAvailabilityCache.getInstance().invalidate();
+    }
+
+    private static long countOccupiedRooms() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("select count(r) from Room r where r.available = false", Long.class)
+                    .getSingleResult();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nightly-import style benchmark: N customers with one bill each,
+ * written row by row (save) versus in one batched transaction (saveAll).
+ *
+ * Usage: BulkImportBenchmark [customers]   (default: 20000)
+ */
+public class BulkImportBenchmark {
+
+    public static void main(String[] args) {
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.format_sql", "false");
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        CustomerDAO customerDAO = new CustomerDAOImpl();
+        BillDAO billDAO = new BillDAOImpl();
+        try {
+            // Warm-up so that both variants run on a JIT-compiled code path
+            importRowByRow(customerDAO, billDAO, 1_000);
+            importBatched(customerDAO, billDAO, 1_000);
+
+            double rowByRowMs = importRowByRow(customerDAO, billDAO, size);
+            double batchedMs = importBatched(customerDAO, billDAO, size);
+
+            System.out.printf("%d customers + %d bills%n", size, size);
+            System.out.printf("row by row (save)    : %10.1f ms  %10.0f rows/s%n", rowByRowMs, 2 * size / rowByRowMs * 1000);
+            System.out.printf("batched (saveAll)    : %10.1f ms  %10.0f rows/s%n", batchedMs, 2 * size / batchedMs * 1000);
+            System.out.printf("speedup              : %10.1fx%n", rowByRowMs / batchedMs);
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private static double importRowByRow(CustomerDAO customerDAO, BillDAO billDAO, int size) {
+        clearTables();
+        List<Customer> customers = newCustomers(size);
+        long start = System.nanoTime();
+        for (Customer customer : customers) {
+            customerDAO.save(customer);
+        }
+        for (Customer customer : customers) {
+            billDAO.save(new Bill(Money.ofMinor((100 + customer.getId() % 400) * 100L), customer));
+        }
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static double importBatched(CustomerDAO customerDAO, BillDAO billDAO, int size) {
+        clearTables();
+        List<Customer> customers = newCustomers(size);
+        long start = System.nanoTime();
+        customerDAO.saveAll(customers);
+        List<Bill> bills = new ArrayList<>(size);
+        for (Customer customer : customers) {
+            bills.add(new Bill(Money.ofMinor((100 + customer.getId() % 400) * 100L), customer));
+        }
+        billDAO.saveAll(bills);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static List<Customer> newCustomers(int size) {
+        List<Customer> customers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            customers.add(new Customer("Guest " + i, i + " Import Street", "+1555" + (1_000_000 + i)));
+        }
+        return customers;
+    }
+
+    private static void clearTables() {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            session.createNativeMutationQuery("delete from bills").executeUpdate();
+            session.createNativeMutationQuery("delete from customers").executeUpdate();
+            tx.commit();
+        } catch (Exception e) {
+            if (tx != null) tx.rollback();
+            throw e;
+        }
+    }
+}
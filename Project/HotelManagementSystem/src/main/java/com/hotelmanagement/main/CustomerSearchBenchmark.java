@@ -0,0 +1,129 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.cache.CustomerSearchIndex;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Customer lookup: the old findAll + filter, the indexed finders of CustomerDAO, and the
+ * typeahead of CustomerSearchIndex (top 10) with queries typed from sampled customers.
+ * Then checks that the index follows a save, an update and a delete.
+ *
+ * Usage: CustomerSearchBenchmark [customers] [queries]   (default: 1000000, 20000)
+ */
+public class CustomerSearchBenchmark {
+
+    private static final int TOP = 10;
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        try {
+            DataGenerator generator = new DataGenerator(42);
+            generator.setCustomers(customers);
+            System.out.println("data: " + generator.generate());
+
+            CustomerService service = new CustomerService();
+            CustomerDAO customerDAO = new CustomerDAOImpl();
+            Random random = new Random(7);
+            List<Customer> sample = customerDAO.findByIds(random.ints(1_000, 1, customers + 1).boxed().toList())
+                    .stream().filter(Objects::nonNull).toList();
+            Customer first = sample.get(0);
+
+            long start = System.nanoTime();
+            List<Customer> filtered = customerDAO.findAll().stream()
+                    .filter(c -> c.getName().startsWith(first.getName()))
+                    .limit(TOP).toList();
+            System.out.printf("findAll + filter:           %8.1f ms (%d found)%n",
+                    (System.nanoTime() - start) / 1e6, filtered.size());
+
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            start = System.nanoTime();
+            service.searchIds("warm up", TOP);
+            double loadMs = (System.nanoTime() - start) / 1e6;
+            System.gc();
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("index load:                 %8.1f ms (%d customers, ~%d MB)%n",
+                    loadMs, CustomerSearchIndex.getInstance().size(), (heapAfter - heapBefore) >> 20);
+
+            // What a receptionist types: a growing name, name + last name, a phone, a city or street
+            List<String> typed = new ArrayList<>();
+            for (int i = 0; i < queries; i++) {
+                Customer customer = sample.get(random.nextInt(sample.size()));
+                String name = customer.getName();
+                String[] address = customer.getAddress().split("[ ,]+");
+                String phone = customer.getPhone();
+                typed.add(switch (i % 5) {
+                    case 0 -> name.substring(0, 1 + random.nextInt(name.length()));
+                    case 1 -> name.substring(0, name.indexOf(' ') + 2).toLowerCase();
+                    case 2 -> phone.substring(0, 6 + random.nextInt(phone.length() - 5));
+                    case 3 -> address[address.length - 1].substring(0, 3);
+                    default -> address[0] + " " + address[1];
+                });
+            }
+
+            System.out.printf("DAO, name prefix (index):   %s%n", latency(typed.subList(0, 1_000).stream()
+                    .filter(q -> Character.isUpperCase(q.charAt(0))).toList(),
+                    q -> customerDAO.findByNamePrefix(q, TOP).size()));
+            System.out.printf("DAO, phone (index):         %s%n", latency(sample.stream().limit(1_000)
+                    .map(Customer::getPhone).toList(), q -> customerDAO.findByPhone(q).size()));
+
+            latency(typed, q -> service.searchIds(q, TOP).length); // warm-up
+            System.out.printf("typeahead, top %d:          %s%n", TOP,
+                    latency(typed, q -> service.searchIds(q, TOP).length));
+            System.out.printf("typeahead + entities:       %s%n",
+                    latency(typed.subList(0, 2_000), q -> service.searchCustomers(q, TOP).size()));
+            for (String query : List.of("lina b", "+212 61", "casa", "12 rue")) {
+                System.out.printf("  %-8s -> %s%n", query, service.searchCustomers(query, 3).stream()
+                        .map(c -> c.getId() + " " + c.getName() + ", " + c.getAddress() + ", " + c.getPhone())
+                        .toList());
+            }
+
+            // The index follows the DAO writes once committed
+            Customer guest = new Customer("Zineb Ouazzani-Lévy", "7 Rue Atlas, Fès", "+212 699 00 11 22");
+            service.addCustomer(guest);
+            boolean saved = found(service, "zineb levy", guest) && found(service, "ouaz fes", guest);
+            guest.setPhone("+33 6 12 34 56 78");
+            customerDAO.update(guest);
+            boolean updated = found(service, "+33612", guest) && !found(service, "+212699", guest);
+            customerDAO.delete(guest);
+            boolean deleted = !found(service, "zineb", guest);
+            System.out.printf("in sync: save %b, update %b, delete %b%n", saved, updated, deleted);
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private static boolean found(CustomerService service, String query, Customer customer) {
+        return Arrays.stream(service.searchIds(query, TOP)).anyMatch(id -> id == customer.getId());
+    }
+
+    private static LatencyHistogram latency(List<String> queries, Function<String, Integer> call) {
+        LatencyHistogram latency = new LatencyHistogram();
+        long checksum = 0;
+        for (String query : queries) {
+            long start = System.nanoTime();
+            checksum += call.apply(query);
+            latency.record(System.nanoTime() - start);
+        }
+        if (checksum < 0) {
+            System.out.println(checksum); // keeps the JIT from dropping the calls
+        }
+        return latency;
+    }
+}
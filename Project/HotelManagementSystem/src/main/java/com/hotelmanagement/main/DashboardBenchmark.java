@@ -0,0 +1,82 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.service.DashboardService;
+import com.hotelmanagement.service.MetricsReconciler;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.DatabaseExecutor;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.LatencyHistogram;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dashboard latency with its five queries run one after the other (getDashboard) versus
+ * fanned out on the DatabaseExecutor (getDashboardAsync) and read from the running totals
+ * (getLiveDashboard), then many dashboards requested at once to show the in-flight cap of
+ * the executor. Ends with a reconciliation, which should find no drift.
+ *
+ * Usage: DashboardBenchmark [customers] [iterations]   (default: 100000, 50)
+ */
+public class DashboardBenchmark {
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        try {
+            DataGenerator generator = new DataGenerator(42);
+            generator.setCustomers(customers);
+            generator.setToday(LocalDate.now()); // the dashboards read the last days
+            System.out.println("data: " + generator.generate());
+
+            DashboardService dashboards = new DashboardService();
+            for (int i = 0; i < 5; i++) { // warm-up
+                dashboards.getDashboard();
+                dashboards.getDashboardAsync().join();
+                dashboards.getLiveDashboard();
+            }
+
+            LatencyHistogram sequential = new LatencyHistogram();
+            LatencyHistogram parallel = new LatencyHistogram();
+            LatencyHistogram live = new LatencyHistogram();
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                dashboards.getDashboard();
+                sequential.record(System.nanoTime() - start);
+
+                start = System.nanoTime();
+                dashboards.getDashboardAsync().join();
+                parallel.record(System.nanoTime() - start);
+
+                start = System.nanoTime();
+                dashboards.getLiveDashboard();
+                live.record(System.nanoTime() - start);
+            }
+            System.out.println("sequential: " + sequential);
+            System.out.println("parallel:   " + parallel);
+            System.out.println("live:       " + live);
+
+            // 100 dashboards at once = 500 queries, at most one per pooled connection in flight
+            DatabaseExecutor executor = DatabaseExecutor.getInstance();
+            int[] maxInFlight = new int[1];
+            CompletableFuture<?>[] burst = new CompletableFuture<?>[100];
+            long start = System.nanoTime();
+            for (int i = 0; i < burst.length; i++) {
+                burst[i] = dashboards.getDashboardAsync();
+                maxInFlight[0] = Math.max(maxInFlight[0], executor.getInFlight());
+            }
+            while (!CompletableFuture.allOf(burst).isDone()) {
+                maxInFlight[0] = Math.max(maxInFlight[0], executor.getInFlight());
+                LockSupport.parkNanos(1_000_000);
+            }
+            System.out.printf("burst of %d dashboards: %.0f ms, max %d queries in flight%n",
+                    burst.length, (System.nanoTime() - start) / 1e6, maxInFlight[0]);
+            System.out.println("reconciliation: " + MetricsReconciler.getInstance().reconcile());
+        } finally {
+            DatabaseExecutor.getInstance().shutdown();
+            HibernateUtil.shutdown();
+        }
+    }
+}
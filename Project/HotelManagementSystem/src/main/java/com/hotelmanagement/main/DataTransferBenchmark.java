@@ -0,0 +1,115 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.DataTransfer;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Round trip of a generated dataset (about 10^6 rows by default): H2 -> files -> empty H2 -> files.
+ * Reports each table and the totals of the export and of the import (rows/s, MB/s of
+ * compressed output), then checks that the second export is identical to the first, file by
+ * file once decompressed (same rows, ids and references), and that a customer added after the
+ * import gets an id past the imported ones.
+ *
+ * Usage: DataTransferBenchmark [customers] [threads]   (default: 130000, one per table)
+ */
+public class DataTransferBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 130_000;
+        Path directory = Files.createTempDirectory("data-transfer");
+        try {
+            DataGenerator generator = new DataGenerator(42);
+            generator.setCustomers(customers);
+            System.out.println(generator.generate());
+
+            DataTransfer transfer = new DataTransfer();
+            if (args.length > 1) {
+                transfer.setThreads(Integer.parseInt(args[1]));
+            }
+            DataTransfer.Result exported = transfer.exportTo(directory.resolve("first"));
+            print("export", exported);
+
+            long start = System.nanoTime();
+            deleteAll();
+            System.out.printf("deleted every row in %.0f ms%n", (System.nanoTime() - start) / 1e6);
+
+            DataTransfer.Result imported = transfer.importFrom(directory.resolve("first"));
+            print("import", imported);
+
+            DataTransfer.Result again = transfer.exportTo(directory.resolve("second"));
+            List<String> different = DataTransfer.fileNames().stream()
+                    .filter(name -> !sameContent(directory.resolve("first").resolve(name),
+                            directory.resolve("second").resolve(name)))
+                    .toList();
+            int maxId = TransactionTemplate.read(session ->
+                    session.createQuery("select max(c.id) from Customer c", Integer.class).getSingleResult());
+            Customer added = new Customer("After Import", "1 Round Trip", "+15550000000");
+            new CustomerService().addCustomer(added);
+            System.out.printf("round trip: %s, %s; new customer id %d after %d: %s%n",
+                    again.rows() == exported.rows() ? "same row count" : "ROW COUNT " + again.rows(),
+                    different.isEmpty() ? "identical files" : "DIFFERENT " + different,
+                    added.getId(), maxId, added.getId() > maxId ? "ok" : "ID REUSED");
+        } finally {
+            HibernateUtil.shutdown();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void print(String step, DataTransfer.Result result) {
+        result.tables().forEach(table -> System.out.printf("  %-14s %10d rows %8.1f MB %8d ms%n",
+                table.table(), table.rows(), table.bytes() / 1e6, table.elapsedMillis()));
+        System.out.printf("%s: %s, %.0f rows/s, %.1f MB/s%n", step, result,
+                result.rows() * 1000.0 / Math.max(1, result.elapsedMillis()),
+                result.bytes() / 1e3 / Math.max(1, result.elapsedMillis()));
+    }
+
+    // Children first (foreign keys)
+    private static void deleteAll() {
+        TransactionTemplate.runInTransaction(session -> session.doWork(connection -> {
+            try (var statement = connection.createStatement()) {
+                for (String table : List.of("reservations", "customer_food", "bills", "customers", "rooms",
+                        "food_items", "inventory", "managers", "owners", "receptionists")) {
+                    statement.execute("delete from " + table);
+                }
+            }
+        }));
+    }
+
+    private static boolean sameContent(Path first, Path second) {
+        try (InputStream a = new GZIPInputStream(Files.newInputStream(first), 1 << 16);
+             InputStream b = new GZIPInputStream(Files.newInputStream(second), 1 << 16)) {
+            byte[] bufferA = new byte[1 << 16];
+            byte[] bufferB = new byte[1 << 16];
+            while (true) {
+                int readA = a.readNBytes(bufferA, 0, bufferA.length);
+                int readB = b.readNBytes(bufferB, 0, bufferB.length);
+                if (readA != readB || !Arrays.equals(bufferA, 0, readA, bufferB, 0, readB)) {
+                    return false;
+                }
+                if (readA == 0) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
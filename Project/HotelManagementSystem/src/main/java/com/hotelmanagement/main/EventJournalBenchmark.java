@@ -0,0 +1,195 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.journal.EventJournal;
+import com.hotelmanagement.journal.EventStore;
+import com.hotelmanagement.journal.HotelEvent;
+import com.hotelmanagement.journal.HotelReadModel;
+import com.hotelmanagement.util.LatencyHistogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of the event journal (EventStore over EventJournal, no database involved):
+ *   append        publish() without waiting for the disk, by 1 then T threads
+ *   group commit  publishDurably() by T threads, each waiting for its fsync: events/s,
+ *                 events per fsync and the latency of a call
+ * then the start-up: the time to rebuild the read model from the whole journal, and from a
+ * snapshot plus the events after it, each checked against the model that wrote them; and a
+ * record torn at the end of the journal, which must be dropped on open and nothing else.
+ *
+ * The same calls through Hibernate (BillingService.createBill) are measured by
+ * WriteBehindBenchmark's synchronous row.
+ *
+ * Usage: EventJournalBenchmark [events] [threads]   (default: 2000000, 8)
+ */
+public class EventJournalBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 << 20;
+    private static final long SYNC_INTERVAL_MILLIS = 10;
+    private static final int ROOMS = 500;
+    private static final int CUSTOMERS = 10_000;
+    private static final int FOOD_ITEMS = 50;
+
+    private interface Publisher {
+        void publish(HotelEvent event);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        Path directory = Files.createTempDirectory("event-journal");
+        try {
+            System.out.printf("%-24s | %11s | %7s | %10s | %9s | %9s%n", "mode", "events/s", "fsyncs",
+                    "events/fsync", "p50 ms", "p99 ms");
+            try (EventStore<HotelReadModel> warmUp = open(directory.resolve("warm-up"))) {
+                run(warmUp, events / 4, threads, warmUp::publish, null);
+            }
+
+            Path journal = directory.resolve("journal");
+            byte[] expected;
+            try (EventStore<HotelReadModel> store = open(journal)) {
+                print("append, 1 thread", store, events, 1, store::publish, null);
+                print("append, " + threads + " threads", store, events, threads, store::publish, null);
+                LatencyHistogram latency = new LatencyHistogram();
+                print("group commit, " + threads + " threads", store, events / 20, threads,
+                        store::publishDurably, latency);
+                expected = state(store);
+            }
+
+            long start = System.nanoTime();
+            try (EventStore<HotelReadModel> store = open(journal)) {
+                System.out.printf("recovery, full replay: %d events in %.0f ms, %s%n", store.getReplayedCount(),
+                        (System.nanoTime() - start) / 1e6, Arrays.equals(state(store), expected) ? "ok" : "MISMATCH");
+                store.snapshot();
+            }
+            start = System.nanoTime();
+            try (EventStore<HotelReadModel> store = open(journal)) {
+                System.out.printf("recovery, from snapshot: %d events replayed in %.0f ms, %d segment(s), %s%n",
+                        store.getReplayedCount(), (System.nanoTime() - start) / 1e6,
+                        store.getJournal().getSegmentCount(),
+                        Arrays.equals(state(store), expected) ? "ok" : "MISMATCH");
+                for (int i = 0; i < 1_000; i++) {
+                    store.publish(randomEvent(ThreadLocalRandom.current()));
+                }
+            }
+            tornTail(journal);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static EventStore<HotelReadModel> open(Path directory) {
+        return EventStore.open(directory, new HotelReadModel(), SEGMENT_BYTES, SYNC_INTERVAL_MILLIS);
+    }
+
+    private static void print(String mode, EventStore<HotelReadModel> store, int events, int threads,
+                              Publisher publisher, LatencyHistogram latency) throws InterruptedException {
+        long syncs = store.getJournal().getSyncCount();
+        double seconds = run(store, events, threads, publisher, latency);
+        syncs = store.getJournal().getSyncCount() - syncs;
+        System.out.printf("%-24s | %11.0f | %7d | %10.1f | %9s | %9s%n", mode, events / seconds, syncs,
+                (double) events / Math.max(1, syncs),
+                latency != null ? String.format("%.2f", latency.getPercentileNanos(50) / 1e6) : "-",
+                latency != null ? String.format("%.2f", latency.getPercentileNanos(99) / 1e6) : "-");
+    }
+
+    // Threads publish events/threads random events each; returns the seconds taken
+    private static double run(EventStore<HotelReadModel> store, int events, int threads, Publisher publisher,
+                              LatencyHistogram latency) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int count = events / threads + (t < events % threads ? 1 : 0);
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < count; i++) {
+                        HotelEvent event = randomEvent(random);
+                        long begin = System.nanoTime();
+                        publisher.publish(event);
+                        if (latency != null) {
+                            latency.record(System.nanoTime() - begin);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private static HotelEvent randomEvent(ThreadLocalRandom random) {
+        int roomNo = 1 + random.nextInt(ROOMS);
+        int customerId = 1 + random.nextInt(CUSTOMERS);
+        return switch (random.nextInt(5)) {
+            case 0 -> HotelEvent.roomBooked(roomNo, customerId);
+            case 1 -> HotelEvent.checkedIn(roomNo, customerId);
+            case 2 -> HotelEvent.checkedOut(roomNo, customerId);
+            case 3 -> HotelEvent.billIssued(customerId, Money.ofMinor(random.nextLong(1_000, 100_000)));
+            default -> HotelEvent.foodOrdered(customerId, 1 + random.nextInt(FOOD_ITEMS));
+        };
+    }
+
+    // The snapshot bytes of the model, equal for equal states
+    private static byte[] state(EventStore<HotelReadModel> store) {
+        return store.read(model -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                model.writeTo(out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        });
+    }
+
+    // Damages the last record as a crash in the middle of its write would
+    private static void tornTail(Path journal) throws IOException {
+        long last;
+        try (EventStore<HotelReadModel> store = open(journal)) {
+            last = store.getJournal().getLastSequence();
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(journal)) {
+            segment = files.filter(file -> file.toString().endsWith(".log")).max(Comparator.naturalOrder()).orElseThrow();
+        }
+        long first = Long.parseLong(segment.getFileName().toString().replace(".log", ""));
+        long offset = (last - first) * EventJournal.RECORD_BYTES + EventJournal.RECORD_BYTES - 5;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f, 0x7f, 0x7f, 0x7f, 0x7f}), offset);
+        }
+        try (EventStore<HotelReadModel> store = open(journal)) {
+            long recovered = store.getJournal().getLastSequence();
+            store.publishDurably(randomEvent(ThreadLocalRandom.current()));
+            System.out.printf("torn tail: last event %d, recovered up to %d, appending at %d: %s%n", last, recovered,
+                    store.getJournal().getLastSequence(),
+                    recovered == last - 1 && store.getJournal().getLastSequence() == last ? "ok" : "WRONG");
+        }
+    }
+}
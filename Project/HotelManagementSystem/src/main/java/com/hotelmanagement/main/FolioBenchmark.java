@@ -0,0 +1,147 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.projection.Folio;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.service.FolioService;
+import com.hotelmanagement.service.FolioService.Format;
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * End-of-day folios for every customer of a generated hotel:
+ *   entity graph  the customer loaded with its room and bills (Customer.folio), then with its
+ *                 food items, per customer, on a sample
+ *   projection    FolioService.generateFolios() in each format, with 1 then W workers
+ * Reports folios/s, the bytes written and the peak heap seen during the run, and checks the
+ * folios against the database: their number (customers with a charge) and their total (every
+ * bill plus every food order), and on the sample, each folio against the entity graph.
+ * The peak heap is mostly the in-memory H2 database itself: what matters is that it stays the
+ * same whatever the format and the workers. Give the JVM room for the database (100000 customers
+ * are ~770k rows; -Xmx256m is too tight and turns the run into garbage collection).
+ *
+ * Usage: FolioBenchmark [customers] [workers] [customersPerFile]   (default: 100000, 4, 1000)
+ */
+public class FolioBenchmark {
+
+    private static final int SAMPLE = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int customersPerFile = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        Path directory = Files.createTempDirectory("folios");
+        try {
+            DataGenerator generator = new DataGenerator(42);
+            generator.setCustomers(customers);
+            System.out.println(generator.generate());
+            long[] expected = expected();
+            System.out.printf("expected: %d folios, total %s%n", expected[0], Money.ofMinor(expected[1]));
+
+            FolioService folioService = new FolioService();
+            entityGraph(folioService);
+
+            folioService.generateFolios(directory.resolve("warm-up"), Format.CSV, workers, customersPerFile);
+            System.out.printf("%-8s | %7s | %9s | %9s | %8s | %9s | %s%n", "format", "workers", "folios/s",
+                    "ms", "MB", "heap MB", "check");
+            for (Format format : Format.values()) {
+                for (int threads : new int[]{1, workers}) {
+                    Path out = directory.resolve(format + "-" + threads);
+                    AtomicLong peakHeap = new AtomicLong();
+                    AtomicBoolean running = new AtomicBoolean(true);
+                    Thread sampler = new Thread(() -> {
+                        Runtime runtime = Runtime.getRuntime();
+                        while (running.get()) {
+                            peakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                            try {
+                                Thread.sleep(5);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    });
+                    sampler.start();
+                    FolioService.Run run = folioService.generateFolios(out, format, threads, customersPerFile);
+                    running.set(false);
+                    sampler.join();
+                    boolean ok = run.folios() == expected[0] && run.total().minorUnits() == expected[1];
+                    System.out.printf("%-8s | %7d | %9.0f | %9d | %8.1f | %9d | %s%n", format, threads,
+                            run.folios() * 1000.0 / Math.max(1, run.elapsedMillis()), run.elapsedMillis(),
+                            size(out) / 1e6, peakHeap.get() >> 20, (ok ? "ok, " : "FAILED, ") + run);
+                }
+            }
+        } finally {
+            HibernateUtil.shutdown();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // The first SAMPLE customers loaded as entities (two graphs), compared with their projected folio
+    private static void entityGraph(FolioService folioService) {
+        CustomerDAO customerDAO = new CustomerDAOImpl();
+        int first = customerDAO.findIdRange()[0];
+        int mismatches = 0;
+        long start = System.nanoTime();
+        for (int id = first; id < first + SAMPLE; id++) {
+            Customer customer = customerDAO.findById(id, CustomerDAO.GRAPH_FOLIO);
+            Customer withFood = customerDAO.findById(id, CustomerDAO.GRAPH_FOOD_ITEMS);
+            if (customer == null) {
+                continue;
+            }
+            Money total = Money.ZERO;
+            for (Bill bill : customer.getBills()) {
+                total = total.plus(bill.getAmount());
+            }
+            for (FoodItem foodItem : withFood.getFoodItems()) {
+                total = total.plus(foodItem.getPrice());
+            }
+            Folio folio = folioService.getFolio(id);
+            if (folio == null ? !total.isZero() : !folio.total().equals(total)) {
+                mismatches++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("entity graph: %d customers in %.0f ms (%.0f/s, including the projected folio "
+                + "to compare), %s%n", SAMPLE, seconds * 1000, SAMPLE / seconds,
+                mismatches == 0 ? "same totals" : mismatches + " MISMATCHES");
+    }
+
+    // {customers with a charge, sum of every bill and food order in minor units}
+    private static long[] expected() {
+        return TransactionTemplate.read(session -> new long[]{
+                session.createNativeQuery("select count(*) from customers c where exists "
+                        + "(select 1 from bills b where b.customer_id = c.id) or exists "
+                        + "(select 1 from customer_food cf where cf.customer_id = c.id)", Long.class).getSingleResult(),
+                session.createNativeQuery("select (select coalesce(sum(amount_minor), 0) from bills "
+                        + "where customer_id is not null) + (select coalesce(sum(f.price_minor), 0) "
+                        + "from customer_food cf join food_items f on f.id = cf.food_id)", Long.class)
+                        .getSingleResult()});
+    }
+
+    private static long size(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            long bytes = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                bytes += Files.size(file);
+            }
+            return bytes;
+        }
+    }
+}
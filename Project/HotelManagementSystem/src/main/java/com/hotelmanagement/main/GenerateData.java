@@ -0,0 +1,30 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.util.DataGenerator;
+import com.hotelmanagement.util.HibernateUtil;
+
+/**
+ * Fills the database with synthetic data.
+ *
+ * Usage: GenerateData [customers] [floors] [roomsPerFloor] [seed]
+ * e.g. "GenerateData 200000 20 50 7" writes about 10^6 rows.
+ */
+public class GenerateData {
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int roomsPerFloor = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        try {
+            DataGenerator generator = new DataGenerator(seed);
+            generator.setCustomers(customers);
+            generator.setFloors(floors);
+            generator.setRoomsPerFloor(roomsPerFloor);
+            System.out.println(generator.generate());
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.entity.Inventory;
+import com.hotelmanagement.service.InventoryService;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventory contention: T threads take one unit at a time from a few hot items until
+ * everything is sold, with the conditional UPDATE of InventoryService and with a naive
+ * read-modify-write (load the item, check, set quantity - 1, commit).
+ * Reports decrements per second, and checks that exactly the stock was sold, that no
+ * quantity went below zero and that each item raised exactly one low-stock alert.
+ * The naive line shows the lost updates instead: units sold that the stock never lost.
+ *
+ * Usage: InventoryContentionBenchmark [items] [stock per item] [threads...]
+ *        (default: 1 item, 5000 units, 1 4 16 64 threads)
+ */
+public class InventoryContentionBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int stock = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int[] threadCounts = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 4, 16, 64};
+
+        try {
+            InventoryService inventoryService = new InventoryService();
+            LongAdder alerts = new LongAdder();
+            inventoryService.addLowStockListener(level -> alerts.increment());
+            int[] itemIds = setUp(inventoryService, items, stock);
+            run(threadCounts[threadCounts.length - 1], itemIds, stock, // warm-up
+                    itemId -> inventoryService.consume(itemId, 1));
+
+            System.out.printf("%-12s | %8s | %14s | %10s | %10s | %s%n",
+                    "mode", "threads", "decrements/s", "sold", "shortages", "check");
+            for (int threads : threadCounts) {
+                reset(stock);
+                alerts.reset();
+                long shortagesBefore = inventoryService.getShortageCount();
+                Result result = run(threads, itemIds, stock,
+                        itemId -> inventoryService.consume(itemId, 1));
+                long shortages = inventoryService.getShortageCount() - shortagesBefore;
+                int[] left = quantities(itemIds);
+                boolean exact = result.sold == (long) items * stock && Arrays.stream(left).allMatch(q -> q == 0)
+                        && alerts.sum() == items;
+                result.print("conditional", threads, shortages,
+                        (exact ? "ok" : "FAILED") + ", left " + Arrays.toString(left) + ", " + alerts.sum() + " alerts");
+                if (!exact) {
+                    throw new IllegalStateException("Stock inconsistent with " + threads + " threads");
+                }
+            }
+            for (int threads : threadCounts) {
+                reset(stock);
+                Result result = run(threads, itemIds, stock, InventoryContentionBenchmark::readModifyWrite);
+                long lost = result.sold - Arrays.stream(quantities(itemIds)).mapToLong(q -> stock - q).sum();
+                result.print("read-modify", threads, 0, lost + " lost updates");
+            }
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private interface Take {
+        boolean take(int itemId);
+    }
+
+    private record Result(long sold, double seconds) {
+        void print(String mode, int threads, long shortages, String check) {
+            System.out.printf("%-12s | %8d | %14.0f | %10d | %10d | %s%n",
+                    mode, threads, sold / seconds, sold, shortages, check);
+        }
+    }
+
+    // Threads take from random items until the expected total is sold
+    private static Result run(int threads, int[] itemIds, int stock, Take take) throws InterruptedException {
+        long total = (long) itemIds.length * stock;
+        LongAdder sold = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    while (sold.sum() < total) {
+                        if (take.take(itemIds[random.nextInt(itemIds.length)])) {
+                            sold.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        return new Result(sold.sum(), (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    // What a service written with find/update would do: the check and the write are apart
+    private static boolean readModifyWrite(int itemId) {
+        return TransactionTemplate.inTransaction(session -> {
+            Inventory item = session.get(Inventory.class, itemId);
+            if (item.getQuantity() < 1) {
+                return false;
+            }
+            item.setQuantity(item.getQuantity() - 1);
+            return true;
+        });
+    }
+
+    private static int[] setUp(InventoryService inventoryService, int items, int stock) {
+        List<Integer> ids = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Inventory item = new Inventory("Bench item " + i, stock, stock / 10);
+            inventoryService.addItem(item);
+            ids.add(item.getId());
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void reset(int stock) {
+        TransactionTemplate.runInTransaction(session -> session
+                .createMutationQuery("update Inventory set quantity = :stock")
+                .setParameter("stock", stock)
+                .executeUpdate());
+    }
+
+    private static int[] quantities(int[] itemIds) {
+        return TransactionTemplate.read(session -> Arrays.stream(itemIds)
+                .map(id -> session.createQuery("select i.quantity from Inventory i where i.id = :id", Integer.class)
+                        .setParameter("id", id)
+                        .getSingleResult())
+                .toArray());
+    }
+}
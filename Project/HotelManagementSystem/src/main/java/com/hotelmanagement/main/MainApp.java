@@ -18,7 +18,7 @@ public class MainApp {
 
             System.out.println("\n--- Customers with Bills ---");
             service.getCustomersWithBills()
-                   .forEach(c -> System.out.println("Customer: " + c.getName() + " | Phone: " + c.getTelNo()));
+                   .forEach(c -> System.out.println("Customer: " + c.getName() + " | Phone: " + c.getPhone()));
 
         } catch (Exception e) {
             e.printStackTrace();
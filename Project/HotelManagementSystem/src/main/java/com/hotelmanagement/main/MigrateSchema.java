@@ -0,0 +1,19 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.SchemaMigrator;
+
+/**
+ * Applies the pending schema migrations and exits, so that the applications can start with
+ * -Dhotel.schema.migrate=false. Only useful against a persistent database, e.g.
+ * -Dhibernate.connection.url=jdbc:h2:file:./data/hotel_db (the default in-memory database
+ * lives as long as the JVM). H2 only, and -Dhotel.schema.baseline=N adopts a schema created
+ * by hbm2ddl (see SchemaMigrator).
+ */
+public class MigrateSchema {
+
+    public static void main(String[] args) {
+        int version = SchemaMigrator.migrate(HibernateUtil.loadConfiguration());
+        System.out.println("Schema at version " + version);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+/**
+ * Compares the old in-memory revenue computation (findAll + stream sum)
+ * with the SQL aggregate of BillDAO.sumAmount().
+ *
+ * Usage: RevenueBenchmark [sizes...]   (default: 10000 100000 1000000)
+ */
+public class RevenueBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) {
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.format_sql", "false");
+
+        int[] sizes = args.length == 0
+                ? new int[]{10_000, 100_000, 1_000_000}
+                : java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        BillDAO billDAO = new BillDAOImpl();
+        try {
+            System.out.printf("%10s | %18s | %18s | %8s%n", "bills", "stream sum (ms)", "SQL SUM (ms)", "speedup");
+            for (int size : sizes) {
+                resetBills(size);
+
+                double streamMs = measure(() -> billDAO.findAll().stream()
+                        .mapToLong(bill -> bill.getAmount().minorUnits())
+                        .sum());
+                double sqlMs = measure(() -> billDAO.sumAmount().minorUnits());
+
+                System.out.printf("%10d | %18.2f | %18.2f | %7.1fx%n", size, streamMs, sqlMs, streamMs / sqlMs);
+            }
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    // Average wall time of one call in milliseconds, after warm-up
+    private static double measure(java.util.function.DoubleSupplier call) {
+        double checksum = 0;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            checksum += call.getAsDouble();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            checksum += call.getAsDouble();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum < 0) {
+            System.out.println(checksum); // keeps the JIT from dropping the calls
+        }
+        return elapsed / 1_000_000.0 / MEASURED_RUNS;
+    }
+
+    // Bulk-fills the bills table with plain SQL so that setup time is not part of the measure
+    private static void resetBills(int size) {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            session.createNativeMutationQuery("delete from bills").executeUpdate();
+            session.createNativeMutationQuery(
+                            "insert into bills (billNo, amount_minor, issued_at) "
+                                    + "select x, mod(x, 500) * 100 + 25, dateadd(minute, -x, current_timestamp) "
+                                    + "from system_range(1, :size)")
+                    .setParameter("size", size)
+                    .executeUpdate();
+            tx.commit();
+        } catch (Exception e) {
+            if (tx != null) tx.rollback();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.Session;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Time to first query of a fresh JVM: starts child JVMs that build the SessionFactory and
+ * run one query, then prints the median of JVM start to main() and of main() to the result.
+ *
+ *   before:       schema by hbm2ddl update, SQL echoed and formatted
+ *   fast start:   schema by SchemaMigrator, no SQL echo
+ *   fast + CDS:   the same with an AppCDS archive of the classes loaded by a training run
+ *   CDS + C1:     and without the C2 compiler (-XX:TieredStopAtLevel=1), for short runs
+ *
+ * AppCDS needs jars on the class path: run it from the package of the cds profile
+ * (see pom.xml), otherwise the CDS lines are skipped.
+ *
+ * Usage: StartupBenchmark [runs]   (default: 5)
+ */
+public class StartupBenchmark {
+
+    private static final String CHILD = "--child";
+    private static final String RESULT = "startup ";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CHILD)) {
+            child();
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        report("before", runs, "-Dhibernate.hbm2ddl.auto=update", "-Dhotel.schema.migrate=false",
+                "-Dhibernate.show_sql=true", "-Dhibernate.format_sql=true");
+        report("fast start", runs);
+
+        boolean jarsOnly = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .noneMatch(entry -> Files.isDirectory(Path.of(entry)));
+        if (!jarsOnly) {
+            System.out.println("fast + CDS   skipped: directories on the class path (mvn -P cds package)");
+            return;
+        }
+        Path archive = Files.createTempFile("hotel", ".jsa");
+        try {
+            Files.delete(archive);
+            run("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off");
+            report("fast + CDS", runs, "-XX:SharedArchiveFile=" + archive);
+            report("CDS + C1", runs, "-XX:SharedArchiveFile=" + archive, "-XX:TieredStopAtLevel=1");
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    private static void report(String name, int runs, String... options) throws Exception {
+        long[][] samples = new long[runs][];
+        for (int i = 0; i < runs; i++) {
+            samples[i] = run(options);
+        }
+        System.out.printf("%-12s JVM %4d ms + first query %5d ms = %5d ms%n",
+                name, median(samples, 0), median(samples, 1), median(samples, 0) + median(samples, 1));
+    }
+
+    // Runs one child JVM and returns {jvm start to main, main to first result} in ms
+    private static long[] run(String... options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(options));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                StartupBenchmark.class.getName(), CHILD));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        long[] result = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    result = Arrays.stream(line.substring(RESULT.length()).split(" "))
+                            .mapToLong(Long::parseLong).toArray();
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Child JVM failed, options " + Arrays.toString(options));
+        }
+        return result;
+    }
+
+    private static void child() {
+        long main = System.currentTimeMillis();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.createQuery("select count(r) from Room r", Long.class).getSingleResult();
+        }
+        long firstQuery = System.currentTimeMillis();
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println(RESULT + (main - jvmStart) + " " + (firstQuery - main));
+        HibernateUtil.shutdown();
+    }
+
+    private static long median(long[][] samples, int column) {
+        long[] values = Arrays.stream(samples).mapToLong(sample -> sample[column]).sorted().toArray();
+        return values[values.length / 2];
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.util.DataTransfer;
+import com.hotelmanagement.util.HibernateUtil;
+
+import java.nio.file.Path;
+
+/**
+ * Exports the database to gzipped NDJSON files, or imports them into empty tables
+ * (see DataTransfer). Pair it with -Dhibernate.connection.url to move a dataset
+ * between databases.
+ *
+ * Usage: TransferData export|import [directory]   (default: export)
+ */
+public class TransferData {
+
+    public static void main(String[] args) {
+        if (args.length == 0 || !args[0].equals("export") && !args[0].equals("import")) {
+            System.err.println("Usage: TransferData export|import [directory]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args.length > 1 ? args[1] : "export");
+        try {
+            DataTransfer transfer = new DataTransfer();
+            DataTransfer.Result result = args[0].equals("export")
+                    ? transfer.exportTo(directory)
+                    : transfer.importFrom(directory);
+            result.tables().forEach(table -> System.out.printf("%-14s %10d rows %12d bytes %8d ms%n",
+                    table.table(), table.rows(), table.bytes(), table.elapsedMillis()));
+            System.out.println(args[0] + ": " + result);
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.hotelmanagement.main;
+
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.service.BillingService;
+import com.hotelmanagement.service.CustomerService;
+import com.hotelmanagement.service.RestaurantService;
+import com.hotelmanagement.service.WriteBehindService;
+import com.hotelmanagement.service.WriteBehindService.Durability;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.LatencyHistogram;
+import com.hotelmanagement.util.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A dinner rush: P producers record food orders and bills (half each), synchronously (one
+ * transaction per row) and through WriteBehindService with each durability. Reports how fast
+ * the calls return (accepted/s), how fast the rows are committed (committed/s, up to the last
+ * flush), the number of commits and the latency from the call to the commit, and checks the
+ * row counts. A last run with a small buffer shows the backpressure: callers are slowed down
+ * to the commit rate instead of growing the buffer.
+ *
+ * Then the crash test: a child JVM journals rows and halts before any flush; a torn record
+ * is appended to its journal, and a new service on that journal must write exactly the rows.
+ *
+ * Usage: WriteBehindBenchmark [rows] [producers]   (default: 20000, 8)
+ */
+public class WriteBehindBenchmark {
+
+    private static final String CRASH = "--crash";
+    private static final int CUSTOMERS = 1_000;
+    private static final int FOOD_ITEMS = 50;
+
+    private interface Producer {
+        void add(int customerId, int foodItemId, boolean bill);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CRASH)) {
+            crashingChild(Path.of(args[1]), Integer.parseInt(args[2]), ids(args[3]), ids(args[4]));
+            return;
+        }
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        Path directory = Files.createTempDirectory("write-behind");
+        try {
+            int[][] ids = setUp();
+            int[] customerIds = ids[0];
+            int[] foodItemIds = ids[1];
+            BillingService billingService = new BillingService();
+            RestaurantService restaurantService = new RestaurantService();
+
+            System.out.printf("%-22s | %11s | %12s | %7s | %9s | %9s | %9s | %s%n", "mode", "accepted/s",
+                    "committed/s", "commits", "p50 ms", "p99 ms", "max ms", "check");
+            // warm-up
+            run(rows / 4, producers, customerIds, foodItemIds, null, (customerId, foodItemId, bill) -> {
+                if (bill) {
+                    billingService.createBill(new Bill(Money.ofMinor(1_250), customer(customerId)));
+                } else {
+                    restaurantService.orderFood(customerId, foodItemId);
+                }
+            });
+
+            LatencyHistogram syncLatency = new LatencyHistogram();
+            long[] before = counts();
+            Timing sync = run(rows, producers, customerIds, foodItemIds, null, (customerId, foodItemId, bill) -> {
+                long start = System.nanoTime();
+                if (bill) {
+                    billingService.createBill(new Bill(Money.ofMinor(1_250), customer(customerId)));
+                } else {
+                    restaurantService.orderFood(customerId, foodItemId);
+                }
+                syncLatency.record(System.nanoTime() - start);
+            });
+            sync.print("synchronous", rows, syncLatency, check(before, rows));
+
+            for (Durability durability : Durability.values()) {
+                writeBehind(durability.toString(), rows, producers, customerIds, foodItemIds,
+                        new WriteBehindService(durability, directory.resolve(durability + ".journal"),
+                                10_000, 500, 50, 1_000));
+            }
+            writeBehind("JOURNAL, capacity 1000", rows, producers, customerIds, foodItemIds,
+                    new WriteBehindService(Durability.JOURNAL, directory.resolve("small.journal"),
+                            1_000, 500, 50, 1_000));
+
+            crashTest(directory.resolve("crash.journal"), rows, customerIds, foodItemIds);
+        } finally {
+            HibernateUtil.shutdown();
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private record Timing(double acceptedSeconds, double committedSeconds, long commits) {
+        void print(String mode, int rows, LatencyHistogram latency, String check) {
+            System.out.printf("%-22s | %11.0f | %12.0f | %7d | %9.2f | %9.2f | %9.2f | %s%n", mode,
+                    rows / acceptedSeconds, rows / committedSeconds, commits,
+                    latency.getPercentileNanos(50) / 1e6, latency.getPercentileNanos(99) / 1e6,
+                    latency.getMaxNanos() / 1e6, check);
+        }
+    }
+
+    private static void writeBehind(String mode, int rows, int producers, int[] customerIds, int[] foodItemIds,
+                                    WriteBehindService service) throws InterruptedException {
+        long[] before = counts();
+        Timing timing;
+        try (service) {
+            timing = run(rows, producers, customerIds, foodItemIds, service, (customerId, foodItemId, bill) -> {
+                if (bill) {
+                    service.createBill(new Bill(Money.ofMinor(1_250), customer(customerId)));
+                } else {
+                    service.orderFood(customerId, foodItemId);
+                }
+            });
+        }
+        String check = check(before, rows);
+        if (service.getRejectedCount() > 0 || service.getDroppedCount() > 0) {
+            check += ", " + service.getRejectedCount() + " rejected, " + service.getDroppedCount() + " dropped";
+        }
+        timing.print(mode, rows, service.getFlushLatency(), check);
+    }
+
+    // Producers add rows/producers rows each, alternating orders and bills; then waits for the commit
+    private static Timing run(int rows, int producers, int[] customerIds, int[] foodItemIds,
+                              WriteBehindService service, Producer producer) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int count = rows / producers + (p < rows % producers ? 1 : 0);
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < count; i++) {
+                        producer.add(customerIds[random.nextInt(customerIds.length)],
+                                foodItemIds[random.nextInt(foodItemIds.length)], i % 2 == 1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        double accepted = (System.nanoTime() - startNanos) / 1e9;
+        if (service == null) {
+            return new Timing(accepted, accepted, rows);
+        }
+        service.flush();
+        return new Timing(accepted, (System.nanoTime() - startNanos) / 1e9, service.getBatchCount());
+    }
+
+    private static void crashTest(Path journal, int rows, int[] customerIds, int[] foodItemIds) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), WriteBehindBenchmark.class.getName(), CRASH,
+                journal.toString(), String.valueOf(rows),
+                join(Arrays.copyOf(customerIds, 20)), join(Arrays.copyOf(foodItemIds, 5))));
+        Process child = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(child.getInputStream()))) {
+            while (output.readLine() != null) {
+                // Hibernate start-up logging
+            }
+        }
+        int exit = child.waitFor();
+        long journaled = Files.size(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7})); // a write cut short
+        }
+
+        long[] before = counts();
+        long start = System.nanoTime();
+        try (WriteBehindService recovered = new WriteBehindService(Durability.JOURNAL, journal,
+                10_000, 500, 50, 1_000)) {
+            recovered.flush();
+        }
+        System.out.printf("crash: child exit %d with %d bytes journaled, replayed in %.0f ms: %s, journal %d bytes%n",
+                exit, journaled, (System.nanoTime() - start) / 1e6, check(before, rows), Files.size(journal));
+    }
+
+    // Journals the rows with a flush delay of an hour, then dies without running any shutdown hook
+    private static void crashingChild(Path journal, int rows, int[] customerIds, int[] foodItemIds) {
+        WriteBehindService service = new WriteBehindService(Durability.JOURNAL, journal,
+                rows, rows, 3_600_000, 1_000);
+        for (int i = 0; i < rows; i++) {
+            if (i % 2 == 1) {
+                service.createBill(new Bill(Money.ofMinor(1_250), customer(customerIds[i % customerIds.length])));
+            } else {
+                service.orderFood(customerIds[i % customerIds.length], foodItemIds[i % foodItemIds.length]);
+            }
+        }
+        Runtime.getRuntime().halt(0);
+    }
+
+    private static int[][] setUp() {
+        List<Customer> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("Diner " + i, i + " Rush Avenue", "+1555" + (2_000_000 + i)));
+        }
+        new CustomerService().addCustomers(customers);
+        List<FoodItem> foodItems = new ArrayList<>(FOOD_ITEMS);
+        for (int i = 0; i < FOOD_ITEMS; i++) {
+            foodItems.add(new FoodItem("Dish " + i, Money.ofMinor(500 + 50L * i)));
+        }
+        new RestaurantService().addFoodItems(foodItems);
+        return new int[][]{
+                customers.stream().mapToInt(Customer::getId).toArray(),
+                foodItems.stream().mapToInt(FoodItem::getId).toArray()};
+    }
+
+    private static Customer customer(int id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+
+    // {bills, food orders}
+    private static long[] counts() {
+        return TransactionTemplate.read(session -> new long[]{
+                session.createQuery("select count(b) from Bill b", Long.class).getSingleResult(),
+                session.createNativeQuery("select count(*) from customer_food", Long.class).getSingleResult()});
+    }
+
+    private static String check(long[] before, int rows) {
+        long[] after = counts();
+        long bills = after[0] - before[0];
+        long orders = after[1] - before[1];
+        boolean ok = bills + orders == rows;
+        return (ok ? "ok" : "FAILED") + " (" + bills + " bills, " + orders + " orders)";
+    }
+
+    private static String join(int[] ids) {
+        return String.join(",", Arrays.stream(ids).mapToObj(String::valueOf).toList());
+    }
+
+    private static int[] ids(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
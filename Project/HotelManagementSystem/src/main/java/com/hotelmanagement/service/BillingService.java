@@ -1,22 +1,97 @@
 package com.hotelmanagement.service;
 
+import com.hotelmanagement.cache.BillColumns;
 import com.hotelmanagement.dao.BillDAO;
 import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
 import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.util.DatabaseExecutor;
+import com.hotelmanagement.util.PersistenceMetrics;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class BillingService {
 
-    private BillDAO billDAO = new BillDAOImpl();
+    private BillDAO billDAO = PersistenceMetrics.instrument(BillDAO.class, new BillDAOImpl());
 
     public void createBill(Bill bill) {
         billDAO.save(bill);
     }
 
-    public double getTotalRevenue() {
-        return billDAO.findAll().stream()
-                .mapToDouble(Bill::getAmount)
-                .sum();
+    public void createBills(Collection<Bill> bills) {
+        billDAO.saveAll(bills);
+    }
+
+    // Buffered and written in a batch within hotel.writebehind.maxDelayMillis (see WriteBehindService)
+    public void createBillLater(Bill bill) {
+        WriteBehindService.getInstance().createBill(bill);
+    }
+
+    public Money getTotalRevenue() {
+        return billDAO.sumAmount();
+    }
+
+    public Money getRevenueBetween(LocalDateTime from, LocalDateTime to) {
+        return billDAO.sumAmountBetween(from, to);
+    }
+
+    public List<CustomerRevenue> getRevenueByCustomer() {
+        return billDAO.sumAmountByCustomer();
+    }
+
+    // The limit customers with the highest revenue, only those rows are read
+    public List<CustomerRevenue> getTopCustomers(int limit) {
+        return billDAO.sumAmountByCustomer(limit);
+    }
+
+    // Revenue per day for the days in [from, to] (both inclusive)
+    public List<DailyRevenue> getDailyRevenue(LocalDate from, LocalDate to) {
+        return billDAO.sumAmountByDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    // Columnar copy of the bills for in-memory analytics, refreshed with what changed since the last call
+    public BillColumns.Snapshot getBillColumns() {
+        return BillColumns.getInstance().refresh(billDAO);
+    }
+
+    public CompletableFuture<Money> getTotalRevenueAsync() {
+        return DatabaseExecutor.getInstance().submit(this::getTotalRevenue);
+    }
+
+    public CompletableFuture<List<CustomerRevenue>> getTopCustomersAsync(int limit) {
+        return DatabaseExecutor.getInstance().submit(() -> getTopCustomers(limit));
+    }
+
+    public CompletableFuture<List<DailyRevenue>> getDailyRevenueAsync(LocalDate from, LocalDate to) {
+        return DatabaseExecutor.getInstance().submit(() -> getDailyRevenue(from, to));
+    }
+
+    // CSV report of every bill, streamed from the database in constant memory. Returns the row count.
+    public long exportBills(Writer out) {
+        try (Stream<Bill> bills = billDAO.streamAll()) {
+            out.write("billNo;customerId;amount;issuedAt\n");
+            long rows = 0;
+            for (Bill bill : (Iterable<Bill>) bills::iterator) {
+                out.write(bill.getBillNo() + ";"
+                        + (bill.getCustomer() != null ? bill.getCustomer().getId() : "") + ";"
+                        + bill.getAmount() + ";"
+                        + (bill.getIssuedAt() != null ? bill.getIssuedAt() : "") + "\n");
+                rows++;
+            }
+            out.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
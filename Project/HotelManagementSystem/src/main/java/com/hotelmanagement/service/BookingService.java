@@ -0,0 +1,77 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.util.PersistenceMetrics;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Assigns rooms to customers under concurrency without double booking.
+ * Each attempt is one versioned transaction (Room has an @Version column):
+ * when two receptionists book the same room, only one commit succeeds and
+ * the other is retried with a randomized backoff, then sees the room taken.
+ */
+public class BookingService {
+
+    public enum BookingResult {
+        BOOKED,
+        ROOM_UNAVAILABLE, // unknown room / customer, or room already taken
+        CONFLICT          // still losing the race after MAX_ATTEMPTS
+    }
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_NANOS = 200_000; // 0.2 ms, doubled on each retry
+
+    private RoomDAO roomDAO = PersistenceMetrics.instrument(RoomDAO.class, new RoomDAOImpl());
+
+    private final LongAdder bookings = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public BookingResult bookRoom(int roomNo, int customerId) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                if (!roomDAO.assignToCustomer(roomNo, customerId)) {
+                    return BookingResult.ROOM_UNAVAILABLE;
+                }
+                bookings.increment();
+                return BookingResult.BOOKED;
+            } catch (OptimisticLockException | StaleStateException e) {
+                conflicts.increment();
+                backoff(attempt);
+            }
+        }
+        return BookingResult.CONFLICT;
+    }
+
+    public boolean checkOut(int roomNo) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                return roomDAO.release(roomNo);
+            } catch (OptimisticLockException | StaleStateException e) {
+                conflicts.increment();
+                backoff(attempt);
+            }
+        }
+        return false;
+    }
+
+    // Successful bookings since this service was created
+    public long getBookingCount() {
+        return bookings.sum();
+    }
+
+    // Attempts lost to a concurrent update of the same room
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    private static void backoff(int attempt) {
+        long max = BASE_BACKOFF_NANOS << attempt;
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(max / 2, max + 1));
+    }
+}
@@ -1,29 +1,116 @@
 package com.hotelmanagement.service;
 
+import com.hotelmanagement.cache.CustomerSearchIndex;
 import com.hotelmanagement.dao.CustomerDAO;
 import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.projection.CustomerSummary;
 import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.util.DatabaseExecutor;
+import com.hotelmanagement.util.PersistenceMetrics;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class CustomerService {
 
-    private CustomerDAO customerDAO = new CustomerDAOImpl();
+    private static final Object LOAD_LOCK = new Object();
+
+    private CustomerDAO customerDAO = PersistenceMetrics.instrument(CustomerDAO.class, new CustomerDAOImpl());
+    private CustomerSearchIndex searchIndex = CustomerSearchIndex.getInstance();
 
     public void addCustomer(Customer customer) {
         customerDAO.save(customer);
     }
 
+    public void addCustomers(Collection<Customer> customers) {
+        customerDAO.saveAll(customers);
+    }
+
     public List<Customer> getAllCustomers() {
         return customerDAO.findAll();
     }
 
     public List<Customer> getCustomersWithBills() {
-        // Example usage of Streams as requested
-        return customerDAO.findAll()
-                .stream()
-                .filter(c -> c.getBills() != null && !c.getBills().isEmpty())
-                .collect(Collectors.toList());
+        return customerDAO.findWithBills();
+    }
+
+    // Same customers with their bills and room loaded in the same query
+    public List<Customer> getCustomersWithBillsAndRoom() {
+        return customerDAO.findWithBills(CustomerDAO.GRAPH_FOLIO);
+    }
+
+    public Customer getCustomer(int id) {
+        return customerDAO.findById(id);
+    }
+
+    public List<Customer> getCustomers(List<Integer> ids) {
+        return customerDAO.findByIds(ids);
+    }
+
+    public Customer getCustomerWithBills(int id) {
+        return customerDAO.findById(id, CustomerDAO.GRAPH_BILLS);
+    }
+
+    public List<Customer> getCustomersByPhone(String phone) {
+        return customerDAO.findByPhone(phone);
+    }
+
+    // Typeahead over name, address and phone, best matches first (see CustomerSearchIndex)
+    public List<Customer> searchCustomers(String query, int limit) {
+        int[] ids = searchIds(query, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return customerDAO.findByIds(Arrays.stream(ids).boxed().toList()).stream()
+                .filter(Objects::nonNull) // deleted since
+                .toList();
+    }
+
+    // Ids only, answered from memory
+    public int[] searchIds(String query, int limit) {
+        if (!searchIndex.isLoaded()) {
+            synchronized (LOAD_LOCK) {
+                if (!searchIndex.isLoaded()) {
+                    searchIndex.load(customerDAO);
+                }
+            }
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    public CompletableFuture<Customer> getCustomerWithBillsAsync(int id) {
+        return DatabaseExecutor.getInstance().submit(() -> getCustomerWithBills(id));
+    }
+
+    public CompletableFuture<List<Customer>> getCustomersWithBillsAsync() {
+        return DatabaseExecutor.getInstance().submit(this::getCustomersWithBills);
+    }
+
+    // CSV report of every customer, streamed from the database in constant memory. Returns the row count.
+    public long exportCustomers(Writer out) {
+        try (Stream<CustomerSummary> customers = customerDAO.streamSummaries()) {
+            out.write("id;name;address;phone;roomNo;bills\n");
+            long rows = 0;
+            for (CustomerSummary customer : (Iterable<CustomerSummary>) customers::iterator) {
+                out.write(customer.id() + ";"
+                        + customer.name() + ";"
+                        + customer.address() + ";"
+                        + customer.phone() + ";"
+                        + (customer.roomNo() != null ? customer.roomNo() : "") + ";"
+                        + customer.billCount() + "\n");
+                rows++;
+            }
+            out.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
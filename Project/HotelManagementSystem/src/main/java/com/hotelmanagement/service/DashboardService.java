@@ -0,0 +1,79 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.cache.MaterializedMetrics;
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Front-desk dashboard: the independent queries are fanned out on the DatabaseExecutor
+ * and combined, so the dashboard takes about as long as its slowest query instead of
+ * the sum of all of them.
+ * getLiveDashboard() reads the same numbers from the incrementally maintained
+ * MaterializedMetrics (revenue) and RoomAvailabilityCache (rooms) instead, with no
+ * aggregate query at all.
+ */
+public class DashboardService {
+
+    private static final int DAYS = 30;
+    private static final int TOP_CUSTOMERS = 10;
+
+    public record Dashboard(Money totalRevenue, List<DailyRevenue> lastDays, int freeRooms,
+                            int availableRooms, List<CustomerRevenue> topCustomers) {
+    }
+
+    private BillingService billingService = new BillingService();
+    private RoomService roomService = new RoomService();
+    private CustomerService customerService = new CustomerService();
+    private MetricsReconciler reconciler = MetricsReconciler.getInstance();
+
+    // From the running totals: only the names of the top customers are read (one query by id)
+    public Dashboard getLiveDashboard() {
+        MaterializedMetrics metrics = reconciler.metrics();
+        LocalDate today = LocalDate.now();
+        List<CustomerRevenue> top = metrics.getTopCustomers(TOP_CUSTOMERS);
+        List<Customer> customers = customerService.getCustomers(top.stream().map(CustomerRevenue::customerId).toList());
+        List<CustomerRevenue> topCustomers = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            Customer customer = customers.get(i);
+            topCustomers.add(new CustomerRevenue(top.get(i).customerId(),
+                    customer != null ? customer.getName() : null, top.get(i).billCount(), top.get(i).total()));
+        }
+        int freeRooms = roomService.countFreeRooms();
+        return new Dashboard(metrics.getTotalRevenue(),
+                metrics.getDailyRevenue(today.minusDays(DAYS - 1), today),
+                freeRooms,
+                freeRooms,
+                topCustomers);
+    }
+
+    public CompletableFuture<Dashboard> getDashboardAsync() {
+        LocalDate today = LocalDate.now();
+        CompletableFuture<Money> revenue = billingService.getTotalRevenueAsync();
+        CompletableFuture<List<DailyRevenue>> lastDays =
+                billingService.getDailyRevenueAsync(today.minusDays(DAYS - 1), today);
+        CompletableFuture<Integer> freeRooms = roomService.countFreeRoomsAsync();
+        CompletableFuture<Integer> availableRooms = roomService.getAvailableRoomsAsync().thenApply(List::size);
+        CompletableFuture<List<CustomerRevenue>> topCustomers = billingService.getTopCustomersAsync(TOP_CUSTOMERS);
+
+        return CompletableFuture.allOf(revenue, lastDays, freeRooms, availableRooms, topCustomers)
+                .thenApply(done -> new Dashboard(revenue.join(), lastDays.join(), freeRooms.join(),
+                        availableRooms.join(), topCustomers.join()));
+    }
+
+    // Same queries one after the other, on the caller's thread
+    public Dashboard getDashboard() {
+        LocalDate today = LocalDate.now();
+        return new Dashboard(billingService.getTotalRevenue(),
+                billingService.getDailyRevenue(today.minusDays(DAYS - 1), today),
+                roomService.countFreeRooms(),
+                roomService.getAvailableRooms().size(),
+                billingService.getTopCustomers(TOP_CUSTOMERS));
+    }
+}
@@ -0,0 +1,227 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.api.Json;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.projection.Folio;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.util.PersistenceMetrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Guest folios: the bills and food orders of a customer, with the room and exact totals.
+ * Each folio comes from one projection query (CustomerDAO.scanFolios) instead of loading the
+ * customer with its bills, room and food items as entities.
+ *
+ * generateFolios() writes the folio of every customer having charges (end-of-day checkout):
+ * the id range is cut into slices of customersPerFile ids, and workers each write one slice
+ * at a time to its own file (folios-<first id>-<last id>.<csv|ndjson|txt>), one query per
+ * slice streamed from the result set. Memory stays bounded by one folio and one write buffer
+ * per worker, whatever the number of customers. A file is written under a temporary name
+ * and renamed when complete; a slice without any folio writes no file, and removes the file
+ * a previous run may have left for it. Files sliced differently (another customersPerFile)
+ * are not recognized: use a new directory when changing it.
+ */
+public class FolioService {
+
+    public enum Format {
+        CSV("csv"), JSON("ndjson"), TEXT("txt");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    public record Run(int files, long folios, long charges, Money total, long elapsedMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%d folios (%d charges, total %s) in %d files in %d ms",
+                    folios, charges, total, files, elapsedMillis);
+        }
+    }
+
+    private record Slice(long folios, long charges, long totalMinor) {
+    }
+
+    private static final int WRITE_BUFFER = 1 << 16;
+    private static final String CSV_HEADER = "customerId;name;roomNo;kind;reference;description;amount;issuedAt\n";
+    private static final String RULE = "-".repeat(64) + "\n";
+
+    private CustomerDAO customerDAO = PersistenceMetrics.instrument(CustomerDAO.class, new CustomerDAOImpl());
+
+    // Null when the customer does not exist or has no charge
+    public Folio getFolio(int customerId) {
+        Folio[] folio = new Folio[1];
+        customerDAO.scanFolios(customerId, customerId, found -> folio[0] = found);
+        return folio[0];
+    }
+
+    // Writes the folios of every customer to directory, with workers threads (each holding a connection)
+    public Run generateFolios(Path directory, Format format, int workers, int customersPerFile) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1: " + workers);
+        }
+        if (customersPerFile < 1) {
+            throw new IllegalArgumentException("customersPerFile must be at least 1: " + customersPerFile);
+        }
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + directory, e);
+        }
+        int[] range = customerDAO.findIdRange();
+        if (range == null) {
+            return new Run(0, 0, 0, Money.ZERO, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Slice>> slices = new ArrayList<>();
+            for (long from = range[0]; from <= range[1]; from += customersPerFile) {
+                int fromId = (int) from;
+                int toId = (int) Math.min(range[1], from + customersPerFile - 1);
+                slices.add(executor.submit(() -> writeSlice(directory, format, fromId, toId)));
+            }
+            int files = 0;
+            long folios = 0;
+            long charges = 0;
+            long total = 0;
+            for (Future<Slice> future : slices) {
+                Slice slice = future.get();
+                if (slice.folios() > 0) {
+                    files++;
+                }
+                folios += slice.folios();
+                charges += slice.charges();
+                total = Math.addExact(total, slice.totalMinor());
+            }
+            return new Run(files, folios, charges, Money.ofMinor(total), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Folio generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Folio generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Slice writeSlice(Path directory, Format format, int fromId, int toId) throws IOException {
+        Path file = directory.resolve("folios-" + fromId + "-" + toId + "." + format.extension);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        long[] counts = new long[3]; // folios, charges, total
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8), WRITE_BUFFER)) {
+            if (format == Format.CSV) {
+                out.write(CSV_HEADER);
+            }
+            StringBuilder text = new StringBuilder(1024);
+            customerDAO.scanFolios(fromId, toId, folio -> {
+                text.setLength(0);
+                switch (format) {
+                    case CSV -> csv(folio, text);
+                    case JSON -> text.append(Json.write(folio)).append('\n');
+                    case TEXT -> text(folio, text);
+                }
+                try {
+                    out.append(text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                counts[0]++;
+                counts[1] += folio.charges().size();
+                counts[2] = Math.addExact(counts[2], folio.total().minorUnits());
+            });
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        if (counts[0] == 0) {
+            Files.delete(temporary);
+            Files.deleteIfExists(file); // stale: the customers of this slice no longer have charges
+        } else {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new Slice(counts[0], counts[1], counts[2]);
+    }
+
+    // One line per charge, then a TOTAL line
+    private static void csv(Folio folio, StringBuilder out) {
+        for (Folio.Charge charge : folio.charges()) {
+            csvPrefix(folio, out).append(charge.kind()).append(';').append(charge.reference()).append(';');
+            csvField(charge.description(), out).append(';').append(charge.amount()).append(';');
+            out.append(charge.issuedAt() != null ? charge.issuedAt() : "").append('\n');
+        }
+        csvPrefix(folio, out).append("TOTAL;;;").append(folio.total()).append(";\n");
+    }
+
+    private static StringBuilder csvPrefix(Folio folio, StringBuilder out) {
+        out.append(folio.customerId()).append(';');
+        csvField(folio.customerName(), out).append(';');
+        return out.append(folio.roomNo() != null ? folio.roomNo() : "").append(';');
+    }
+
+    // Quoted only when it holds a separator, a quote or a line break
+    private static StringBuilder csvField(String value, StringBuilder out) {
+        if (value == null) {
+            return out;
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return out.append(value);
+        }
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    // Printable folio, ended by a form feed (one page per guest)
+    private static void text(Folio folio, StringBuilder out) {
+        out.append("FOLIO  customer ").append(folio.customerId()).append("  ").append(folio.customerName()).append('\n');
+        if (folio.address() != null) {
+            out.append("       ").append(folio.address()).append('\n');
+        }
+        if (folio.roomNo() != null) {
+            out.append("ROOM   ").append(folio.roomNo());
+            if (folio.roomLocation() != null) {
+                out.append(" (").append(folio.roomLocation()).append(')');
+            }
+            out.append('\n');
+        }
+        out.append(RULE);
+        for (Folio.Charge charge : folio.charges()) {
+            String label = charge.kind() == Folio.Kind.BILL
+                    ? "Bill #" + charge.reference() + (charge.issuedAt() != null ? "  " + charge.issuedAt().toLocalDate() : "")
+                    : "Food #" + charge.reference() + (charge.description() != null ? "  " + charge.description() : "");
+            line(label, charge.amount(), out);
+        }
+        out.append(RULE);
+        line("Bills", folio.billTotal(), out);
+        line("Food", folio.foodTotal(), out);
+        line("TOTAL", folio.total(), out);
+        out.append('\f').append('\n');
+    }
+
+    private static void line(String label, Money amount, StringBuilder out) {
+        String value = amount.toString();
+        out.append(label);
+        out.append(" ".repeat(Math.max(1, RULE.length() - 1 - label.length() - value.length())));
+        out.append(value).append('\n');
+    }
+}
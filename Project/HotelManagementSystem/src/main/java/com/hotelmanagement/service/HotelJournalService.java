@@ -0,0 +1,166 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.journal.EventStore;
+import com.hotelmanagement.journal.HotelEvent;
+import com.hotelmanagement.journal.HotelReadModel;
+import com.hotelmanagement.util.HibernateUtil;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bookings, check-ins, check-outs, bills and orders recorded as events in a local journal
+ * (see EventJournal) instead of rows: each call appends a fixed-size record to a memory-mapped
+ * segment and returns once the syncer has forced it to disk, one fsync for every caller
+ * waiting at that moment (group commit). No JDBC round trip, no transaction.
+ *
+ * The queries answer from HotelReadModel, rebuilt at start from the latest snapshot and the
+ * events after it. A snapshot is taken in the background every snapshotEvery events, after
+ * which the segments it covers are deleted.
+ *
+ * A booking, check-in or check-out is journaled only if it follows from the read model (the
+ * room is free, the customer holds the booking, the customer is the occupant), checked under
+ * the store's write lock so that two callers cannot both book the same room; a refused call
+ * returns false and journals nothing.
+ *
+ * This is a separate write path from the Hibernate services: an event recorded here is not
+ * a row in the database, and a row written there is not an event here.
+ *
+ * The shared instance is configured with -Dhotel.journal.dir (default journal),
+ * .segmentBytes (64 MiB), .syncIntervalMillis (10) and .snapshotEvery (1000000), and is
+ * closed by HibernateUtil.shutdown().
+ */
+public class HotelJournalService implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(HotelJournalService.class.getName());
+
+    private static volatile HotelJournalService shared;
+
+    private final EventStore<HotelReadModel> store;
+    private final long snapshotEvery;
+    private final ExecutorService snapshotter;
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    public HotelJournalService(Path directory, int segmentBytes, long syncIntervalMillis, long snapshotEvery) {
+        this.store = EventStore.open(directory, new HotelReadModel(), segmentBytes, syncIntervalMillis);
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotter = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOG.info("Journal " + directory + " recovered: snapshot at " + store.getSnapshotSequence()
+                + ", " + store.getReplayedCount() + " events replayed");
+    }
+
+    public static HotelJournalService getInstance() {
+        HotelJournalService service = shared;
+        if (service == null) {
+            synchronized (HotelJournalService.class) {
+                service = shared;
+                if (service == null) {
+                    service = new HotelJournalService(
+                            Path.of(System.getProperty("hotel.journal.dir", "journal")),
+                            Integer.getInteger("hotel.journal.segmentBytes", 64 << 20),
+                            Long.getLong("hotel.journal.syncIntervalMillis", 10),
+                            Long.getLong("hotel.journal.snapshotEvery", 1_000_000));
+                    shared = service;
+                    HibernateUtil.beforeShutdown(HotelJournalService::closeShared);
+                }
+            }
+        }
+        return service;
+    }
+
+    private static synchronized void closeShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    // False when the room is already booked or occupied
+    public boolean bookRoom(int roomNo, int customerId) {
+        return record(HotelEvent.roomBooked(roomNo, customerId));
+    }
+
+    // False unless the customer holds the booking of the room
+    public boolean checkIn(int roomNo, int customerId) {
+        return record(HotelEvent.checkedIn(roomNo, customerId));
+    }
+
+    // False unless the customer occupies the room
+    public boolean checkOut(int roomNo, int customerId) {
+        return record(HotelEvent.checkedOut(roomNo, customerId));
+    }
+
+    public void issueBill(int customerId, Money amount) {
+        record(HotelEvent.billIssued(customerId, amount));
+    }
+
+    public void orderFood(int customerId, int foodItemId) {
+        record(HotelEvent.foodOrdered(customerId, foodItemId));
+    }
+
+    public List<Integer> getOccupiedRooms() {
+        return store.read(HotelReadModel::getOccupiedRooms);
+    }
+
+    public Integer getOccupant(int roomNo) {
+        return store.read(model -> model.getOccupant(roomNo));
+    }
+
+    public Money getRevenue() {
+        return store.read(HotelReadModel::getRevenue);
+    }
+
+    public Money getRevenue(int customerId) {
+        return store.read(model -> model.getRevenue(customerId));
+    }
+
+    public long getOrders(int foodItemId) {
+        return store.read(model -> model.getOrders(foodItemId));
+    }
+
+    public EventStore<HotelReadModel> getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.close();
+    }
+
+    // Nothing is journaled when the read model refuses the event (HotelReadModel.accepts)
+    private boolean record(HotelEvent event) {
+        long sequence = store.publishDurably(event, model -> model.accepts(event));
+        if (sequence == 0) {
+            return false;
+        }
+        if (sequence % snapshotEvery == 0 && snapshotting.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    store.snapshot();
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Journal snapshot failed", e);
+                } finally {
+                    snapshotting.set(false);
+                }
+            });
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.cache.MaterializedMetrics;
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.projection.CustomerRevenue;
+import com.hotelmanagement.dao.projection.DailyRevenue;
+import com.hotelmanagement.util.PersistenceMetrics;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Corrects the drift of MaterializedMetrics: recomputes the totals with the database
+ * aggregates (BillDAO.sumAmountByDay / sumAmountByCustomer) and applies the
+ * differences. Runs on first use of the counters, then every -Dmetrics.reconcileSeconds
+ * (default 60) on a daemon thread once start() was called.
+ */
+public class MetricsReconciler {
+
+    private static final Logger LOG = Logger.getLogger(MetricsReconciler.class.getName());
+    private static final MetricsReconciler INSTANCE = new MetricsReconciler();
+
+    // Rereads when bills were committed while the aggregates were being read
+    private static final int ATTEMPTS = 3;
+
+    private final BillDAO billDAO = PersistenceMetrics.instrument(BillDAO.class, new BillDAOImpl());
+    private final MaterializedMetrics metrics = MaterializedMetrics.getInstance();
+
+    private ScheduledExecutorService scheduler;
+
+    private MetricsReconciler() {}
+
+    public static MetricsReconciler getInstance() {
+        return INSTANCE;
+    }
+
+    // The counters, reconciled first if they were never loaded or were invalidated
+    public MaterializedMetrics metrics() {
+        if (!metrics.isLoaded()) {
+            reconcile();
+        }
+        return metrics;
+    }
+
+    public MaterializedMetrics.Drift reconcile() {
+        List<DailyRevenue> days;
+        List<CustomerRevenue> customers;
+        int attempt = 0;
+        long events;
+        do {
+            events = metrics.getBillEvents();
+            days = billDAO.sumAmountByDay();
+            customers = billDAO.sumAmountByCustomer();
+        } while (metrics.getBillEvents() != events && ++attempt < ATTEMPTS);
+
+        MaterializedMetrics.Drift drift = metrics.reconcile(days, customers);
+        if (!drift.isZero()) {
+            LOG.warning("Materialized metrics drifted, corrected: " + drift);
+        }
+        return drift;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long period = Long.getLong("metrics.reconcileSeconds", 60);
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Reconciliation of the materialized metrics failed", e);
+            }
+        }, period, period, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
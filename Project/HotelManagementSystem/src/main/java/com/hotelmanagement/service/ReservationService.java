@@ -0,0 +1,127 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.cache.RoomOccupancyIndex;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.ReservationDAO;
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.ReservationDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Reservation;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.PersistenceMetrics;
+import com.hotelmanagement.util.TransactionTemplate;
+
+import java.time.LocalDate;
+
+public class ReservationService {
+
+    // Reservations of the same room are checked and written one at a time (per JVM)
+    private static final Object[] ROOM_LOCKS = new Object[64];
+    private static final Object LOAD_LOCK = new Object();
+
+    static {
+        for (int i = 0; i < ROOM_LOCKS.length; i++) {
+            ROOM_LOCKS[i] = new Object();
+        }
+    }
+
+    private ReservationDAO reservationDAO = PersistenceMetrics.instrument(ReservationDAO.class, new ReservationDAOImpl());
+    private RoomDAO roomDAO = PersistenceMetrics.instrument(RoomDAO.class, new RoomDAOImpl());
+    private CustomerDAO customerDAO = PersistenceMetrics.instrument(CustomerDAO.class, new CustomerDAOImpl());
+    private RoomOccupancyIndex occupancy = RoomOccupancyIndex.getInstance();
+
+    // Returns the saved reservation, or null if the room or the customer is unknown or the room
+    // is not free for [checkIn, checkOut)
+    public Reservation reserve(int roomNo, int customerId, LocalDate checkIn, LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out must be after check-in: " + checkIn + " / " + checkOut);
+        }
+        synchronized (ROOM_LOCKS[Math.floorMod(roomNo, ROOM_LOCKS.length)]) {
+            // The index answers fast; the database stays the authority before writing
+            if (!occupancy().isFree(roomNo, checkIn, checkOut)) {
+                return null;
+            }
+            // Check, lookups and insert share one session and one commit
+            return TransactionTemplate.inTransaction(session -> {
+                if (reservationDAO.existsOverlapping(roomNo, checkIn, checkOut)) {
+                    return null;
+                }
+                Room room = roomDAO.findById(roomNo);
+                Customer customer = customerDAO.findById(customerId);
+                if (room == null || customer == null) {
+                    return null;
+                }
+                Reservation reservation = new Reservation(room, customer, checkIn, checkOut);
+                reservationDAO.save(reservation);
+                return reservation;
+            });
+        }
+    }
+
+    public Reservation getReservation(int id) {
+        return reservationDAO.findById(id);
+    }
+
+    // False when the reservation is cancelled (its nights may have been booked again since) or gone
+    public boolean confirm(Reservation reservation) {
+        return changeStatus(reservation, Reservation.Status.CONFIRMED);
+    }
+
+    // Cancelling twice is not an error
+    public boolean cancel(Reservation reservation) {
+        return changeStatus(reservation, Reservation.Status.CANCELLED);
+    }
+
+    public boolean isRoomFree(int roomNo, LocalDate from, LocalDate to) {
+        return occupancy().isFree(roomNo, from, to);
+    }
+
+    // Room numbers free for the whole stay [from, to), answered from memory
+    public int[] findFreeRooms(LocalDate from, LocalDate to) {
+        return occupancy().freeRooms(from, to);
+    }
+
+    public int countFreeRooms(LocalDate from, LocalDate to) {
+        return occupancy().countFreeRooms(from, to);
+    }
+
+    // The status is read again and written under the room lock, so a cancel, a rebooking of the
+    // same nights and a confirm of the cancelled reservation cannot interleave
+    private boolean changeStatus(Reservation reservation, Reservation.Status status) {
+        synchronized (ROOM_LOCKS[Math.floorMod(reservation.getRoom().getRoomNo(), ROOM_LOCKS.length)]) {
+            boolean changed = TransactionTemplate.inTransaction(session -> {
+                Reservation current = reservationDAO.findById(reservation.getId());
+                if (current == null
+                        || current.getStatus() == Reservation.Status.CANCELLED && status != Reservation.Status.CANCELLED) {
+                    return false;
+                }
+                if (current.getStatus() != status) {
+                    current.setStatus(status);
+                    reservationDAO.update(current);
+                }
+                return true;
+            });
+            if (changed) {
+                reservation.setStatus(status);
+            }
+            return changed;
+        }
+    }
+
+    private RoomOccupancyIndex occupancy() {
+        if (!occupancy.isLoaded()) {
+            synchronized (LOAD_LOCK) {
+                if (!occupancy.isLoaded()) {
+                    load();
+                }
+            }
+        }
+        return occupancy;
+    }
+
+    private void load() {
+        occupancy.load(roomDAO, reservationDAO);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.dao.FoodItemDAO;
+import com.hotelmanagement.dao.impl.FoodItemDAOImpl;
+import com.hotelmanagement.entity.FoodItem;
+import com.hotelmanagement.util.PersistenceMetrics;
+
+import java.util.Collection;
+import java.util.List;
+
+// Restaurant orders: a dish ordered by a guest is a row of customer_food (Customer.foodItems)
+public class RestaurantService {
+
+    private FoodItemDAO foodItemDAO = PersistenceMetrics.instrument(FoodItemDAO.class, new FoodItemDAOImpl());
+
+    public List<FoodItem> getMenu() {
+        return foodItemDAO.findAll();
+    }
+
+    public void addFoodItems(Collection<FoodItem> foodItems) {
+        foodItemDAO.saveAll(foodItems);
+    }
+
+    // One transaction per order
+    public void orderFood(int customerId, int foodItemId) {
+        foodItemDAO.addOrder(customerId, foodItemId);
+    }
+
+    // Buffered and written in a batch within hotel.writebehind.maxDelayMillis (see WriteBehindService)
+    public void orderFoodLater(int customerId, int foodItemId) {
+        WriteBehindService.getInstance().orderFood(customerId, foodItemId);
+    }
+}
@@ -1,23 +1,81 @@
 package com.hotelmanagement.service;
 
+import com.hotelmanagement.cache.RoomAvailabilityCache;
 import com.hotelmanagement.dao.RoomDAO;
 import com.hotelmanagement.dao.impl.RoomDAOImpl;
 import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.DatabaseExecutor;
+import com.hotelmanagement.util.PersistenceMetrics;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class RoomService {
 
-    private RoomDAO roomDAO = new RoomDAOImpl();
+    private static final Object LOAD_LOCK = new Object();
+
+    private RoomDAO roomDAO = PersistenceMetrics.instrument(RoomDAO.class, new RoomDAOImpl());
+    private RoomAvailabilityCache availability = RoomAvailabilityCache.getInstance();
 
     public void addRoom(Room room) {
         roomDAO.save(room);
     }
 
+    public void addRooms(Collection<Room> rooms) {
+        roomDAO.saveAll(rooms);
+    }
+
+    public void updateRoom(Room room) {
+        roomDAO.update(room);
+    }
+
     public List<Room> getAvailableRooms() {
-        return roomDAO.findAll().stream()
-                .filter(Room::isAvailable)
-                .collect(Collectors.toList());
+        return roomDAO.findAvailable();
+    }
+
+    public List<Room> getAvailableRooms(String location) {
+        return roomDAO.findAvailableByLocation(location);
+    }
+
+    // Answered from the in-memory bitmap, no database round trip once loaded
+    public boolean isRoomAvailable(int roomNo) {
+        return availability().isAvailable(roomNo);
+    }
+
+    public boolean roomExists(int roomNo) {
+        return availability().exists(roomNo);
+    }
+
+    public int countFreeRooms(int floor) {
+        return availability().countFreeRooms(floor);
+    }
+
+    public int countFreeRooms() {
+        return availability().countFreeRooms();
+    }
+
+    public List<RoomAvailabilityCache.FloorOccupancy> getOccupancyByFloor() {
+        return availability().getOccupancyByFloor();
+    }
+
+    public CompletableFuture<List<Room>> getAvailableRoomsAsync() {
+        return DatabaseExecutor.getInstance().submit(this::getAvailableRooms);
+    }
+
+    // Only the first call (loading the bitmap) touches the database
+    public CompletableFuture<Integer> countFreeRoomsAsync() {
+        return DatabaseExecutor.getInstance().submit(this::countFreeRooms);
+    }
+
+    private RoomAvailabilityCache availability() {
+        if (!availability.isLoaded()) {
+            synchronized (LOAD_LOCK) {
+                if (!availability.isLoaded()) {
+                    availability.load(roomDAO);
+                }
+            }
+        }
+        return availability;
     }
 }
@@ -0,0 +1,558 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.FoodItemDAO;
+import com.hotelmanagement.dao.FoodItemDAO.OrderLine;
+import com.hotelmanagement.dao.JournalCheckpointDAO;
+import com.hotelmanagement.dao.impl.BillDAOImpl;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.FoodItemDAOImpl;
+import com.hotelmanagement.dao.impl.JournalCheckpointDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.LatencyHistogram;
+import com.hotelmanagement.util.PersistenceMetrics;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind for the restaurant orders and the bills: callers hand the rows to a bounded
+ * buffer and return at once; one flusher thread writes them in batches, one transaction per
+ * batch (JDBC batched), as soon as batchSize rows are waiting or the oldest has waited
+ * maxDelay. A dinner rush becomes a few large commits instead of one commit per row.
+ * Written rows are seen by the database (and MaterializedMetrics, BillColumns) only once flushed.
+ *
+ * Durability of the rows not flushed yet:
+ *   MEMORY        none, a crash loses them
+ *   JOURNAL       each row is appended to a local journal before the call returns, which
+ *                 survives a crash of the JVM (the OS writes it out), not of the machine
+ *   JOURNAL_SYNC  and forced to disk (fsync) before the call returns
+ * Each batch commits the journal sequence of its last row (JournalCheckpointDAO) in the same
+ * transaction, so on start the rows after the checkpoint are queued again and every row is
+ * written exactly once. The journal is truncated whenever the buffer drains. One service per
+ * journal file.
+ *
+ * Backpressure: at most capacity rows may be waiting or being written. Past that a caller
+ * waits up to offerTimeout for room, then gets a RejectedExecutionException.
+ *
+ * A batch refused by a constraint is written row by row: a row failing on its own (unknown
+ * customer...) is logged and dropped, so that it cannot block the rows behind it. Any other
+ * failure (database unreachable, pool exhausted...) keeps the batch and retries it, backing
+ * off up to MAX_RETRY_BACKOFF, for as long as it takes: no acknowledged row is given up for
+ * an outage, and close() waits for the database to come back.
+ *
+ * The shared instance is configured with -Dhotel.writebehind.durability (default JOURNAL),
+ * .journal (write-behind.journal), .capacity (10000), .batchSize (500), .maxDelayMillis (50)
+ * and .offerTimeoutMillis (1000), and is flushed by HibernateUtil.shutdown().
+ */
+public class WriteBehindService implements AutoCloseable {
+
+    public enum Durability { MEMORY, JOURNAL, JOURNAL_SYNC }
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindService.class.getName());
+
+    private static final byte ORDER = 1;
+    private static final byte BILL = 2;
+    // sequence, type, customer id, food item id | amount, issuedAt, CRC32 of the rest
+    private static final int RECORD_BYTES = 8 + 1 + 4 + 8 + 8 + 4;
+    private static final long RETRY_BACKOFF_NANOS = 100_000_000;
+    private static final long MAX_RETRY_BACKOFF_NANOS = 5_000_000_000L;
+
+    private static volatile WriteBehindService shared;
+
+    private final FoodItemDAO foodItemDAO = PersistenceMetrics.instrument(FoodItemDAO.class, new FoodItemDAOImpl());
+    private final BillDAO billDAO = PersistenceMetrics.instrument(BillDAO.class, new BillDAOImpl());
+    private final CustomerDAO customerDAO = PersistenceMetrics.instrument(CustomerDAO.class, new CustomerDAOImpl());
+    private final JournalCheckpointDAO checkpointDAO = new JournalCheckpointDAOImpl();
+
+    private final Durability durability;
+    private final String journalName;
+    private final FileChannel journal;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutMillis;
+
+    // Rows waiting or being written
+    private final Semaphore room;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition progress = lock.newCondition();
+
+    // Guarded by lock
+    private final ArrayDeque<Entry> buffer = new ArrayDeque<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private long lastSequence;
+    private long committedSequence;
+    private long flushTarget;
+    private boolean closed;
+    private boolean flusherStopped;
+    private Throwable flusherFailure;
+
+    private final Thread flusher;
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // A buffered row; value is the food item id of an order, the amount in minor units of a bill
+    private record Entry(long sequence, byte type, int customerId, long value, long issuedAtMicros,
+                         long queuedNanos) {
+    }
+
+    public WriteBehindService(Durability durability, Path journalPath, int capacity, int batchSize,
+                              long maxDelayMillis, long offerTimeoutMillis) {
+        this.durability = durability;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        List<Entry> pending = List.of();
+        if (durability == Durability.MEMORY) {
+            journalName = null;
+            journal = null;
+        } else {
+            journalName = journalPath.toAbsolutePath().normalize().toString();
+            try {
+                journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                pending = recover(checkpointDAO.findLastSequence(journalName));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open write-behind journal " + journalPath, e);
+            }
+        }
+        buffer.addAll(pending);
+        room = new Semaphore(capacity - pending.size()); // negative until the replayed rows are written
+
+        flusher = new Thread(this::flushLoop, "write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static WriteBehindService getInstance() {
+        WriteBehindService service = shared;
+        if (service == null) {
+            synchronized (WriteBehindService.class) {
+                service = shared;
+                if (service == null) {
+                    service = new WriteBehindService(
+                            Durability.valueOf(System.getProperty("hotel.writebehind.durability", "JOURNAL")),
+                            Path.of(System.getProperty("hotel.writebehind.journal", "write-behind.journal")),
+                            Integer.getInteger("hotel.writebehind.capacity", 10_000),
+                            Integer.getInteger("hotel.writebehind.batchSize", 500),
+                            Long.getLong("hotel.writebehind.maxDelayMillis", 50),
+                            Long.getLong("hotel.writebehind.offerTimeoutMillis", 1_000));
+                    shared = service;
+                    HibernateUtil.beforeShutdown(WriteBehindService::closeShared);
+                }
+            }
+        }
+        return service;
+    }
+
+    private static synchronized void closeShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    public void orderFood(int customerId, int foodItemId) {
+        add(ORDER, customerId, foodItemId, 0);
+    }
+
+    // The bill gets its number when flushed, this instance is not the one persisted
+    public void createBill(Bill bill) {
+        LocalDateTime issuedAt = bill.getIssuedAt() != null ? bill.getIssuedAt() : LocalDateTime.now();
+        add(BILL, bill.getCustomer() != null ? bill.getCustomer().getId() : 0,
+                bill.getAmount().minorUnits(), toMicros(issuedAt));
+    }
+
+    // Waits until every row added before this call is committed; fails if the flusher died
+    public void flush() {
+        lock.lock();
+        try {
+            long target = lastSequence;
+            flushTarget = Math.max(flushTarget, target);
+            work.signal();
+            while (committedSequence < target) {
+                if (flusherStopped) {
+                    throw new IllegalStateException("Write-behind flusher stopped, rows after sequence "
+                            + committedSequence + " are not written", flusherFailure);
+                }
+                progress.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes what is buffered, then stops the flusher; later adds are rejected
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Cannot close the write-behind journal", e);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Rows waiting or being written
+    public int getPending() {
+        return capacity - room.availablePermits();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    // Rows that failed on their own and were given up
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Adds refused because the buffer stayed full for offerTimeout
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // From add to commit, per row
+    public LatencyHistogram getFlushLatency() {
+        return flushLatency;
+    }
+
+    private void add(byte type, int customerId, long value, long issuedAtMicros) {
+        try {
+            if (!room.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new RejectedExecutionException("Write-behind buffer full (" + capacity + " rows)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the write-behind buffer", e);
+        }
+        lock.lock();
+        try {
+            if (closed || flusherStopped) {
+                room.release();
+                throw new RejectedExecutionException("Write-behind service closed");
+            }
+            Entry entry = new Entry(lastSequence + 1, type, customerId, value, issuedAtMicros, System.nanoTime());
+            if (journal != null) {
+                try {
+                    append(entry);
+                } catch (IOException e) {
+                    room.release();
+                    throw new UncheckedIOException("Cannot append to the write-behind journal", e);
+                }
+            }
+            lastSequence = entry.sequence();
+            buffer.addLast(entry);
+            if (buffer.size() == 1 || buffer.size() == batchSize) {
+                work.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>();
+        try {
+            while (true) {
+                if (batch.isEmpty() && !take(batch)) {
+                    return; // closed and drained
+                }
+                int rows;
+                try {
+                    rows = write(batch);
+                } catch (RuntimeException e) { // not the database: a bug, keep the batch rather than die
+                    LOG.log(Level.SEVERE, "Write-behind batch of " + batch.size() + " rows failed, retrying it", e);
+                    LockSupport.parkNanos(MAX_RETRY_BACKOFF_NANOS);
+                    continue;
+                }
+                committed(batch, rows);
+                batch.clear();
+            }
+        } catch (Throwable e) {
+            LOG.log(Level.SEVERE, "Write-behind flusher stopped", e);
+            lock.lock();
+            try {
+                flusherFailure = e;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                flusherStopped = true;
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Moves the next batch into batch; false once closed and drained
+    private boolean take(List<Entry> batch) {
+        lock.lock();
+        try {
+            while (buffer.isEmpty() && !closed) {
+                work.awaitUninterruptibly();
+            }
+            if (buffer.isEmpty()) {
+                return false;
+            }
+            // Wait for a full batch, the deadline of the oldest row, a flush() or close()
+            long deadline = buffer.peekFirst().queuedNanos() + maxDelayNanos;
+            long remaining;
+            while (buffer.size() < batchSize && !closed && flushTarget <= committedSequence
+                    && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    work.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    break; // nobody interrupts the flusher, write what is there
+                }
+            }
+            while (batch.size() < batchSize && !buffer.isEmpty()) {
+                batch.add(buffer.pollFirst());
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the rows written, the batch minus the rows dropped
+    private int write(List<Entry> batch) {
+        if (commit(() -> writeInTransaction(batch), batch.size() + " rows")) {
+            return batch.size();
+        }
+        int rows = 0;
+        LOG.warning("Write-behind batch of " + batch.size() + " rows refused by a constraint, writing it row by row");
+        for (Entry entry : batch) {
+            if (commit(() -> writeInTransaction(List.of(entry)), "row " + entry.sequence())) {
+                rows++;
+            } else {
+                dropped.increment();
+                LOG.severe("Write-behind row dropped: " + entry);
+                if (journal != null) { // not replayed either
+                    commit(() -> checkpointDAO.saveLastSequence(journalName, entry.sequence()), "checkpoint");
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Runs the transaction until it commits (true) or a constraint refuses it (false); any other failure
+    // is taken for the database being unreachable and retried with a growing backoff
+    private boolean commit(Runnable transaction, String what) {
+        long backoff = RETRY_BACKOFF_NANOS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.run();
+                return true;
+            } catch (RuntimeException e) {
+                if (isRefused(e)) {
+                    return false;
+                }
+                if (attempt == 1) {
+                    LOG.log(Level.WARNING, "Write-behind commit of " + what + " failed, retrying", e);
+                } else {
+                    LOG.warning("Write-behind commit of " + what + " failed again (attempt " + attempt + "): " + e);
+                }
+                LockSupport.parkNanos(backoff);
+                backoff = Math.min(MAX_RETRY_BACKOFF_NANOS, backoff * 2);
+            }
+        }
+    }
+
+    // A constraint violation, missing foreign key or invalid value: the rows are at fault, not the database
+    private static boolean isRefused(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql) {
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    String state = next.getSQLState();
+                    if (next instanceof SQLIntegrityConstraintViolationException
+                            || state != null && (state.startsWith("23") || state.startsWith("22"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Rows of one batch, then the checkpoint, in one transaction
+    private void writeInTransaction(List<Entry> batch) {
+        TransactionTemplate.runInTransaction(session -> {
+            List<Bill> bills = new ArrayList<>();
+            List<OrderLine> orders = new ArrayList<>();
+            for (Entry entry : batch) {
+                if (entry.type() == BILL) {
+                    Bill bill = new Bill(Money.ofMinor(entry.value()),
+                            entry.customerId() == 0 ? null : customerDAO.getReference(entry.customerId()));
+                    bill.setIssuedAt(fromMicros(entry.issuedAtMicros()));
+                    bills.add(bill);
+                } else {
+                    orders.add(new OrderLine(entry.customerId(), (int) entry.value()));
+                }
+            }
+            billDAO.saveAll(bills);
+            foodItemDAO.addOrders(orders);
+            if (journal != null) {
+                checkpointDAO.saveLastSequence(journalName, batch.get(batch.size() - 1).sequence());
+            }
+        });
+    }
+
+    private void committed(List<Entry> batch, int rows) {
+        long now = System.nanoTime();
+        for (Entry entry : batch) {
+            flushLatency.record(now - entry.queuedNanos());
+        }
+        written.add(rows);
+        batches.increment();
+        lock.lock();
+        try {
+            committedSequence = batch.get(batch.size() - 1).sequence();
+            room.release(batch.size());
+            if (journal != null && buffer.isEmpty()) {
+                try {
+                    journal.truncate(0); // everything in it is committed
+                } catch (IOException e) {
+                    LOG.log(Level.WARNING, "Cannot truncate the write-behind journal", e);
+                }
+            }
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(Entry entry) throws IOException {
+        record.clear();
+        record.putLong(entry.sequence()).put(entry.type()).putInt(entry.customerId())
+                .putLong(entry.value()).putLong(entry.issuedAtMicros());
+        crc.reset();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        record.flip();
+        while (record.hasRemaining()) {
+            journal.write(record);
+        }
+        if (durability == Durability.JOURNAL_SYNC) {
+            journal.force(false);
+        }
+    }
+
+    // Reads the journal back: returns the rows after the checkpoint, drops a torn last record
+    private List<Entry> recover(long checkpoint) throws IOException {
+        List<Entry> pending = new ArrayList<>();
+        long size = journal.size();
+        long position = 0;
+        lastSequence = checkpoint;
+        committedSequence = checkpoint;
+        ByteBuffer read = ByteBuffer.allocate(RECORD_BYTES);
+        while (position + RECORD_BYTES <= size) {
+            read.clear();
+            while (read.hasRemaining() && journal.read(read, position + read.position()) >= 0) {
+                // until the record is complete
+            }
+            crc.reset();
+            crc.update(read.array(), 0, RECORD_BYTES - 4);
+            if (read.getInt(RECORD_BYTES - 4) != (int) crc.getValue()) {
+                break;
+            }
+            read.flip();
+            Entry entry = new Entry(read.getLong(), read.get(), read.getInt(), read.getLong(), read.getLong(),
+                    System.nanoTime());
+            if (entry.sequence() > checkpoint) {
+                pending.add(entry);
+                lastSequence = entry.sequence();
+            }
+            position += RECORD_BYTES;
+        }
+        if (position < size) {
+            LOG.warning("Write-behind journal: dropped an incomplete record at the end (" + (size - position)
+                    + " bytes)");
+        }
+        journal.truncate(pending.isEmpty() ? 0 : position);
+        journal.position(journal.size());
+        if (!pending.isEmpty()) {
+            LOG.info("Write-behind journal: replaying " + pending.size() + " rows after sequence " + checkpoint);
+        }
+        return pending;
+    }
+
+    // A local date-time as microseconds, UTC used only as a fixed encoding
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotelmanagement.util;
+
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Hit / miss / put / eviction counters of every second-level cache region,
+ * used to tune the region sizes of application.conf.
+ * Hits, misses and puts come from Hibernate statistics, evictions from the
+ * JCache statistics MBean of the region (monitoring.statistics = true).
+ */
+public final class CacheStatistics {
+
+    public record RegionStatistics(String region, long hits, long misses, long puts, long evictions) {
+
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private CacheStatistics() {}
+
+    public static List<RegionStatistics> regions() {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        CacheImplementor cache = (CacheImplementor) HibernateUtil.getSessionFactory().getCache();
+        Set<String> names = new TreeSet<>(cache.getCacheRegionNames());
+
+        List<RegionStatistics> regions = new ArrayList<>(names.size());
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            regions.add(new RegionStatistics(name, region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), evictionsOf(name)));
+        }
+        return regions;
+    }
+
+    public static String report() {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        StringBuilder report = new StringBuilder(String.format("%-34s %10s %10s %10s %10s %7s%n",
+                "region", "hits", "misses", "puts", "evictions", "ratio"));
+        for (RegionStatistics region : regions()) {
+            report.append(String.format("%-34s %10d %10d %10d %10d %6.1f%%%n", region.region(), region.hits(),
+                    region.misses(), region.puts(), region.evictions(), region.hitRatio() * 100));
+        }
+        report.append(String.format("query cache: hits=%d misses=%d puts=%d",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        return report.toString();
+    }
+
+    // Standard JCache MBean: javax.cache:type=CacheStatistics,CacheManager=...,Cache=<region>
+    private static long evictionsOf(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            long evictions = 0;
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                if (region.equals(name.getKeyProperty("Cache"))) {
+                    evictions += ((Number) server.getAttribute(name, "CacheEvictions")).longValue();
+                }
+            }
+            return evictions;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
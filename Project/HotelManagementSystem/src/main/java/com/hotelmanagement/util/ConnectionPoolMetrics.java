@@ -0,0 +1,95 @@
+package com.hotelmanagement.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the HikariCP pool behind Hibernate: active / idle / waiting
+ * connections and connection acquire latency percentiles.
+ *
+ * Hikari plugs the tracker in through the "hikari.metricsTrackerFactory"
+ * property of hibernate.cfg.xml.
+ */
+public class ConnectionPoolMetrics {
+
+    private static final ConnectionPoolMetrics INSTANCE = new ConnectionPoolMetrics();
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+    private volatile String poolName = "";
+
+    private ConnectionPoolMetrics() {}
+
+    public static ConnectionPoolMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public String getPoolName() { return poolName; }
+
+    public int getActiveConnections() { return poolStats == null ? 0 : poolStats.getActiveConnections(); }
+
+    public int getIdleConnections() { return poolStats == null ? 0 : poolStats.getIdleConnections(); }
+
+    public int getTotalConnections() { return poolStats == null ? 0 : poolStats.getTotalConnections(); }
+
+    public int getThreadsAwaitingConnection() { return poolStats == null ? 0 : poolStats.getPendingThreads(); }
+
+    public int getMaxConnections() { return poolStats == null ? 0 : poolStats.getMaxConnections(); }
+
+    public long getConnectionTimeouts() { return timeouts.sum(); }
+
+    // Time spent by callers waiting for a connection
+    public LatencyHistogram getAcquireLatency() { return acquireLatency; }
+
+    // Time a connection stays borrowed before going back to the pool
+    public LatencyHistogram getUsageTime() { return usageTime; }
+
+    @Override
+    public String toString() {
+        return String.format("pool=%s active=%d idle=%d total=%d/%d waiting=%d timeouts=%d%n"
+                        + "  acquire: %s%n  usage:   %s",
+                poolName, getActiveConnections(), getIdleConnections(), getTotalConnections(),
+                getMaxConnections(), getThreadsAwaitingConnection(), getConnectionTimeouts(),
+                acquireLatency, usageTime);
+    }
+
+    /** Instantiated by HikariCP from the pool configuration. */
+    public static class TrackerFactory implements MetricsTrackerFactory {
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            INSTANCE.poolName = poolName;
+            INSTANCE.poolStats = poolStats;
+            return new Tracker(INSTANCE);
+        }
+    }
+
+    private static class Tracker implements IMetricsTracker {
+
+        private final ConnectionPoolMetrics metrics;
+
+        Tracker(ConnectionPoolMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            metrics.acquireLatency.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            metrics.usageTime.record(elapsedBorrowedMillis * 1_000_000L);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            metrics.timeouts.increment();
+        }
+    }
+}
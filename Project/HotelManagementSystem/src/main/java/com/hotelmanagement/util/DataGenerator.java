@@ -0,0 +1,459 @@
+package com.hotelmanagement.util;
+
+import com.hotelmanagement.cache.BillColumns;
+import com.hotelmanagement.cache.CustomerSearchIndex;
+import com.hotelmanagement.cache.MaterializedMetrics;
+import com.hotelmanagement.cache.RoomAvailabilityCache;
+import com.hotelmanagement.cache.RoomOccupancyIndex;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Synthetic data generator for load tests and capacity planning.
+ *
+ * Fills rooms (spread over floors), customers, a power-law number of bills and
+ * food orders per customer, and non-overlapping reservations over a period.
+ * The output only depends on the seed and the settings, never on the clock: the
+ * period (by default the year before) and the reservation statuses are computed
+ * from a fixed today (DEFAULT_TODAY unless setToday is called). Every chunk of
+ * rows draws from its own random stream and ids are assigned from precomputed
+ * counts, so the number of producer threads changes the speed, never the data.
+ *
+ * Rows are written with JDBC batches (bypassing the persistence context) by
+ * parallel producers, then the id sequences are moved past the generated ids and
+ * the in-memory caches are dropped. Expects empty tables.
+ */
+public class DataGenerator {
+
+    private static final String[] FIRST_NAMES = {"Adam", "Amina", "Youssef", "Sara", "Omar", "Lina", "Karim",
+            "Nora", "Hamza", "Salma", "John", "Jane", "Lucas", "Emma", "Mateo", "Chloe", "Ali", "Ines", "Noah", "Maya"};
+    private static final String[] LAST_NAMES = {"Alaoui", "Bennani", "El Amrani", "Tazi", "Idrissi", "Berrada",
+            "Smith", "Martin", "Garcia", "Rossi", "Muller", "Dubois", "Haddad", "Chraibi", "Fassi", "Lopez"};
+    private static final String[] STREETS = {"Main St", "Oak St", "Avenue Hassan II", "Boulevard Zerktouni",
+            "Rue de Paris", "Maple Ave", "Park Lane", "Rue Atlas", "High Street", "Corniche"};
+    private static final String[] CITIES = {"Casablanca", "Rabat", "Marrakech", "Tangier", "Fes", "Paris",
+            "Madrid", "London", "New York", "Dubai"};
+    private static final String[] DISHES = {"Tajine", "Couscous", "Harira", "Pastilla", "Club Sandwich",
+            "Caesar Salad", "Grilled Fish", "Mint Tea", "Espresso", "Pancakes", "Omelette", "Pizza",
+            "Burger", "Fruit Plate", "Orange Juice"};
+    private static final String[] PORTIONS = {"Small", "Regular", "Large", "Family"};
+
+    private static final int MAX_BILLS_PER_CUSTOMER = 200;
+    private static final int MAX_ORDERS_PER_CUSTOMER = 50;
+
+    public static final LocalDate DEFAULT_TODAY = LocalDate.of(2025, 1, 1);
+
+    private final long seed;
+    private int floors = 10;
+    private int roomsPerFloor = 40;
+    private int customers = 10_000;
+    private int menuSize = 120;
+    private double occupancy = 0.7;
+    // Exponents of the power laws: smaller means a heavier tail of big spenders
+    private double billsExponent = 2.2;
+    private double ordersExponent = 2.0;
+    private LocalDate today = DEFAULT_TODAY;
+    private LocalDate periodStart; // null: the year before today
+    private int periodDays = 365;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 10_000;
+    private int batchSize = 1_000;
+
+    public record Result(int[] roomNos, int customers, int bills, int foodItems, int foodOrders,
+                         int reservations, long elapsedMillis) {
+
+        public long rows() {
+            return (long) roomNos.length + customers + bills + foodItems + foodOrders + reservations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rooms, %d customers, %d bills, %d food items, %d food orders, "
+                            + "%d reservations (%d rows) in %d ms", roomNos.length, customers, bills, foodItems,
+                    foodOrders, reservations, rows(), elapsedMillis);
+        }
+    }
+
+    public DataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    // Setters (room numbers are floor * 100 + n, so at most 99 rooms per floor)
+    public void setFloors(int floors) { this.floors = floors; }
+    public void setRoomsPerFloor(int roomsPerFloor) {
+        if (roomsPerFloor < 1 || roomsPerFloor > 99) {
+            throw new IllegalArgumentException("roomsPerFloor must be in [1, 99]: " + roomsPerFloor);
+        }
+        this.roomsPerFloor = roomsPerFloor;
+    }
+    public void setCustomers(int customers) { this.customers = customers; }
+    public void setMenuSize(int menuSize) { this.menuSize = menuSize; }
+    public void setOccupancy(double occupancy) { this.occupancy = occupancy; }
+    public void setBillsExponent(double billsExponent) { this.billsExponent = billsExponent; }
+    public void setOrdersExponent(double ordersExponent) { this.ordersExponent = ordersExponent; }
+    // Reservations checking in before today are CONFIRMED, the others CONFIRMED or PENDING
+    public void setToday(LocalDate today) { this.today = today; }
+    public void setPeriod(LocalDate periodStart, int periodDays) {
+        this.periodStart = periodStart;
+        this.periodDays = periodDays;
+    }
+    public void setThreads(int threads) { this.threads = threads; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    // True when there is no customer yet (the generator expects empty tables)
+    public static boolean isDatabaseEmpty() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("select 1 from Customer", Integer.class)
+                    .setMaxResults(1).list().isEmpty();
+        }
+    }
+
+    public Result generate() {
+        HibernateUtil.getSessionFactory(); // creates the schema if needed
+        long start = System.nanoTime();
+
+        int[] roomNos = roomNumbers();
+        int[] occupiedRooms = writeRooms(roomNos);
+        writeFoodItems();
+
+        int chunks = (customers + chunkSize - 1) / chunkSize;
+        int[] billCounts = new int[customers];
+        int[] orderCounts = new int[customers];
+        long[] firstBillOfChunk = new long[chunks + 1];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            SplittableRandom random = random(1, chunk);
+            long bills = 0;
+            for (int i = chunk * chunkSize; i < Math.min(customers, (chunk + 1) * chunkSize); i++) {
+                billCounts[i] = powerLaw(random, billsExponent, MAX_BILLS_PER_CUSTOMER);
+                orderCounts[i] = powerLaw(random, ordersExponent, Math.min(MAX_ORDERS_PER_CUSTOMER, menuSize));
+                bills += billCounts[i];
+            }
+            firstBillOfChunk[chunk + 1] = firstBillOfChunk[chunk] + bills;
+        }
+
+        List<Reservations> reservations = planReservations(roomNos);
+        int reservationCount = reservations.stream().mapToInt(r -> r.count).sum();
+
+        ExecutorService producers = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int c = chunk;
+                tasks.add(producers.submit(() -> writeCustomerChunk(c, occupiedRooms, billCounts, orderCounts,
+                        firstBillOfChunk[c] + 1)));
+            }
+            // Reservations reference any customer: start them once every customer is written
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            tasks.clear();
+            int firstReservationId = 1;
+            for (Reservations chunk : reservations) {
+                int firstId = firstReservationId;
+                tasks.add(producers.submit(() -> writeReservations(chunk, firstId)));
+                firstReservationId += chunk.count;
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Data generation failed", e);
+        } finally {
+            producers.shutdown();
+        }
+
+        int billCount = (int) firstBillOfChunk[chunks];
+        int orderCount = Arrays.stream(orderCounts).sum();
+        restartSequences(billCount, reservationCount);
+        invalidateCaches();
+
+        return new Result(roomNos, customers, billCount, menuSize, orderCount, reservationCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // --- rooms and menu (small, single producer) ---
+
+    private int[] roomNumbers() {
+        int[] roomNos = new int[floors * roomsPerFloor];
+        for (int floor = 0; floor < floors; floor++) {
+            for (int n = 0; n < roomsPerFloor; n++) {
+                roomNos[floor * roomsPerFloor + n] = (floor + 1) * 100 + n + 1;
+            }
+        }
+        return roomNos;
+    }
+
+    // Returns the occupied rooms: the first customers are their current guests
+    private int[] writeRooms(int[] roomNos) {
+        SplittableRandom random = random(0, 0);
+        boolean[] occupied = new boolean[roomNos.length];
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into rooms (room_no, location, available, version) values (?, ?, ?, 0)")) {
+                for (int i = 0; i < roomNos.length; i++) {
+                    occupied[i] = random.nextDouble() < occupancy;
+                    insert.setInt(1, roomNos[i]);
+                    insert.setString(2, floorName(roomNos[i] / 100));
+                    insert.setBoolean(3, !occupied[i]);
+                    addBatch(insert, i);
+                }
+                insert.executeBatch();
+            }
+        });
+        int[] occupiedRooms = new int[roomNos.length];
+        int count = 0;
+        for (int i = 0; i < roomNos.length; i++) {
+            if (occupied[i]) {
+                occupiedRooms[count++] = roomNos[i];
+            }
+        }
+        return Arrays.copyOf(occupiedRooms, count);
+    }
+
+    private void writeFoodItems() {
+        SplittableRandom random = random(0, 1);
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into food_items (id, name, price_minor) values (?, ?, ?)")) {
+                for (int i = 0; i < menuSize; i++) {
+                    insert.setInt(1, i + 1);
+                    insert.setString(2, PORTIONS[i / DISHES.length % PORTIONS.length] + " " + DISHES[i % DISHES.length]);
+                    insert.setLong(3, 200 + random.nextInt(4_800)); // cents
+                    addBatch(insert, i);
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    // --- customers with their bills and food orders (one chunk per producer task) ---
+
+    private void writeCustomerChunk(int chunk, int[] occupiedRooms, int[] billCounts, int[] orderCounts,
+                                    long firstBillNo) {
+        SplittableRandom random = random(2, chunk);
+        int from = chunk * chunkSize;
+        int to = Math.min(customers, from + chunkSize);
+        inTransaction(connection -> {
+            try (PreparedStatement customer = connection.prepareStatement(
+                    "insert into customers (id, name, address, phone, room_id) values (?, ?, ?, ?, ?)");
+                 PreparedStatement bill = connection.prepareStatement(
+                         "insert into bills (billNo, amount_minor, issued_at, customer_id) values (?, ?, ?, ?)");
+                 PreparedStatement order = connection.prepareStatement(
+                         "insert into customer_food (customer_id, food_id) values (?, ?)")) {
+                long billNo = firstBillNo;
+                int billRows = 0;
+                int orderRows = 0;
+                for (int i = from; i < to; i++) {
+                    int id = i + 1;
+                    customer.setInt(1, id);
+                    customer.setString(2, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+                    customer.setString(3, (1 + random.nextInt(300)) + " " + pick(random, STREETS) + ", "
+                            + pick(random, CITIES));
+                    customer.setString(4, "+2126" + (10_000_000 + random.nextInt(90_000_000)));
+                    if (i < occupiedRooms.length) {
+                        customer.setInt(5, occupiedRooms[i]);
+                    } else {
+                        customer.setNull(5, Types.INTEGER);
+                    }
+                    addBatch(customer, i - from);
+                }
+                // Parents first: bills and orders reference the customers of this chunk
+                customer.executeBatch();
+
+                for (int i = from; i < to; i++) {
+                    int id = i + 1;
+                    for (int b = 0; b < billCounts[i]; b++) {
+                        bill.setLong(1, billNo++);
+                        bill.setLong(2, billAmount(random));
+                        bill.setTimestamp(3, randomInstant(random));
+                        bill.setInt(4, id);
+                        addBatch(bill, billRows++);
+                    }
+                    int firstDish = random.nextInt(menuSize);
+                    for (int o = 0; o < orderCounts[i]; o++) {
+                        order.setInt(1, id);
+                        order.setInt(2, (firstDish + o) % menuSize + 1);
+                        addBatch(order, orderRows++);
+                    }
+                }
+                bill.executeBatch();
+                order.executeBatch();
+            }
+        });
+    }
+
+    // --- reservations: back-to-back stays per room, so a room is never double booked ---
+
+    private static final class Reservations {
+        final int[] roomNos;
+        final int[] checkIns;
+        final int[] nights;
+        final int[] customerIds;
+        int count;
+
+        Reservations(int capacity) {
+            roomNos = new int[capacity];
+            checkIns = new int[capacity];
+            nights = new int[capacity];
+            customerIds = new int[capacity];
+        }
+    }
+
+    private List<Reservations> planReservations(int[] roomNos) {
+        List<Reservations> chunks = new ArrayList<>();
+        int roomsPerChunk = 25;
+        int firstDay = (int) periodStart().toEpochDay();
+        for (int chunk = 0; chunk * roomsPerChunk < roomNos.length; chunk++) {
+            SplittableRandom random = random(3, chunk);
+            int from = chunk * roomsPerChunk;
+            int to = Math.min(roomNos.length, from + roomsPerChunk);
+            Reservations plan = new Reservations((to - from) * (periodDays / 2 + 1));
+            for (int r = from; r < to; r++) {
+                int day = random.nextInt(4);
+                while (day < periodDays && customers > 0) {
+                    int stay = 1 + powerLaw(random, 2.5, 13);
+                    plan.roomNos[plan.count] = roomNos[r];
+                    plan.checkIns[plan.count] = firstDay + day;
+                    plan.nights[plan.count] = stay;
+                    plan.customerIds[plan.count] = 1 + random.nextInt(customers);
+                    plan.count++;
+                    // Gap until the next arrival shrinks as occupancy grows
+                    day += stay + 1 + (int) (random.nextDouble() * 6 * (1 - occupancy));
+                }
+            }
+            chunks.add(plan);
+        }
+        return chunks;
+    }
+
+    private void writeReservations(Reservations plan, int firstId) {
+        SplittableRandom random = random(4, firstId);
+        long today = this.today.toEpochDay();
+        inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into reservations (id, room_no, customer_id, check_in, check_out, status) "
+                            + "values (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < plan.count; i++) {
+                    LocalDate checkIn = LocalDate.ofEpochDay(plan.checkIns[i]);
+                    insert.setInt(1, firstId + i);
+                    insert.setInt(2, plan.roomNos[i]);
+                    insert.setInt(3, plan.customerIds[i]);
+                    insert.setDate(4, Date.valueOf(checkIn));
+                    insert.setDate(5, Date.valueOf(checkIn.plusDays(plan.nights[i])));
+                    insert.setString(6, plan.checkIns[i] < today || random.nextDouble() < 0.8
+                            ? "CONFIRMED" : "PENDING");
+                    addBatch(insert, i);
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    // --- helpers ---
+
+    private interface JdbcWork {
+        void execute(Connection connection) throws SQLException;
+    }
+
+    private void inTransaction(JdbcWork work) {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            session.doWork(work::execute);
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx != null && tx.isActive()) tx.rollback();
+            throw e;
+        }
+    }
+
+    private void addBatch(PreparedStatement statement, int row) throws SQLException {
+        statement.addBatch();
+        if ((row + 1) % batchSize == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    // The tables were written behind Hibernate's back: drop everything derived from them
+    static void invalidateCaches() {
+        HibernateUtil.getSessionFactory().getCache().evictAllRegions();
+        RoomAvailabilityCache.getInstance().invalidate();
+        RoomOccupancyIndex.getInstance().invalidate();
+        CustomerSearchIndex.getInstance().invalidate();
+        MaterializedMetrics.getInstance().invalidate();
+        BillColumns.getInstance().invalidate();
+    }
+
+    // Moves each pooled sequence (increment 50) past the generated ids
+    private void restartSequences(int bills, int reservations) {
+        int allocation = 50;
+        inTransaction(connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute("alter sequence customers_seq restart with " + (customers + allocation));
+                statement.execute("alter sequence bills_seq restart with " + (bills + allocation));
+                statement.execute("alter sequence food_items_seq restart with " + (menuSize + allocation));
+                statement.execute("alter sequence reservations_seq restart with " + (reservations + allocation));
+            }
+        });
+    }
+
+    // Each (stream, chunk) pair gets its own reproducible random sequence
+    private LocalDate periodStart() {
+        return periodStart != null ? periodStart : today.minusYears(1);
+    }
+
+    private SplittableRandom random(int stream, int chunk) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + chunk);
+    }
+
+    // Discrete power law on [0, max]: P(k) ~ (k + 1)^-exponent
+    private static int powerLaw(SplittableRandom random, double exponent, int max) {
+        double u = random.nextDouble();
+        int k = (int) Math.pow(1 - u, -1 / (exponent - 1)) - 1;
+        return Math.min(k, max);
+    }
+
+    // Log-normal around 90 (room nights, minibar, restaurant...), rounded to cents
+    // In cents
+    private static long billAmount(SplittableRandom random) {
+        double gaussian = random.nextDouble() + random.nextDouble() + random.nextDouble()
+                + random.nextDouble() - 2; // ~N(0, 0.33)
+        return Math.round(Math.exp(4.5 + 1.8 * gaussian) * 100);
+    }
+
+    private Timestamp randomInstant(SplittableRandom random) {
+        long seconds = periodStart().toEpochDay() * 86_400 + random.nextLong((long) periodDays * 86_400);
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String floorName(int floor) {
+        return switch (floor) {
+            case 1 -> "First Floor";
+            case 2 -> "Second Floor";
+            case 3 -> "Third Floor";
+            default -> "Floor " + floor;
+        };
+    }
+}
@@ -0,0 +1,583 @@
+package com.hotelmanagement.util;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Backup and migration of the whole dataset as files, independent of the database behind
+ * hibernate.cfg.xml: every mapped table (rooms, customers, bills, food items and orders,
+ * reservations, inventory, staff) to <table>.ndjson.gz and back.
+ *
+ * A file is gzipped NDJSON: a first line with the column names, then one JSON array per row,
+ * in primary key order. Numbers are written as is (amounts are minor units), timestamps and
+ * dates in ISO-8601, so a dump is exact and readable with zcat and jq.
+ *
+ * exportTo() streams each table on its own worker through a read-only StatelessSession
+ * cursor (no persistence context, FETCH_SIZE rows at a time), gzipped at the fastest level.
+ * A file is written under a temporary name and renamed when complete. Tables are read in
+ * separate transactions: export a quiet database.
+ *
+ * importFrom() expects empty tables (as DataGenerator does) and writes the rows with their
+ * ids through JDBC batches, one worker per table: parents before children (rooms, the menu,
+ * inventory and staff, then customers, then bills, orders and reservations), committing
+ * every commitRows rows. Then the id sequences are moved past the imported ids and the
+ * in-memory caches are dropped. A missing file leaves its table empty. The write-behind
+ * journal checkpoints are not exported: they belong to a journal file on the local disk.
+ * If a table fails (malformed file, constraint...), the other workers stop at their next
+ * commit and every table is emptied again, so the import can be rerun once the cause is
+ * fixed. Should that cleanup fail too, delete the rows by hand, children first (the reverse
+ * of the order above), before running it again.
+ */
+public class DataTransfer {
+
+    private static final Logger LOG = Logger.getLogger(DataTransfer.class.getName());
+
+    public static final String FILE_SUFFIX = ".ndjson.gz";
+    private static final int FETCH_SIZE = 1_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private enum Type {
+        INT(Types.INTEGER), LONG(Types.BIGINT), DOUBLE(Types.DOUBLE), BOOLEAN(Types.BOOLEAN),
+        STRING(Types.VARCHAR), TIMESTAMP(Types.TIMESTAMP), DATE(Types.DATE);
+
+        final int sqlType;
+
+        Type(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    private record Column(String name, Type type) {
+    }
+
+    // level: imported after the tables of lower levels (foreign keys); sequence null without generated ids
+    private record Table(String name, int level, String sequence, String orderBy, Column... columns) {
+
+        Column column(String name) {
+            for (Column column : columns) {
+                if (column.name().equalsIgnoreCase(name)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final List<Table> TABLES = List.of(
+            new Table("rooms", 0, null, "room_no",
+                    new Column("room_no", Type.INT), new Column("location", Type.STRING),
+                    new Column("available", Type.BOOLEAN), new Column("version", Type.INT)),
+            new Table("food_items", 0, "food_items_seq", "id",
+                    new Column("id", Type.INT), new Column("name", Type.STRING), new Column("price_minor", Type.LONG)),
+            new Table("inventory", 0, "inventory_seq", "id",
+                    new Column("id", Type.INT), new Column("itemName", Type.STRING),
+                    new Column("quantity", Type.INT), new Column("low_stock_threshold", Type.INT)),
+            new Table("managers", 0, "managers_seq", "id",
+                    new Column("id", Type.INT), new Column("name", Type.STRING), new Column("department", Type.STRING)),
+            new Table("owners", 0, "owners_seq", "id",
+                    new Column("id", Type.INT), new Column("name", Type.STRING),
+                    new Column("sharePercentage", Type.DOUBLE)),
+            new Table("receptionists", 0, "receptionists_seq", "id",
+                    new Column("id", Type.INT), new Column("name", Type.STRING), new Column("shiftHours", Type.INT)),
+            new Table("customers", 1, "customers_seq", "id",
+                    new Column("id", Type.INT), new Column("name", Type.STRING), new Column("address", Type.STRING),
+                    new Column("phone", Type.STRING), new Column("room_id", Type.INT)),
+            new Table("bills", 2, "bills_seq", "billNo",
+                    new Column("billNo", Type.INT), new Column("amount_minor", Type.LONG),
+                    new Column("issued_at", Type.TIMESTAMP), new Column("customer_id", Type.INT)),
+            new Table("customer_food", 2, null, "customer_id, food_id",
+                    new Column("customer_id", Type.INT), new Column("food_id", Type.INT)),
+            new Table("reservations", 2, "reservations_seq", "id",
+                    new Column("id", Type.INT), new Column("room_no", Type.INT), new Column("customer_id", Type.INT),
+                    new Column("check_in", Type.DATE), new Column("check_out", Type.DATE),
+                    new Column("status", Type.STRING)));
+
+    public record TableResult(String table, long rows, long bytes, long elapsedMillis) {
+    }
+
+    public record Result(List<TableResult> tables, long elapsedMillis) {
+
+        public long rows() {
+            return tables.stream().mapToLong(TableResult::rows).sum();
+        }
+
+        public long bytes() {
+            return tables.stream().mapToLong(TableResult::bytes).sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows (%d tables, %.1f MB) in %d ms", rows(), tables.size(), bytes() / 1e6,
+                    elapsedMillis);
+        }
+    }
+
+    private int threads = TABLES.size();
+    private int batchSize = 1_000;
+    private int commitRows = 20_000;
+
+    // Setters (threads: tables moved at once, each holding a connection)
+    public void setThreads(int threads) { this.threads = threads; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public void setCommitRows(int commitRows) { this.commitRows = commitRows; }
+
+    // Names of the files written by exportTo(), in import order
+    public static List<String> fileNames() {
+        return TABLES.stream().map(table -> table.name() + FILE_SUFFIX).toList();
+    }
+
+    public Result exportTo(Path directory) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + directory, e);
+        }
+        List<TableResult> results = run(TABLES, table -> exportTable(table, directory));
+        return new Result(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Result importFrom(Path directory) {
+        long start = System.nanoTime();
+        for (Table table : TABLES) {
+            if (!isEmpty(table)) {
+                throw new IllegalStateException("Import expects empty tables, " + table.name() + " has rows");
+            }
+        }
+        List<TableResult> results = new ArrayList<>();
+        int levels = TABLES.stream().mapToInt(Table::level).max().orElse(0);
+        try {
+            for (int level = 0; level <= levels; level++) {
+                int current = level;
+                List<Table> tables = TABLES.stream()
+                        .filter(table -> table.level() == current && Files.exists(file(directory, table)))
+                        .toList();
+                results.addAll(run(tables, table -> importTable(table, directory)));
+            }
+        } catch (RuntimeException e) {
+            try {
+                deleteAll(); // the tables were empty: every row is from this run
+                LOG.warning("Import from " + directory + " failed, the tables were emptied again");
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            DataGenerator.invalidateCaches();
+            throw e;
+        }
+        TABLES.stream()
+                .filter(table -> !Files.exists(file(directory, table)))
+                .forEach(table -> LOG.warning("No " + file(directory, table) + ", " + table.name() + " left empty"));
+        restartSequences();
+        DataGenerator.invalidateCaches();
+        return new Result(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // --- export ---
+
+    private TableResult exportTable(Table table, Path directory) throws IOException {
+        long start = System.nanoTime();
+        Path file = file(directory, table);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        String select = "select " + String.join(", ", Arrays.stream(table.columns()).map(Column::name).toList())
+                + " from " + table.name() + " order by " + table.orderBy();
+        long rows = 0;
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+             Writer out = new BufferedWriter(new OutputStreamWriter(gzip(Files.newOutputStream(temporary)),
+                     StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            Transaction tx = session.beginTransaction();
+            try (ScrollableResults<Object[]> results = session.createNativeQuery(select, Object[].class)
+                    .setReadOnly(true)
+                    .setFetchSize(FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                StringBuilder line = new StringBuilder(256);
+                line.append('[');
+                for (int i = 0; i < table.columns().length; i++) {
+                    if (i > 0) line.append(',');
+                    string(table.columns()[i].name(), line);
+                }
+                out.append(line.append("]\n"));
+                while (results.next()) {
+                    Object[] row = results.get();
+                    line.setLength(0);
+                    line.append('[');
+                    for (int i = 0; i < row.length; i++) {
+                        if (i > 0) line.append(',');
+                        value(row[i], line);
+                    }
+                    out.append(line.append("]\n"));
+                    rows++;
+                }
+            } finally {
+                tx.rollback(); // read-only, nothing to commit
+            }
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new TableResult(table.name(), rows, Files.size(file), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void value(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String s) {
+            string(s, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Timestamp timestamp) {
+            string(timestamp.toLocalDateTime().toString(), out);
+        } else if (value instanceof Date date) {
+            string(date.toLocalDate().toString(), out);
+        } else {
+            string(value.toString(), out); // LocalDateTime, LocalDate
+        }
+    }
+
+    private static void string(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    // gzip at the fastest level: the default level costs several times the CPU for a few percent
+    private static OutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    // --- import ---
+
+    private TableResult importTable(Table table, Path directory) throws IOException {
+        long start = System.nanoTime();
+        Path file = file(directory, table);
+        long[] rows = new long[1];
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+             StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            String header = in.readLine();
+            if (header == null) {
+                throw new IllegalStateException(file + " is empty");
+            }
+            List<String> names = parse(header, file, 1);
+            Column[] columns = new Column[names.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = table.column(names.get(i));
+                if (columns[i] == null) {
+                    throw new IllegalStateException(file + ": unknown column " + names.get(i) + " in " + table.name());
+                }
+            }
+            String insert = "insert into " + table.name() + " (" + String.join(", ", names) + ") values ("
+                    + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+            long[] lineNo = {1};
+            boolean[] more = {true};
+            while (more[0]) { // one transaction per commitRows rows
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Import of " + table.name() + " stopped: another table failed");
+                }
+                Transaction tx = session.beginTransaction();
+                try {
+                    session.doWork(connection -> {
+                        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+                            int pending = 0;
+                            while (pending < commitRows) {
+                                String line = in.readLine();
+                                if (line == null) {
+                                    more[0] = false;
+                                    break;
+                                }
+                                lineNo[0]++;
+                                if (line.isEmpty()) {
+                                    continue;
+                                }
+                                List<String> values = parse(line, file, lineNo[0]);
+                                if (values.size() != columns.length) {
+                                    throw new IllegalStateException(file + ":" + lineNo[0] + ": " + values.size()
+                                            + " values for " + columns.length + " columns");
+                                }
+                                for (int i = 0; i < columns.length; i++) {
+                                    bind(statement, i + 1, columns[i].type(), values.get(i));
+                                }
+                                statement.addBatch();
+                                if (++pending % batchSize == 0) {
+                                    statement.executeBatch();
+                                }
+                            }
+                            statement.executeBatch();
+                            rows[0] += pending;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    if (tx.isActive()) tx.rollback();
+                    throw e;
+                }
+            }
+        }
+        return new TableResult(table.name(), rows[0], Files.size(file), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void bind(PreparedStatement statement, int index, Type type, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, type.sqlType);
+            return;
+        }
+        switch (type) {
+            case INT -> statement.setInt(index, Integer.parseInt(value));
+            case LONG -> statement.setLong(index, Long.parseLong(value));
+            case DOUBLE -> statement.setDouble(index, Double.parseDouble(value));
+            case BOOLEAN -> statement.setBoolean(index, Boolean.parseBoolean(value));
+            case STRING -> statement.setString(index, value);
+            case TIMESTAMP -> statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.parse(value)));
+            case DATE -> statement.setDate(index, Date.valueOf(LocalDate.parse(value)));
+        }
+    }
+
+    // The values of a JSON array of scalars, as text (strings unescaped), null for null
+    private static List<String> parse(String line, Path file, long lineNo) {
+        List<String> values = new ArrayList<>();
+        int i = skipSpaces(line, 0);
+        if (i >= line.length() || line.charAt(i) != '[') {
+            throw malformed(file, lineNo, "expected [");
+        }
+        i = skipSpaces(line, i + 1);
+        if (i < line.length() && line.charAt(i) == ']') {
+            return values;
+        }
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            if (i >= line.length()) {
+                throw malformed(file, lineNo, "unterminated array");
+            }
+            if (line.charAt(i) == '"') {
+                text.setLength(0);
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw malformed(file, lineNo, "unterminated string");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        break;
+                    }
+                    if (c != '\\') {
+                        text.append(c);
+                        continue;
+                    }
+                    if (i >= line.length()) {
+                        throw malformed(file, lineNo, "unterminated escape");
+                    }
+                    char escaped = line.charAt(i++);
+                    switch (escaped) {
+                        case 'n' -> text.append('\n');
+                        case 'r' -> text.append('\r');
+                        case 't' -> text.append('\t');
+                        case 'b' -> text.append('\b');
+                        case 'f' -> text.append('\f');
+                        case 'u' -> {
+                            if (i + 4 > line.length()) {
+                                throw malformed(file, lineNo, "bad \\u escape");
+                            }
+                            text.append((char) Integer.parseInt(line, i, i + 4, 16));
+                            i += 4;
+                        }
+                        default -> text.append(escaped); // \" \\ \/
+                    }
+                }
+                values.add(text.toString());
+            } else {
+                int end = i;
+                while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != ']'
+                        && line.charAt(end) != ' ') {
+                    end++;
+                }
+                String token = line.substring(i, end);
+                values.add(token.equals("null") ? null : token);
+                i = end;
+            }
+            i = skipSpaces(line, i);
+            if (i < line.length() && line.charAt(i) == ',') {
+                i = skipSpaces(line, i + 1);
+            } else if (i < line.length() && line.charAt(i) == ']') {
+                return values;
+            } else {
+                throw malformed(file, lineNo, "expected , or ]");
+            }
+        }
+    }
+
+    private static int skipSpaces(String line, int i) {
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static IllegalStateException malformed(Path file, long lineNo, String problem) {
+        return new IllegalStateException(file + ":" + lineNo + ": malformed row, " + problem);
+    }
+
+    private static boolean isEmpty(Table table) {
+        return TransactionTemplate.read(session -> session.doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.setMaxRows(1);
+                try (ResultSet rows = statement.executeQuery("select 1 from " + table.name())) {
+                    return !rows.next();
+                }
+            }
+        }));
+    }
+
+    // Children first (foreign keys)
+    private static void deleteAll() {
+        TransactionTemplate.runInTransaction(session -> session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (int i = TABLES.size() - 1; i >= 0; i--) {
+                    statement.execute("delete from " + TABLES.get(i).name());
+                }
+            }
+        }));
+    }
+
+    // Moves each pooled sequence (increment 50) past the imported ids
+    private static void restartSequences() {
+        TransactionTemplate.runInTransaction(session -> session.doWork(connection -> {
+            for (Table table : TABLES) {
+                if (table.sequence() != null) {
+                    restartSequence(connection, table);
+                }
+            }
+        }));
+    }
+
+    private static void restartSequence(Connection connection, Table table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet max = statement.executeQuery("select max(" + table.orderBy() + ") from " + table.name())) {
+            max.next();
+            long last = max.getLong(1);
+            if (!max.wasNull()) {
+                statement.execute("alter sequence " + table.sequence() + " restart with "
+                        + (last + SEQUENCE_ALLOCATION));
+            }
+        }
+    }
+
+    // --- workers ---
+
+    private interface TableTask {
+        TableResult run(Table table) throws IOException;
+    }
+
+    // One task per table, at most threads at once; the results in the order of tables.
+    // On a failure the other tasks are interrupted and waited for before it is thrown.
+    private List<TableResult> run(List<Table> tables, TableTask task) {
+        if (tables.isEmpty()) {
+            return List.of();
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tables.size())));
+        try {
+            List<Future<TableResult>> futures = new ArrayList<>();
+            for (Table table : tables) {
+                futures.add(workers.submit(() -> task.run(table)));
+            }
+            List<TableResult> results = new ArrayList<>();
+            for (Future<TableResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop(workers);
+            throw new IllegalStateException("Data transfer interrupted", e);
+        } catch (ExecutionException e) {
+            stop(workers);
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Data transfer failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Interrupts the workers and waits until none is writing any more
+    private static void stop(ExecutorService workers) {
+        workers.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path file(Path directory, Table table) {
+        return directory.resolve(table.name() + FILE_SUFFIX);
+    }
+}
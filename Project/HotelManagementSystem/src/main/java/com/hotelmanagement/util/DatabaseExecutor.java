@@ -0,0 +1,78 @@
+package com.hotelmanagement.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database calls off the caller's thread for the *Async service methods: each
+ * one submits its blocking counterpart here and returns the future at once, so a caller never
+ * blocks on JDBC.
+ *
+ * Backpressure in two steps:
+ * - at most maxInFlight calls run at once (by default the size of the connection pool,
+ *   so tasks wait here rather than inside HikariCP);
+ * - at most maxQueued more may wait for a slot; past that, submit() returns at once a future
+ *   failed with a RejectedExecutionException. The caller's thread never waits.
+ *
+ * Tasks run on virtual threads when available (see VirtualThreads). Each task runs on its
+ * own thread, so it gets its own TransactionTemplate unit of work and session.
+ */
+public final class DatabaseExecutor {
+
+    private static final int DEFAULT_POOL_SIZE = 10; // hikari.maximumPoolSize of hibernate.cfg.xml
+
+    private static final DatabaseExecutor INSTANCE = new DatabaseExecutor(connectionPoolSize(), 1_000);
+
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Semaphore admission;
+
+    public DatabaseExecutor(int maxInFlight, int maxQueued) {
+        this.executor = VirtualThreads.newExecutor("db-", maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.admission = new Semaphore(maxInFlight + maxQueued);
+    }
+
+    public static DatabaseExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (!admission.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending database calls"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.acquireUninterruptibly();
+                try {
+                    return call.get();
+                } finally {
+                    inFlight.release();
+                    admission.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Calls currently running (holding a connection slot)
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static int connectionPoolSize() {
+        Object size = HibernateUtil.getSessionFactory().getProperties().get("hibernate.hikari.maximumPoolSize");
+        return size == null ? DEFAULT_POOL_SIZE : Integer.parseInt(size.toString());
+    }
+}
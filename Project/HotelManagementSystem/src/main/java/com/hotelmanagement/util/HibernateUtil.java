@@ -1,29 +1,75 @@
 package com.hotelmanagement.util;
 
+import com.hotelmanagement.cache.BillColumns;
+import com.hotelmanagement.cache.MaterializedMetrics;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class HibernateUtil {
 
-    private static final SessionFactory sessionFactory = buildSessionFactory();
+    // Built on first use, so runs that never touch the database do not pay for it
+    private static volatile SessionFactory sessionFactory;
+
+    // Run by shutdown() while the factory is still open (e.g. to flush write-behind buffers)
+    private static final List<Runnable> BEFORE_SHUTDOWN = new ArrayList<>();
+
+    // hibernate.cfg.xml with the -Dhibernate.xxx=value overrides applied
+    public static Configuration loadConfiguration() {
+        Configuration configuration = new Configuration().configure();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("hibernate."))
+                .forEach(name -> configuration.setProperty(name, System.getProperty(name)));
+        return configuration;
+    }
 
     private static SessionFactory buildSessionFactory() {
         try {
-            // Create the SessionFactory from hibernate.cfg.xml
-            return new Configuration().configure().buildSessionFactory();
-        } catch (Throwable ex) {
+            Configuration configuration = loadConfiguration();
+            // The schema comes from the versioned scripts; with -Dhotel.schema.migrate=false
+            // they are applied separately (MigrateSchema) and startup does not check them
+            if (Boolean.parseBoolean(System.getProperty("hotel.schema.migrate", "true"))) {
+                SchemaMigrator.migrate(configuration);
+            }
+            SessionFactory factory = configuration.buildSessionFactory();
+            MaterializedMetrics.register(factory);
+            BillColumns.register(factory);
+            return factory;
+        } catch (RuntimeException ex) {
             // Make sure you log the exception, as it might be swallowed
             System.err.println("Initial SessionFactory creation failed." + ex);
-            throw new ExceptionInInitializerError(ex);
+            throw ex;
         }
     }
 
     public static SessionFactory getSessionFactory() {
-        return sessionFactory;
+        SessionFactory factory = sessionFactory;
+        if (factory == null) {
+            synchronized (HibernateUtil.class) {
+                factory = sessionFactory;
+                if (factory == null) {
+                    factory = buildSessionFactory();
+                    sessionFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    public static synchronized void beforeShutdown(Runnable action) {
+        BEFORE_SHUTDOWN.add(action);
     }
 
-    public static void shutdown() {
-        // Close caches and connection pools
-        getSessionFactory().close();
+    public static synchronized void shutdown() {
+        List<Runnable> actions = List.copyOf(BEFORE_SHUTDOWN);
+        BEFORE_SHUTDOWN.clear();
+        actions.forEach(Runnable::run);
+        // Close caches and connection pools, if the factory was ever built
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
     }
 }
@@ -0,0 +1,272 @@
+package com.hotelmanagement.util;
+
+import org.hibernate.stat.Statistics;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Metrics surface of the persistence layer:
+ * - a timer (count, p50 / p95 / p99) and an error counter per DAO entity and operation,
+ *   recorded by the proxy returned by instrument();
+ * - the Hibernate Statistics that matter (queries, loads, fetches, flushes, L2 cache,
+ *   transactions) and the slow queries over hibernate.log_slow_query.
+ *
+ * DAO implementations report the exceptions they catch through recordFailure(), which
+ * counts them against the DAO operation running on the calling thread.
+ * Published as the JMX MBean com.hotelmanagement:type=PersistenceMetrics, as JSON-ready
+ * maps by snapshot() (the API serves them on /api/metrics) and as text by report() / dump().
+ */
+public final class PersistenceMetrics implements PersistenceMetricsMBean {
+
+    private static final Logger LOG = Logger.getLogger(PersistenceMetrics.class.getName());
+    private static final PersistenceMetrics INSTANCE = new PersistenceMetrics();
+    private static final String OBJECT_NAME = "com.hotelmanagement:type=PersistenceMetrics";
+
+    // Operation currently running on this thread, so swallowed exceptions can be attributed
+    private static final ThreadLocal<Operation> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final LongAdder unattributedErrors = new LongAdder();
+
+    public static final class Operation {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public LatencyHistogram getLatency() { return latency; }
+        public long getErrors() { return errors.sum(); }
+    }
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    private PersistenceMetrics() {}
+
+    public static PersistenceMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Wraps a DAO: every interface method is timed as "<Entity>.<method>" (CustomerDAO -> Customer)
+    @SuppressWarnings("unchecked")
+    public static <D> D instrument(Class<D> daoInterface, D dao) {
+        String entity = daoInterface.getSimpleName().replaceFirst("DAO$", "");
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(dao, args);
+            }
+            Operation operation = INSTANCE.operation(entity + "." + method.getName());
+            Operation outer = CURRENT.get();
+            CURRENT.set(operation);
+            long start = System.nanoTime();
+            try {
+                return method.invoke(dao, args);
+            } catch (InvocationTargetException e) {
+                operation.errors.increment();
+                throw e.getCause();
+            } finally {
+                operation.latency.record(System.nanoTime() - start);
+                if (outer == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(outer);
+                }
+            }
+        };
+        return (D) Proxy.newProxyInstance(daoInterface.getClassLoader(), new Class<?>[]{daoInterface}, handler);
+    }
+
+    // Called by the DAOs instead of printing the stack trace of a failed (rolled back) operation
+    public static void recordFailure(Exception e) {
+        Operation operation = CURRENT.get();
+        if (operation != null) {
+            operation.errors.increment();
+        } else {
+            INSTANCE.unattributedErrors.increment();
+        }
+        LOG.log(Level.WARNING, (operation != null ? operation.name : "DAO operation") + " failed", e);
+    }
+
+    public Operation operation(String name) {
+        return operations.computeIfAbsent(name, Operation::new);
+    }
+
+    public List<Operation> operations() {
+        List<Operation> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparing(Operation::getName));
+        return sorted;
+    }
+
+    // --- MBean ---
+
+    @Override
+    public long getQueryExecutionCount() { return statistics().getQueryExecutionCount(); }
+
+    @Override
+    public long getQueryExecutionMaxTime() { return statistics().getQueryExecutionMaxTime(); }
+
+    @Override
+    public String getQueryExecutionMaxTimeQueryString() { return statistics().getQueryExecutionMaxTimeQueryString(); }
+
+    @Override
+    public long getPrepareStatementCount() { return statistics().getPrepareStatementCount(); }
+
+    @Override
+    public long getEntityLoadCount() { return statistics().getEntityLoadCount(); }
+
+    @Override
+    public long getEntityFetchCount() { return statistics().getEntityFetchCount(); }
+
+    @Override
+    public long getCollectionFetchCount() { return statistics().getCollectionFetchCount(); }
+
+    @Override
+    public long getFlushCount() { return statistics().getFlushCount(); }
+
+    @Override
+    public long getSecondLevelCacheHitCount() { return statistics().getSecondLevelCacheHitCount(); }
+
+    @Override
+    public long getSecondLevelCacheMissCount() { return statistics().getSecondLevelCacheMissCount(); }
+
+    @Override
+    public long getQueryCacheHitCount() { return statistics().getQueryCacheHitCount(); }
+
+    @Override
+    public long getTransactionCount() { return statistics().getTransactionCount(); }
+
+    @Override
+    public long getRolledBackTransactionCount() {
+        return statistics().getTransactionCount() - statistics().getSuccessfulTransactionCount();
+    }
+
+    @Override
+    public long getSlowQueryCount() { return statistics().getSlowQueries().size(); }
+
+    @Override
+    public long getDaoErrorCount() {
+        long errors = unattributedErrors.sum();
+        for (Operation operation : operations.values()) {
+            errors += operation.getErrors();
+        }
+        return errors;
+    }
+
+    @Override
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("%-36s %9s %7s %9s %9s %9s %9s%n",
+                "dao operation", "count", "errors", "mean ms", "p50 ms", "p95 ms", "p99 ms"));
+        for (Operation operation : operations()) {
+            LatencyHistogram latency = operation.latency;
+            report.append(String.format("%-36s %9d %7d %9.3f %9.3f %9.3f %9.3f%n", operation.name,
+                    latency.getCount(), operation.getErrors(), latency.getMeanNanos() / 1e6,
+                    latency.getPercentileNanos(50) / 1e6, latency.getPercentileNanos(95) / 1e6,
+                    latency.getPercentileNanos(99) / 1e6));
+        }
+        hibernate().forEach((name, value) -> report.append(String.format("%-36s %s%n", name, value)));
+        slowQueries().forEach((sql, millis) -> report.append(String.format("slow %6d ms  %s%n", millis, sql)));
+        return report.toString();
+    }
+
+    @Override
+    public void dump(String file) {
+        dump(Path.of(file));
+    }
+
+    @Override
+    public void reset() {
+        operations.values().forEach(operation -> {
+            operation.latency.reset();
+            operation.errors.reset();
+        });
+        unattributedErrors.reset();
+        statistics().clear();
+    }
+
+    public void dump(Path file) {
+        try {
+            Files.writeString(file, report());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Everything above as nested maps, ready for a JSON writer
+    public Map<String, Object> snapshot() {
+        Map<String, Object> daos = new LinkedHashMap<>();
+        for (Operation operation : operations()) {
+            LatencyHistogram latency = operation.latency;
+            Map<String, Object> timer = new LinkedHashMap<>();
+            timer.put("count", latency.getCount());
+            timer.put("errors", operation.getErrors());
+            timer.put("meanMs", latency.getMeanNanos() / 1e6);
+            timer.put("p50Ms", latency.getPercentileNanos(50) / 1e6);
+            timer.put("p95Ms", latency.getPercentileNanos(95) / 1e6);
+            timer.put("p99Ms", latency.getPercentileNanos(99) / 1e6);
+            timer.put("maxMs", latency.getMaxNanos() / 1e6);
+            daos.put(operation.name, timer);
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("dao", daos);
+        snapshot.put("hibernate", hibernate());
+        snapshot.put("slowQueries", slowQueries());
+        return snapshot;
+    }
+
+    private Map<String, Object> hibernate() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("queries", getQueryExecutionCount());
+        values.put("queryMaxMs", getQueryExecutionMaxTime());
+        values.put("statementsPrepared", getPrepareStatementCount());
+        values.put("entityLoads", getEntityLoadCount());
+        values.put("entityFetches", getEntityFetchCount());
+        values.put("collectionFetches", getCollectionFetchCount());
+        values.put("flushes", getFlushCount());
+        values.put("secondLevelCacheHits", getSecondLevelCacheHitCount());
+        values.put("secondLevelCacheMisses", getSecondLevelCacheMissCount());
+        values.put("queryCacheHits", getQueryCacheHitCount());
+        values.put("transactions", getTransactionCount());
+        values.put("rolledBackTransactions", getRolledBackTransactionCount());
+        values.put("daoErrors", getDaoErrorCount());
+        return values;
+    }
+
+    // SQL -> slowest execution time (ms), slowest first
+    private Map<String, Long> slowQueries() {
+        Map<String, Long> slow = new LinkedHashMap<>();
+        statistics().getSlowQueries().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> slow.put(entry.getKey(), entry.getValue()));
+        return slow;
+    }
+
+    private static Statistics statistics() {
+        return HibernateUtil.getSessionFactory().getStatistics();
+    }
+}
@@ -0,0 +1,42 @@
+package com.hotelmanagement.util;
+
+/** JMX view of PersistenceMetrics (jconsole: com.hotelmanagement / PersistenceMetrics). */
+public interface PersistenceMetricsMBean {
+
+    long getQueryExecutionCount();
+
+    long getQueryExecutionMaxTime();
+
+    String getQueryExecutionMaxTimeQueryString();
+
+    long getPrepareStatementCount();
+
+    long getEntityLoadCount();
+
+    long getEntityFetchCount();
+
+    long getCollectionFetchCount();
+
+    long getFlushCount();
+
+    long getSecondLevelCacheHitCount();
+
+    long getSecondLevelCacheMissCount();
+
+    long getQueryCacheHitCount();
+
+    long getTransactionCount();
+
+    // Includes the read-only transactions of the DAO streams, which always end with a rollback
+    long getRolledBackTransactionCount();
+
+    long getSlowQueryCount();
+
+    long getDaoErrorCount();
+
+    String report();
+
+    void dump(String file);
+
+    void reset();
+}
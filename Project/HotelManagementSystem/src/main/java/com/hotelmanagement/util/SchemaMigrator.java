@@ -0,0 +1,186 @@
+package com.hotelmanagement.util;
+
+import org.hibernate.cfg.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Versioned schema migrations, replacing hbm2ddl update. The scripts are the classpath
+ * resources db/migration/V1.sql, V2.sql, ... (numbered without gaps; the first comment line
+ * describes the change). Each script runs once and is recorded in the schema_version table
+ * (DDL commits implicitly on most databases, so a failed script is not rolled back), and a
+ * start against an up-to-date schema costs one query.
+ *
+ * The scripts are H2 DDL (sequences, boolean columns, H2's alter table syntax), the only
+ * database the application is tested against: migrate() refuses any other one. On another
+ * database, start with -Dhotel.schema.migrate=false and manage the schema by other means.
+ *
+ * A schema created by hbm2ddl before the scripts existed has tables but no schema_version:
+ * migrate() refuses it rather than fail half way through V1. Start once with
+ * -Dhotel.schema.baseline=N, N being the script the schema already matches (1 for a schema
+ * generated from the entities of V1), to record V1..N as applied without running them.
+ *
+ * Uses a plain JDBC connection from the Hibernate settings, without booting Hibernate:
+ * run it on its own with MigrateSchema, or from HibernateUtil unless -Dhotel.schema.migrate=false.
+ */
+public final class SchemaMigrator {
+
+    private static final Logger LOG = Logger.getLogger(SchemaMigrator.class.getName());
+    private static final String SCRIPTS = "db/migration/V%d.sql";
+    private static final String DATABASE = "H2";
+
+    private SchemaMigrator() {}
+
+    // Applies the pending scripts and returns the schema version
+    public static int migrate(Configuration configuration) {
+        String url = configuration.getProperty("hibernate.connection.url");
+        String user = configuration.getProperty("hibernate.connection.username");
+        String password = configuration.getProperty("hibernate.connection.password");
+        try (Connection connection = DriverManager.getConnection(url, user, password == null ? "" : password)) {
+            return migrate(connection, Integer.getInteger("hotel.schema.baseline", 0));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration of " + url + " failed", e);
+        }
+    }
+
+    public static int migrate(Connection connection) throws SQLException {
+        return migrate(connection, 0);
+    }
+
+    // baseline > 0 records V1..baseline as applied, without running them, on a schema with no version yet
+    public static int migrate(Connection connection, int baseline) throws SQLException {
+        String database = connection.getMetaData().getDatabaseProductName();
+        if (!DATABASE.equals(database)) {
+            throw new SQLException("The migration scripts are " + DATABASE + " DDL and cannot run on " + database
+                    + ": start with -Dhotel.schema.migrate=false and manage this schema by other means");
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists schema_version ("
+                    + "version integer not null primary key, description varchar(255), "
+                    + "installed_at timestamp default current_timestamp, execution_ms bigint)");
+        }
+        int version = currentVersion(connection);
+        if (version == 0 && baseline > 0) {
+            version = baseline(connection, baseline);
+        } else if (version == 0 && hasTable(connection, "rooms")) {
+            throw new SQLException("The schema already has tables but no schema_version (created by hbm2ddl?): "
+                    + "start once with -Dhotel.schema.baseline=<version it matches>, 1 for the V1 entities");
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            String script;
+            while ((script = read(String.format(SCRIPTS, version + 1))) != null) {
+                apply(connection, version + 1, script);
+                version++;
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return version;
+    }
+
+    private static void apply(Connection connection, int version, String script) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements(script)) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into schema_version (version, description, execution_ms) values (?, ?, ?)")) {
+                insert.setInt(1, version);
+                insert.setString(2, description(script));
+                insert.setLong(3, (System.nanoTime() - start) / 1_000_000);
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration V" + version + " failed: " + e.getMessage(), e);
+        }
+        LOG.info("Applied schema migration V" + version + ": " + description(script));
+    }
+
+    private static int baseline(Connection connection, int baseline) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into schema_version (version, description, execution_ms) values (?, ?, 0)")) {
+            for (int version = 1; version <= baseline; version++) {
+                String script = read(String.format(SCRIPTS, version));
+                if (script == null) {
+                    throw new SQLException("Cannot baseline at V" + baseline + ": there is no script V" + version);
+                }
+                insert.setInt(1, version);
+                insert.setString(2, "baseline: " + description(script));
+                insert.executeUpdate();
+            }
+        }
+        LOG.info("Schema baselined at V" + baseline + ", the scripts up to it are not run");
+        return baseline;
+    }
+
+    private static boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData()
+                .getTables(null, connection.getSchema(), null, new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (table.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select coalesce(max(version), 0) from schema_version")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    private static String read(String resource) {
+        try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + resource, e);
+        }
+    }
+
+    // Statements end with ';' at the end of a line; '--' lines are comments
+    private static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                current.setLength(current.lastIndexOf(";"));
+                statements.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString());
+        }
+        return statements;
+    }
+
+    private static String description(String script) {
+        String first = script.lines().findFirst().orElse("").trim();
+        return first.startsWith("--") ? first.substring(2).trim() : "";
+    }
+}
@@ -0,0 +1,104 @@
+package com.hotelmanagement.util;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Session-per-unit-of-work: the first inTransaction() call on a thread opens a session
+ * and a transaction bound to that thread, nested calls (the DAOs, other services) join
+ * them, and the outermost call commits once and closes the session.
+ * A service call made of several DAO calls therefore shares one session (first-level
+ * cache included) and one commit.
+ *
+ * An exception thrown inside the unit of work rolls it back. If the caller catches it
+ * and carries on, the unit is still rolled back at the end and an IllegalStateException
+ * is thrown, since the session may hold half-applied changes.
+ * Actions registered with afterCommit() run only once the outermost commit succeeded
+ * (the in-memory caches are updated there).
+ */
+public final class TransactionTemplate {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private static final class UnitOfWork {
+        final Session session;
+        final List<Runnable> afterCommit = new ArrayList<>();
+        boolean rollbackOnly;
+
+        UnitOfWork(Session session) {
+            this.session = session;
+        }
+    }
+
+    private TransactionTemplate() {}
+
+    public static <R> R inTransaction(Function<Session, R> work) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            try {
+                return work.apply(current.session);
+            } catch (RuntimeException e) {
+                current.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        UnitOfWork unit = new UnitOfWork(HibernateUtil.getSessionFactory().openSession());
+        CURRENT.set(unit);
+        Transaction tx = null;
+        try {
+            tx = unit.session.beginTransaction();
+            R result = work.apply(unit.session);
+            if (unit.rollbackOnly) {
+                throw new IllegalStateException("Unit of work rolled back: a nested operation failed");
+            }
+            tx.commit();
+            CURRENT.remove(); // after-commit actions may start a new unit of work
+            unit.afterCommit.forEach(Runnable::run);
+            return result;
+        } catch (RuntimeException e) {
+            if (tx != null && tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            CURRENT.remove();
+            unit.session.close();
+        }
+    }
+
+    public static void runInTransaction(Consumer<Session> work) {
+        inTransaction(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+
+    // Read-only work: joins the current unit of work, or runs in a short session without a transaction
+    public static <R> R read(Function<Session, R> work) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current.session);
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return work.apply(session);
+        }
+    }
+
+    // Runs the action after the outermost commit, or right away outside a unit of work
+    public static void afterCommit(Runnable action) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+}
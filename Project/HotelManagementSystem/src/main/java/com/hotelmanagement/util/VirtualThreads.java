@@ -0,0 +1,27 @@
+package com.hotelmanagement.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One virtual thread per task on Java 21+, looked up reflectively so the build stays on 17.
+ * Older JVMs get a fixed pool of daemon platform threads instead.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    public static ExecutorService newExecutor(String namePrefix, int platformThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(platformThreads, task -> {
+                Thread thread = new Thread(task, namePrefix + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,96 @@
+-- Baseline: the schema hbm2ddl generated from the entities
+
+create sequence bills_seq start with 1 increment by 50;
+create sequence customers_seq start with 1 increment by 50;
+create sequence food_items_seq start with 1 increment by 50;
+create sequence inventory_seq start with 1 increment by 50;
+create sequence managers_seq start with 1 increment by 50;
+create sequence owners_seq start with 1 increment by 50;
+create sequence receptionists_seq start with 1 increment by 50;
+create sequence reservations_seq start with 1 increment by 50;
+
+create table rooms (
+    room_no integer not null,
+    available boolean,
+    location varchar(255),
+    version integer,
+    primary key (room_no)
+);
+
+create table customers (
+    id integer not null,
+    name varchar(255),
+    address varchar(255),
+    telNo integer not null,
+    room_id integer,
+    primary key (id),
+    constraint fk_customers_room foreign key (room_id) references rooms
+);
+
+create table bills (
+    billNo integer not null,
+    amount_minor bigint not null,
+    issued_at timestamp(6),
+    customer_id integer,
+    primary key (billNo),
+    constraint fk_bills_customer foreign key (customer_id) references customers
+);
+
+create table food_items (
+    id integer not null,
+    name varchar(255),
+    price_minor bigint not null,
+    primary key (id)
+);
+
+create table customer_food (
+    customer_id integer not null,
+    food_id integer not null,
+    constraint fk_customer_food_customer foreign key (customer_id) references customers,
+    constraint fk_customer_food_food foreign key (food_id) references food_items
+);
+
+create table reservations (
+    id integer not null,
+    room_no integer not null,
+    customer_id integer,
+    check_in date not null,
+    check_out date not null,
+    status varchar(16) check (status in ('PENDING','CONFIRMED','CANCELLED')),
+    primary key (id),
+    constraint fk_reservations_room foreign key (room_no) references rooms,
+    constraint fk_reservations_customer foreign key (customer_id) references customers
+);
+
+create table inventory (
+    id integer not null,
+    itemName varchar(255),
+    quantity integer not null,
+    primary key (id)
+);
+
+create table managers (
+    id integer not null,
+    name varchar(255),
+    department varchar(255),
+    primary key (id)
+);
+
+create table owners (
+    id integer not null,
+    name varchar(255),
+    sharePercentage float(53) not null,
+    primary key (id)
+);
+
+create table receptionists (
+    id integer not null,
+    name varchar(255),
+    shiftHours integer not null,
+    primary key (id)
+);
+
+create index idx_bills_issued_at on bills (issued_at);
+create index idx_reservations_room_dates on reservations (room_no, check_in, check_out);
+create index idx_reservations_check_in on reservations (check_in);
+create index idx_rooms_available_location on rooms (available, location);
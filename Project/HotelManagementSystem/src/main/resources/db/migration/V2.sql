@@ -0,0 +1,8 @@
+-- Customer phone as text (the integer telNo overflowed), indexes for the customer finders
+
+alter table customers add column phone varchar(32);
+update customers set phone = cast(telNo as varchar(32)) where telNo <> 0;
+alter table customers drop column telNo;
+
+create index idx_customers_name on customers (name, id);
+create index idx_customers_phone on customers (phone);
@@ -0,0 +1,4 @@
+-- Inventory stock engine: low-stock threshold per item, stock never below zero
+
+alter table inventory add column low_stock_threshold integer default 0 not null;
+alter table inventory add constraint ck_inventory_quantity check (quantity >= 0);
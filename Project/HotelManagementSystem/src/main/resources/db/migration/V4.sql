@@ -0,0 +1,7 @@
+-- Write-behind: last journal entry committed, per journal
+
+create table journal_checkpoint (
+    journal varchar(255) not null,
+    last_sequence bigint not null,
+    primary key (journal)
+);
@@ -0,0 +1,124 @@
+package com.hotelmanagement.dao.impl;
+
+import com.hotelmanagement.dao.BillDAO;
+import com.hotelmanagement.dao.CustomerDAO;
+import com.hotelmanagement.dao.RoomDAO;
+import com.hotelmanagement.dao.projection.CustomerSummary;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.HibernateUtil;
+import org.hibernate.stat.Statistics;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+// SQL statements per call: loading customers with their bills must not cost one select per customer
+public class CustomerDAOImplTest {
+
+    private static final int CUSTOMERS = 60;
+    private static final int BILLS_PER_CUSTOMER = 3;
+
+    private static final CustomerDAO customerDAO = new CustomerDAOImpl();
+    private static final List<Customer> customers = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeClass
+    public static void createCustomers() {
+        System.setProperty("hibernate.connection.url", "jdbc:h2:mem:customer_dao_test;DB_CLOSE_DELAY=-1");
+        RoomDAO roomDAO = new RoomDAOImpl();
+        BillDAO billDAO = new BillDAOImpl();
+        Room room = new Room(101, "First floor", false);
+        roomDAO.save(room);
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer("Guest " + i, i + " Test Street", "+1555000" + i);
+            if (i % 3 == 0) {
+                customer.setRoom(room);
+            }
+            customers.add(customer);
+        }
+        customerDAO.saveAll(customers);
+        // Every other customer has bills
+        for (int i = 0; i < CUSTOMERS; i += 2) {
+            for (int b = 0; b < BILLS_PER_CUSTOMER; b++) {
+                bills.add(new Bill(Money.ofMinor(1_000 + b), customers.get(i)));
+            }
+        }
+        billDAO.saveAll(bills);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        HibernateUtil.shutdown();
+        System.clearProperty("hibernate.connection.url");
+    }
+
+    @Before
+    public void clearStatistics() {
+        statistics = HibernateUtil.getSessionFactory().getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findWithBillsIsOneStatement() {
+        List<Customer> withBills = customerDAO.findWithBills();
+
+        assertEquals(CUSTOMERS / 2, withBills.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findByIdWithBillsGraphLoadsBillsInTheSameStatement() {
+        int id = customers.get(0).getId();
+
+        Customer customer = customerDAO.findById(id, CustomerDAO.GRAPH_BILLS);
+
+        assertNotNull(customer);
+        assertEquals(BILLS_PER_CUSTOMER, customer.getBills().size());
+        customer.getBills().forEach(bill -> assertEquals(id, bill.getCustomer().getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findByIdWithoutBillsIsOneStatement() {
+        Customer customer = customerDAO.findById(customers.get(1).getId(), CustomerDAO.GRAPH_BILLS);
+
+        assertNotNull(customer);
+        assertEquals(0, customer.getBills().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void unknownIdIsNull() {
+        assertNull(customerDAO.findById(Integer.MAX_VALUE, CustomerDAO.GRAPH_BILLS));
+    }
+
+    @Test
+    public void streamSummariesCountsBillsInOneStatement() {
+        List<CustomerSummary> summaries;
+        try (Stream<CustomerSummary> stream = customerDAO.streamSummaries()) {
+            summaries = stream.toList();
+        }
+
+        assertEquals(CUSTOMERS, summaries.size());
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerSummary summary = summaries.get(i);
+            assertEquals(customers.get(i).getId(), summary.id());
+            assertEquals(i % 2 == 0 ? BILLS_PER_CUSTOMER : 0, summary.billCount());
+            assertEquals(i % 3 == 0 ? Integer.valueOf(101) : null, summary.roomNo());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotelmanagement.journal;
+
+import com.hotelmanagement.entity.Money;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// Reopening the store rebuilds the same read model, from the journal alone or from a snapshot plus the rest
+public class EventStoreTest {
+
+    private static final int SEGMENT_BYTES = EventJournal.RECORD_BYTES * 16;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopeningReplaysEveryEventToTheSameState() {
+        Path directory = folder.getRoot().toPath();
+        String before;
+        try (EventStore<HotelReadModel> store = open(directory)) {
+            publishStays(store, 1, 50);
+            before = store.read(EventStoreTest::describe);
+        }
+
+        try (EventStore<HotelReadModel> reopened = open(directory)) {
+            assertEquals(0, reopened.getSnapshotSequence());
+            assertEquals(200, reopened.getReplayedCount());
+            assertEquals(before, reopened.read(EventStoreTest::describe));
+            assertEquals(201, reopened.publish(HotelEvent.roomBooked(999, 1)));
+        }
+    }
+
+    @Test
+    public void snapshotPlusTheEventsAfterItGivesTheSameState() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        String before;
+        try (EventStore<HotelReadModel> store = open(directory)) {
+            publishStays(store, 1, 30);
+            assertEquals(120, store.snapshot());
+            publishStays(store, 31, 40);
+            before = store.read(EventStoreTest::describe);
+        }
+        assertTrue("covered segments are deleted", segments(directory).size() < 160 / 16);
+
+        try (EventStore<HotelReadModel> reopened = open(directory)) {
+            assertEquals(120, reopened.getSnapshotSequence());
+            assertEquals(40, reopened.getReplayedCount());
+            assertEquals(before, reopened.read(EventStoreTest::describe));
+        }
+    }
+
+    @Test
+    public void tornLastRecordIsDroppedOnRecovery() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (EventStore<HotelReadModel> store = open(directory)) {
+            store.publishDurably(HotelEvent.roomBooked(101, 1));
+            store.publishDurably(HotelEvent.checkedIn(101, 1));
+            store.publishDurably(HotelEvent.checkedOut(101, 1));
+        }
+        // Half of the check-out record reached the disk
+        try (RandomAccessFile segment = new RandomAccessFile(segments(directory).get(0).toFile(), "rw")) {
+            segment.seek(2L * EventJournal.RECORD_BYTES + EventJournal.RECORD_BYTES / 2);
+            segment.write(new byte[EventJournal.RECORD_BYTES / 2]);
+        }
+
+        try (EventStore<HotelReadModel> reopened = open(directory)) {
+            assertEquals(2, reopened.getReplayedCount());
+            assertEquals(Integer.valueOf(1), reopened.read(model -> model.getOccupant(101)));
+            assertEquals(3, reopened.publish(HotelEvent.checkedOut(101, 1)));
+        }
+        try (EventStore<HotelReadModel> reopened = open(directory)) {
+            assertEquals(3, reopened.getReplayedCount());
+            assertEquals(List.of(), reopened.read(HotelReadModel::getOccupiedRooms));
+        }
+    }
+
+    @Test
+    public void snapshotAheadOfTheJournalIsRefused() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (EventStore<HotelReadModel> store = open(directory)) {
+            publishStays(store, 1, 5);
+            store.snapshot();
+        }
+        for (Path segment : segments(directory)) {
+            Files.delete(segment);
+        }
+
+        try (EventStore<HotelReadModel> reopened = open(directory)) {
+            fail("opened at snapshot " + reopened.getSnapshotSequence() + " without its journal");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("ahead of the event journal"));
+        }
+    }
+
+    private static EventStore<HotelReadModel> open(Path directory) {
+        return EventStore.open(directory, new HotelReadModel(), SEGMENT_BYTES, 1);
+    }
+
+    // Four events per customer: booking, check-in, bill, then a check-out (even customers) or an order
+    private static void publishStays(EventStore<HotelReadModel> store, int firstCustomer, int lastCustomer) {
+        for (int customerId = firstCustomer; customerId <= lastCustomer; customerId++) {
+            int roomNo = 100 + customerId;
+            store.publish(HotelEvent.roomBooked(roomNo, customerId));
+            store.publish(HotelEvent.checkedIn(roomNo, customerId));
+            store.publish(HotelEvent.billIssued(customerId, Money.ofMinor(customerId * 100L)));
+            store.publish(customerId % 2 == 0
+                    ? HotelEvent.checkedOut(roomNo, customerId)
+                    : HotelEvent.foodOrdered(customerId, customerId % 3));
+        }
+        store.getJournal().awaitDurable(store.getJournal().getLastSequence());
+    }
+
+    private static String describe(HotelReadModel model) {
+        List<Object> state = new ArrayList<>();
+        state.add(model.getOccupiedRooms());
+        state.add(model.getRevenue());
+        for (int customerId = 1; customerId <= 50; customerId++) {
+            state.add(model.getBooking(100 + customerId));
+            state.add(model.getRevenue(customerId));
+        }
+        for (int foodItemId = 0; foodItemId < 3; foodItemId++) {
+            state.add(model.getOrders(foodItemId));
+        }
+        for (HotelEvent.Type type : HotelEvent.Type.values()) {
+            state.add(model.getEventCount(type));
+        }
+        return state.toString();
+    }
+
+    private static List<Path> segments(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.cache.RoomAvailabilityCache;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.service.BookingService.BookingResult;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// No double booking, no room left occupied without an occupant, and the bitmap agrees with the database
+public class BookingServiceTest {
+
+    private static final int CUSTOMERS = 16;
+
+    private static final BookingService bookings = new BookingService();
+    private static final RoomService rooms = new RoomService();
+    private static final List<Customer> customers = new ArrayList<>();
+
+    @BeforeClass
+    public static void createRoomsAndCustomers() {
+        System.setProperty("hibernate.connection.url", "jdbc:h2:mem:booking_service_test;DB_CLOSE_DELAY=-1");
+        RoomAvailabilityCache.getInstance().invalidate();
+        List<Room> all = new ArrayList<>();
+        for (int floor = 1; floor <= 3; floor++) {
+            for (int n = 1; n <= 20; n++) {
+                all.add(new Room(floor * 100 + n, "Floor " + floor, true));
+            }
+        }
+        new RoomDAOImpl().saveAll(all);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("Guest " + i, i + " Test Street", "+1555000" + i));
+        }
+        new CustomerDAOImpl().saveAll(customers);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        HibernateUtil.shutdown();
+        RoomAvailabilityCache.getInstance().invalidate();
+        System.clearProperty("hibernate.connection.url");
+    }
+
+    @Test
+    public void roomBookedByManyCustomersAtOnceGoesToExactlyOne() throws Exception {
+        List<BookingResult> results = concurrently(CUSTOMERS, i -> bookings.bookRoom(101, customers.get(i).getId()));
+
+        assertEquals(1, results.stream().filter(result -> result == BookingResult.BOOKED).count());
+        assertEquals(1L, count("select count(*) from customers where room_id = 101"));
+        assertFalse(rooms.isRoomAvailable(101));
+        assertConsistent();
+    }
+
+    @Test
+    public void movingToAnotherRoomFreesThePreviousOne() {
+        int customerId = customers.get(1).getId();
+        assertEquals(BookingResult.BOOKED, bookings.bookRoom(201, customerId));
+
+        assertEquals(BookingResult.BOOKED, bookings.bookRoom(202, customerId));
+
+        assertTrue(rooms.isRoomAvailable(201));
+        assertFalse(rooms.isRoomAvailable(202));
+        assertEquals(BookingResult.ROOM_UNAVAILABLE, bookings.bookRoom(202, customers.get(2).getId()));
+        assertConsistent();
+    }
+
+    @Test
+    public void checkOutMakesTheRoomBookableAgain() {
+        assertEquals(BookingResult.BOOKED, bookings.bookRoom(203, customers.get(3).getId()));
+
+        assertTrue(bookings.checkOut(203));
+        assertFalse(bookings.checkOut(203));
+
+        assertTrue(rooms.isRoomAvailable(203));
+        assertEquals(BookingResult.BOOKED, bookings.bookRoom(203, customers.get(4).getId()));
+        assertEquals(BookingResult.ROOM_UNAVAILABLE, bookings.bookRoom(999, customers.get(4).getId()));
+        assertConsistent();
+    }
+
+    @Test
+    public void randomBookingsAndCheckOutsKeepEveryOccupiedRoomOccupied() throws Exception {
+        concurrently(8, i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 100; n++) {
+                int roomNo = 300 + 1 + random.nextInt(20);
+                if (random.nextInt(8) == 0) {
+                    bookings.checkOut(roomNo);
+                } else {
+                    bookings.bookRoom(roomNo, customers.get(random.nextInt(CUSTOMERS)).getId());
+                }
+            }
+            return null;
+        });
+
+        assertConsistent();
+    }
+
+    // Runs task(0..threads-1) at the same time and returns the results in order
+    private static <T> List<T> concurrently(int threads, IndexedTask<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit((Callable<T>) () -> {
+                    start.await();
+                    return task.run(index);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+
+    // Every occupied room has an occupant, and the bitmap counts the same rooms as the database, floor by floor
+    private static void assertConsistent() {
+        assertEquals(0L, count("select count(*) from rooms r where r.available = false "
+                + "and not exists (select 1 from customers c where c.room_id = r.room_no)"));
+        assertEquals(count("select count(*) from rooms where available = true"), rooms.countFreeRooms());
+        List<RoomAvailabilityCache.FloorOccupancy> floors = rooms.getOccupancyByFloor();
+        assertEquals(3, floors.size());
+        for (RoomAvailabilityCache.FloorOccupancy floor : floors) {
+            String onFloor = " from rooms where room_no / 100 = " + floor.floor();
+            assertEquals(count("select count(*)" + onFloor), floor.rooms());
+            assertEquals(count("select count(*)" + onFloor + " and available = false"), floor.occupied());
+        }
+    }
+
+    private static long count(String sql) {
+        return TransactionTemplate.read(session -> session.createNativeQuery(sql, Long.class).getSingleResult());
+    }
+}
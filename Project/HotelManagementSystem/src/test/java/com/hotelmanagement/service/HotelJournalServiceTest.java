@@ -0,0 +1,101 @@
+package com.hotelmanagement.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// Only bookings, check-ins and check-outs that follow from the current state are journaled
+public class HotelJournalServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HotelJournalService journal;
+
+    @Before
+    public void open() {
+        journal = new HotelJournalService(folder.getRoot().toPath(), 1 << 16, 1, 1_000_000);
+    }
+
+    @After
+    public void close() {
+        journal.close();
+    }
+
+    @Test
+    public void bookCheckInAndCheckOutInOrder() {
+        assertTrue(journal.bookRoom(101, 1));
+        assertTrue(journal.checkIn(101, 1));
+        assertEquals(Integer.valueOf(1), journal.getOccupant(101));
+
+        assertTrue(journal.checkOut(101, 1));
+
+        assertNull(journal.getOccupant(101));
+        assertTrue(journal.bookRoom(101, 2));
+        assertEquals(4, journal.getStore().getJournal().getLastSequence());
+    }
+
+    @Test
+    public void bookedOrOccupiedRoomCannotBeBookedAgain() {
+        assertTrue(journal.bookRoom(101, 1));
+        assertFalse(journal.bookRoom(101, 2));
+        assertTrue(journal.checkIn(101, 1));
+        assertFalse(journal.bookRoom(101, 2));
+
+        assertEquals(2, journal.getStore().getJournal().getLastSequence());
+    }
+
+    @Test
+    public void checkInAndCheckOutNeedTheRightCustomer() {
+        assertFalse(journal.checkIn(101, 1)); // no booking
+        assertTrue(journal.bookRoom(101, 1));
+        assertFalse(journal.checkIn(101, 2));
+        assertFalse(journal.checkOut(101, 1)); // booked, not occupied
+        assertTrue(journal.checkIn(101, 1));
+        assertFalse(journal.checkOut(101, 2));
+
+        assertEquals(Integer.valueOf(1), journal.getOccupant(101));
+        assertEquals(2, journal.getStore().getJournal().getLastSequence());
+    }
+
+    @Test
+    public void roomBookedByManyCallersAtOnceIsJournaledOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 1; i <= 8; i++) {
+                int customerId = i;
+                futures.add(executor.submit((Callable<Boolean>) () -> {
+                    start.await();
+                    return journal.bookRoom(201, customerId);
+                }));
+            }
+            start.countDown();
+            int booked = 0;
+            for (Future<Boolean> future : futures) {
+                booked += future.get() ? 1 : 0;
+            }
+
+            assertEquals(1, booked);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, journal.getStore().getJournal().getLastSequence());
+    }
+}
@@ -0,0 +1,150 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.dao.projection.StockLevel;
+import com.hotelmanagement.entity.Inventory;
+import com.hotelmanagement.util.HibernateUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// Stock is never oversold, an order is taken whole or not at all, and only the crossing take alerts
+public class InventoryServiceTest {
+
+    private static final int THREADS = 8;
+
+    private static final InventoryService inventory = new InventoryService();
+
+    @BeforeClass
+    public static void useOwnDatabase() {
+        System.setProperty("hibernate.connection.url", "jdbc:h2:mem:inventory_service_test;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        HibernateUtil.shutdown();
+        System.clearProperty("hibernate.connection.url");
+    }
+
+    @Test
+    public void concurrentTakesNeverOversellAndAlertOnce() throws Exception {
+        Inventory towels = item("Towel", 100, 10);
+        AtomicInteger alerts = new AtomicInteger();
+        InventoryService alerting = new InventoryService();
+        alerting.addLowStockListener(level -> alerts.incrementAndGet());
+
+        int taken = concurrently(() -> {
+            int mine = 0;
+            for (int i = 0; i < 20; i++) {
+                if (alerting.consume(towels.getId(), 1)) {
+                    mine++;
+                }
+            }
+            return mine;
+        });
+
+        assertEquals(100, taken);
+        assertEquals(0, inventory.getStockLevel(towels.getId()).quantity());
+        assertEquals(THREADS * 20 - 100, alerting.getShortageCount());
+        assertEquals(1, alerts.get());
+    }
+
+    @Test
+    public void orderWithOneShortItemTakesNothing() {
+        Inventory coffee = item("Coffee", 5, 1);
+        Inventory milk = item("Milk", 1, 1);
+
+        assertFalse(inventory.consumeAll(order(coffee, 2, milk, 2)));
+        assertEquals(5, inventory.getStockLevel(coffee.getId()).quantity());
+        assertEquals(1, inventory.getStockLevel(milk.getId()).quantity());
+
+        assertTrue(inventory.consumeAll(order(coffee, 2, milk, 1)));
+        assertEquals(3, inventory.getStockLevel(coffee.getId()).quantity());
+        assertEquals(0, inventory.getStockLevel(milk.getId()).quantity());
+    }
+
+    @Test
+    public void concurrentOrdersInBothItemOrdersPutBackWhatTheyCannotComplete() throws Exception {
+        Inventory bread = item("Bread", 50, 0);
+        Inventory butter = item("Butter", 30, 0);
+
+        int orders = concurrently(() -> {
+            int mine = 0;
+            for (int i = 0; i < 10; i++) {
+                Map<Integer, Integer> order = i % 2 == 0 ? order(bread, 1, butter, 1) : order(butter, 1, bread, 1);
+                if (inventory.consumeAll(order)) {
+                    mine++;
+                }
+            }
+            return mine;
+        });
+
+        assertEquals(30, orders);
+        assertEquals(20, inventory.getStockLevel(bread.getId()).quantity());
+        assertEquals(0, inventory.getStockLevel(butter.getId()).quantity());
+    }
+
+    @Test
+    public void restockAddsUnitsAndUnknownItemsAreReported() {
+        Inventory soap = item("Soap", 2, 5);
+        assertTrue(inventory.getLowStock().stream().anyMatch(level -> level.itemId() == soap.getId()));
+
+        StockLevel after = inventory.restock(soap.getId(), 10);
+
+        assertEquals(12, after.quantity());
+        assertFalse(after.isLow());
+        assertNull(inventory.restock(Integer.MAX_VALUE, 1));
+        assertFalse(inventory.consume(Integer.MAX_VALUE, 1));
+    }
+
+    private static Inventory item(String name, int quantity, int lowStockThreshold) {
+        Inventory item = new Inventory(name, quantity, lowStockThreshold);
+        inventory.addItem(item);
+        return item;
+    }
+
+    private static Map<Integer, Integer> order(Inventory first, int firstQuantity, Inventory second, int secondQuantity) {
+        Map<Integer, Integer> order = new LinkedHashMap<>();
+        order.put(first.getId(), firstQuantity);
+        order.put(second.getId(), secondQuantity);
+        return order;
+    }
+
+    // Runs the task on THREADS threads at once and sums what they return
+    private static int concurrently(Callable<Integer> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
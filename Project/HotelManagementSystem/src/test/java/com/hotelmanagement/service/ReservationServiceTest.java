@@ -0,0 +1,159 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.cache.RoomOccupancyIndex;
+import com.hotelmanagement.dao.ReservationDAO;
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.ReservationDAOImpl;
+import com.hotelmanagement.dao.impl.RoomDAOImpl;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Reservation;
+import com.hotelmanagement.entity.Room;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// Reservations of a room never overlap, and the in-memory index always answers like the database
+public class ReservationServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2027, 1, 1);
+
+    private static final ReservationService reservations = new ReservationService();
+    private static final ReservationDAO reservationDAO = new ReservationDAOImpl();
+    private static Customer customer;
+
+    @BeforeClass
+    public static void createRooms() {
+        System.setProperty("hibernate.connection.url", "jdbc:h2:mem:reservation_service_test;DB_CLOSE_DELAY=-1");
+        RoomOccupancyIndex.getInstance().invalidate();
+        List<Room> rooms = new ArrayList<>();
+        for (int roomNo = 101; roomNo <= 104; roomNo++) {
+            rooms.add(new Room(roomNo, "First floor", true));
+        }
+        new RoomDAOImpl().saveAll(rooms);
+        customer = new Customer("Guest", "1 Test Street", "+15550001");
+        new CustomerDAOImpl().save(customer);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        HibernateUtil.shutdown();
+        RoomOccupancyIndex.getInstance().invalidate();
+        System.clearProperty("hibernate.connection.url");
+    }
+
+    @Test
+    public void overlappingStayIsRefusedAndAdjacentStayIsAccepted() {
+        assertNotNull(reserve(101, 10, 15));
+
+        assertNull(reserve(101, 12, 13));
+        assertNull(reserve(101, 8, 11));
+        assertNotNull(reserve(101, 15, 16)); // check-out day is free for the next guest
+        assertNotNull(reserve(101, 5, 10));
+        assertIndexMatchesDatabase(101);
+    }
+
+    @Test
+    public void cancelledReservationCannotBeConfirmedOnceItsNightsAreRebooked() {
+        Reservation first = reserve(102, 0, 4);
+        assertTrue(reservations.cancel(first));
+        Reservation second = reserve(102, 1, 2);
+        assertNotNull(second);
+
+        assertFalse(reservations.confirm(first));
+
+        assertEquals(Reservation.Status.CANCELLED, reservations.getReservation(first.getId()).getStatus());
+        assertTrue(reservations.isRoomFree(102, day(2), day(3)));
+        assertNotNull(reserve(102, 2, 3));
+        assertIndexMatchesDatabase(102);
+    }
+
+    @Test
+    public void confirmKeepsThePendingReservationAndCancelFreesItsNights() {
+        Reservation reservation = reserve(103, 0, 3);
+
+        assertTrue(reservations.confirm(reservation));
+        assertEquals(Reservation.Status.CONFIRMED, reservations.getReservation(reservation.getId()).getStatus());
+        assertFalse(reservations.isRoomFree(103, day(1), day(2)));
+
+        assertTrue(reservations.cancel(reservation));
+        assertTrue(reservations.cancel(reservation));
+        assertTrue(reservations.isRoomFree(103, day(0), day(3)));
+        assertIndexMatchesDatabase(103);
+    }
+
+    @Test
+    public void concurrentBookingsNeverOverlap() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int c = 0; c < 8; c++) {
+                clients.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 40; i++) {
+                        int checkIn = random.nextInt(60);
+                        Reservation reservation = reserve(104, checkIn, checkIn + 1 + random.nextInt(5));
+                        if (reservation != null && random.nextInt(4) == 0) {
+                            reservations.cancel(reservation);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int day = 0; day < 65; day++) {
+            // No night is held by two live reservations
+            assertTrue(countLiveReservations(104, day) <= 1);
+        }
+        assertIndexMatchesDatabase(104);
+    }
+
+    private static Reservation reserve(int roomNo, int checkIn, int checkOut) {
+        return reservations.reserve(roomNo, customer.getId(), day(checkIn), day(checkOut));
+    }
+
+    private static LocalDate day(int offset) {
+        return START.plusDays(offset);
+    }
+
+    private static long countLiveReservations(int roomNo, int day) {
+        return TransactionTemplate.read(session -> session.createQuery(
+                        "select count(r) from Reservation r where r.room.roomNo = :roomNo and r.status <> :cancelled "
+                                + "and r.checkIn <= :day and r.checkOut > :day", Long.class)
+                .setParameter("roomNo", roomNo)
+                .setParameter("cancelled", Reservation.Status.CANCELLED)
+                .setParameter("day", day(day))
+                .getSingleResult());
+    }
+
+    // Every stay of up to three nights in the first 70 days
+    private static void assertIndexMatchesDatabase(int roomNo) {
+        for (int from = 0; from < 70; from++) {
+            for (int to = from + 1; to <= from + 3; to++) {
+                assertEquals("room " + roomNo + " from day " + from + " to day " + to,
+                        !reservationDAO.existsOverlapping(roomNo, day(from), day(to)),
+                        reservations.isRoomFree(roomNo, day(from), day(to)));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotelmanagement.service;
+
+import com.hotelmanagement.dao.impl.CustomerDAOImpl;
+import com.hotelmanagement.dao.impl.JournalCheckpointDAOImpl;
+import com.hotelmanagement.entity.Bill;
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Money;
+import com.hotelmanagement.service.WriteBehindService.Durability;
+import com.hotelmanagement.util.HibernateUtil;
+import com.hotelmanagement.util.TransactionTemplate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.assertEquals;
+
+// Every acknowledged bill is written exactly once: across a restart, a database outage and a bad row
+public class WriteBehindServiceTest {
+
+    private static final long ONE_HOUR = 3_600_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Customer customer;
+
+    @BeforeClass
+    public static void createCustomer() {
+        System.setProperty("hibernate.connection.url", "jdbc:h2:mem:write_behind_test;DB_CLOSE_DELAY=-1");
+        customer = new Customer("Guest", "1 Test Street", "+15550001");
+        new CustomerDAOImpl().save(customer);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        HibernateUtil.shutdown();
+        System.clearProperty("hibernate.connection.url");
+    }
+
+    @Test
+    public void restartReplaysOnlyTheRowsAfterTheCheckpoint() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("orders.journal");
+        Path crashed = folder.getRoot().toPath().resolve("crashed.journal");
+        long before = countBills();
+        // Nothing is flushed before close(): the journal holds the 10 rows, as at a crash
+        try (WriteBehindService service = new WriteBehindService(Durability.JOURNAL, journal, 100, 100, ONE_HOUR, 1_000)) {
+            for (int i = 1; i <= 10; i++) {
+                service.createBill(bill(i));
+            }
+            Files.copy(journal, crashed);
+        }
+        assertEquals(before + 10, countBills());
+        // The crashed journal had committed its first 4 rows, and its last record is torn
+        new JournalCheckpointDAOImpl().saveLastSequence(crashed.toAbsolutePath().normalize().toString(), 4);
+        Files.write(crashed, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (WriteBehindService restarted = new WriteBehindService(Durability.JOURNAL, crashed, 100, 100, 10, 1_000)) {
+            restarted.flush();
+
+            assertEquals(6, restarted.getWrittenCount());
+        }
+        assertEquals(before + 16, countBills());
+        assertEquals(5 + 6 + 7 + 8 + 9 + 10, sumBills(before + 10));
+    }
+
+    @Test
+    public void outageIsRetriedUntilTheDatabaseIsBack() throws Exception {
+        long before = countBills();
+        try (WriteBehindService service = new WriteBehindService(Durability.MEMORY, null, 100, 10, 10, 1_000)) {
+            execute("alter table bills rename to bills_away");
+            Thread restore = new Thread(() -> {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                execute("alter table bills_away rename to bills");
+            });
+            restore.start();
+            for (int i = 1; i <= 25; i++) {
+                service.createBill(bill(i));
+            }
+
+            service.flush();
+            restore.join();
+
+            assertEquals(25, service.getWrittenCount());
+            assertEquals(0, service.getDroppedCount());
+        }
+        assertEquals(before + 25, countBills());
+    }
+
+    @Test
+    public void rowRefusedByAConstraintIsDroppedAndTheOthersAreWritten() {
+        long before = countBills();
+        Customer unknown = new Customer("Nobody", "Nowhere", "+15550002");
+        unknown.setId(Integer.MAX_VALUE);
+        try (WriteBehindService service = new WriteBehindService(Durability.MEMORY, null, 100, 10, ONE_HOUR, 1_000)) {
+            for (int i = 1; i <= 9; i++) {
+                service.createBill(bill(i));
+            }
+            service.createBill(new Bill(Money.ofMinor(100), unknown));
+
+            service.flush();
+
+            assertEquals(9, service.getWrittenCount());
+            assertEquals(1, service.getDroppedCount());
+        }
+        assertEquals(before + 9, countBills());
+    }
+
+    private static Bill bill(int units) {
+        return new Bill(Money.ofMinor(units * 100L), customer);
+    }
+
+    private static long countBills() {
+        return TransactionTemplate.read(session ->
+                session.createNativeQuery("select count(*) from bills", Long.class).getSingleResult());
+    }
+
+    // Sum in units of the bills numbered past the first 'after' ones
+    private static long sumBills(long after) {
+        return TransactionTemplate.read(session -> session.createNativeQuery(
+                        "select coalesce(sum(amount_minor), 0) / 100 from (select amount_minor from bills "
+                                + "order by billNo offset " + after + " rows) b", Long.class)
+                .getSingleResult());
+    }
+
+    private static void execute(String sql) {
+        TransactionTemplate.runInTransaction(session -> session.createNativeMutationQuery(sql).executeUpdate());
+    }
+}
@@ -0,0 +1,186 @@
+package com.hotelmanagement.util;
+
+import com.hotelmanagement.entity.Customer;
+import com.hotelmanagement.entity.Inventory;
+import com.hotelmanagement.entity.Manager;
+import com.hotelmanagement.entity.Owner;
+import com.hotelmanagement.entity.Receptionist;
+import com.hotelmanagement.service.CustomerService;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// Round trip H2 -> files -> a fresh H2: same rows, ids and references, and new ids after the imported ones
+public class DataTransferTest {
+
+    private static final String URL = "hibernate.connection.url";
+
+    // Every exported table with its primary key, parents first
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("rooms", "room_no");
+        TABLES.put("food_items", "id");
+        TABLES.put("inventory", "id");
+        TABLES.put("managers", "id");
+        TABLES.put("owners", "id");
+        TABLES.put("receptionists", "id");
+        TABLES.put("customers", "id");
+        TABLES.put("bills", "billNo");
+        TABLES.put("customer_food", "customer_id, food_id");
+        TABLES.put("reservations", "id");
+    }
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static Path dump;
+    private static Map<String, List<String>> exported;
+
+    @BeforeClass
+    public static void exportGeneratedData() throws IOException {
+        useDatabase("transfer_source");
+        DataGenerator generator = new DataGenerator(42);
+        generator.setFloors(2);
+        generator.setRoomsPerFloor(20);
+        generator.setCustomers(300);
+        generator.generate();
+        TransactionTemplate.runInTransaction(session -> {
+            session.persist(new Inventory("Towels", 40, 10));
+            session.persist(new Manager("Amina", "Front office"));
+            session.persist(new Owner("Karim", 60.0));
+            session.persist(new Receptionist("Sara", 8));
+        });
+        exported = rows();
+
+        dump = folder.newFolder("dump").toPath();
+        DataTransfer.Result result = new DataTransfer().exportTo(dump);
+        assertEquals(exported.values().stream().mapToLong(List::size).sum(), result.rows());
+        HibernateUtil.shutdown();
+    }
+
+    @After
+    public void shutdown() {
+        HibernateUtil.shutdown();
+        System.clearProperty(URL);
+    }
+
+    @Test
+    public void roundTripKeepsRowsIdsAndReferences() {
+        useDatabase("transfer_target");
+        DataTransfer.Result result = new DataTransfer().importFrom(dump);
+
+        Map<String, List<String>> imported = rows();
+        for (String table : TABLES.keySet()) {
+            assertFalse(table + " is empty", exported.get(table).isEmpty());
+            assertEquals(table + " rows", exported.get(table).size(), imported.get(table).size());
+            assertEquals(table, exported.get(table), imported.get(table));
+        }
+        assertEquals(exported.values().stream().mapToLong(List::size).sum(), result.rows());
+        assertEquals(0, count("select count(*) from bills b where b.customer_id is not null "
+                + "and not exists (select 1 from customers c where c.id = b.customer_id)"));
+        assertEquals(0, count("select count(*) from reservations r "
+                + "where not exists (select 1 from rooms o where o.room_no = r.room_no)"));
+        assertEquals(0, count("select count(*) from customer_food cf "
+                + "where not exists (select 1 from food_items f where f.id = cf.food_id)"));
+
+        long maxId = count("select max(id) from customers");
+        Customer added = new Customer("After Import", "1 Round Trip", "+15550000000");
+        new CustomerService().addCustomer(added);
+        assertTrue("new id " + added.getId() + " after " + maxId, added.getId() > maxId);
+    }
+
+    @Test
+    public void failedImportLeavesEmptyTablesAndCanBeRerun() throws IOException {
+        Path broken = folder.newFolder("broken").toPath();
+        for (String name : DataTransfer.fileNames()) {
+            Files.copy(dump.resolve(name), broken.resolve(name));
+        }
+        appendLine(broken.resolve("bills" + DataTransfer.FILE_SUFFIX), "[1,2,");
+
+        useDatabase("transfer_retry");
+        try {
+            new DataTransfer().importFrom(broken);
+            fail("a malformed row must fail the import");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("malformed row"));
+        }
+        for (String table : TABLES.keySet()) {
+            assertEquals(table + " after the failure", 0, count("select count(*) from " + table));
+        }
+
+        new DataTransfer().importFrom(dump);
+        assertEquals(exported, rows());
+    }
+
+    private static void useDatabase(String name) {
+        HibernateUtil.shutdown();
+        System.setProperty(URL, "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+
+    // Each table as text rows in primary key order
+    private static Map<String, List<String>> rows() {
+        return TransactionTemplate.read(session -> session.doReturningWork(connection -> {
+            Map<String, List<String>> tables = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement()) {
+                for (Map.Entry<String, String> table : TABLES.entrySet()) {
+                    List<String> rows = new ArrayList<>();
+                    try (ResultSet result = statement.executeQuery(
+                            "select * from " + table.getKey() + " order by " + table.getValue())) {
+                        ResultSetMetaData metaData = result.getMetaData();
+                        while (result.next()) {
+                            StringBuilder row = new StringBuilder();
+                            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                                row.append(metaData.getColumnName(i)).append('=').append(result.getString(i)).append(';');
+                            }
+                            rows.add(row.toString());
+                        }
+                    }
+                    tables.put(table.getKey(), rows);
+                }
+            }
+            return tables;
+        }));
+    }
+
+    private static long count(String sql) {
+        return TransactionTemplate.read(session -> session.createNativeQuery(sql, Long.class).getSingleResult());
+    }
+
+    // Rewrites a gzipped file with one more line at the end
+    private static void appendLine(Path file, String line) throws IOException {
+        byte[] content;
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            content = in.readAllBytes();
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file));
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            out.write(content);
+            writer.write(line + "\n");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotelmanagement.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// A new database gets every script once; a schema hbm2ddl created is refused until it is baselined
+public class SchemaMigratorTest {
+
+    private static final int LATEST = 4;
+
+    @Test
+    public void newDatabaseGetsEveryScriptOnce() throws Exception {
+        try (Connection connection = connect("migrator_new")) {
+            assertEquals(LATEST, SchemaMigrator.migrate(connection));
+            assertEquals(LATEST, SchemaMigrator.migrate(connection));
+
+            assertEquals(LATEST, count(connection, "select count(*) from schema_version"));
+            assertEquals(0, count(connection, "select count(*) from journal_checkpoint"));
+        }
+    }
+
+    @Test
+    public void schemaCreatedByHbm2ddlIsRefusedUntilBaselined() throws Exception {
+        try (Connection connection = connect("migrator_hbm2ddl")) {
+            // What hbm2ddl generated from the entities of V1, with a customer in it
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : script("db/migration/V1.sql").split(";")) {
+                    if (!sql.replaceAll("(?m)^--.*$", "").isBlank()) {
+                        statement.execute(sql);
+                    }
+                }
+                statement.execute("insert into customers (id, name, telNo) values (1, 'Guest', 5550001)");
+            }
+
+            try {
+                SchemaMigrator.migrate(connection);
+                fail("a schema without schema_version must not be migrated from V1");
+            } catch (SQLException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("hotel.schema.baseline"));
+            }
+
+            assertEquals(LATEST, SchemaMigrator.migrate(connection, 1));
+            assertEquals(1, count(connection, "select count(*) from schema_version where description like 'baseline:%'"));
+            assertEquals(1, count(connection, "select count(*) from customers where phone = '5550001'"));
+        }
+    }
+
+    private static Connection connect(String name) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static String script(String resource) throws IOException {
+        try (InputStream in = SchemaMigratorTest.class.getClassLoader().getResourceAsStream(resource)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}